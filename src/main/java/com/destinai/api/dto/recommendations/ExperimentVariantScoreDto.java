@@ -0,0 +1,38 @@
+package com.destinai.api.dto.recommendations;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for one experiment variant's scorecard. Rates and token means are per generation; cache
+ * hits are not generations and are not counted.
+ */
+public record ExperimentVariantScoreDto(
+		String variant,
+		int weight,
+		@JsonProperty("prompt_version")
+		String promptVersion,
+		String endpoint,
+		Double temperature,
+		@JsonProperty("max_tokens")
+		Integer maxTokens,
+		long generations,
+		@JsonProperty("first_pass_valid_rate")
+		double firstPassValidRate,
+		@JsonProperty("repair_rate")
+		double repairRate,
+		@JsonProperty("failure_rate")
+		double failureRate,
+		@JsonProperty("mean_latency_ms")
+		double meanLatencyMillis,
+		@JsonProperty("p50_latency_ms")
+		double p50LatencyMillis,
+		@JsonProperty("p95_latency_ms")
+		double p95LatencyMillis,
+		@JsonProperty("mean_prompt_tokens")
+		double meanPromptTokens,
+		@JsonProperty("mean_cached_prompt_tokens")
+		double meanCachedPromptTokens,
+		@JsonProperty("mean_completion_tokens")
+		double meanCompletionTokens
+) {
+}
@@ -0,0 +1,17 @@
+package com.destinai.api.dto.recommendations;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.UUID;
+
+/**
+ * DTO for an asynchronous recommendation job.
+ * {@code result} is present once {@code status} is {@code succeeded}; {@code error} once it is {@code failed}.
+ */
+public record RecommendationJobDto(
+		@JsonProperty("job_id")
+		UUID jobId,
+		String status,
+		RecommendationResponseDto result,
+		String error
+) {
+}
@@ -2,15 +2,18 @@ package com.destinai.api.dto.recommendations;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * DTO response for recommendations.
  * Request is authorized via {@code sessions}; response is transient (not persisted).
+ * {@code result_id} lets the results page load the same result without regenerating it.
  */
 public record RecommendationResponseDto(
+		@JsonProperty("result_id")
+		UUID resultId,
 		@JsonProperty("schema_version")
 		String schemaVersion,
 		List<DestinationDto> destinations
 ) {
 }
-
@@ -0,0 +1,15 @@
+package com.destinai.api.service.model;
+
+import java.util.UUID;
+
+/**
+ * Service-level view of an asynchronous recommendation job.
+ * {@code result} is set once the job succeeded; {@code errorCode} once it failed.
+ */
+public record RecommendationJob(
+		UUID id,
+		String status,
+		RecommendationResult result,
+		String errorCode
+) {
+}
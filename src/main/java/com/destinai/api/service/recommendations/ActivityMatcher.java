@@ -0,0 +1,185 @@
+package com.destinai.api.service.recommendations;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * FR-014 activity matcher compiled once per request: an Aho-Corasick automaton over the requested
+ * activities and their synonyms ("hiking" also matches "trekking"). Text is case-folded and every
+ * run of non-alphanumeric characters is read as one space while scanning, and each term starts with
+ * a space, so terms only match at the start of a word ("surf" matches "Surfing lessons" but not
+ * "resurfaced"). Matching walks a dense transition table and allocates nothing. Each accepting
+ * state carries a bit per requested activity it stands for (the first 64), so coverage of the
+ * individual requests can be measured as well.
+ */
+public final class ActivityMatcher {
+	// a-z, 0-9 and the word separator
+	private static final int ALPHABET = 37;
+	private static final int SEPARATOR = 36;
+	private static final Map<String, List<String>> SYNONYMS = Map.of(
+			"hiking", List.of("hike", "trek", "walking", "trail"),
+			"diving", List.of("dive", "scuba", "snorkel", "freediving"),
+			"tennis", List.of("padel"),
+			"canoeing", List.of("canoe", "kayak", "rafting", "paddle", "paddling"),
+			"climbing", List.of("climb", "boulder", "mountaineering", "via ferrata"),
+			"surfing", List.of("surf", "kitesurf", "windsurf", "bodyboard"),
+			"local culture", List.of("culture", "cultural", "heritage", "history", "historic", "museum", "temple", "festival"),
+			"local cuisine", List.of("cuisine", "food", "gastronomy", "culinary", "cooking", "wine", "tapas", "market")
+	);
+
+	private final int[] transitions;
+	private final long[] accepting;
+
+	private ActivityMatcher(int[] transitions, long[] accepting) {
+		this.transitions = transitions;
+		this.accepting = accepting;
+	}
+
+	public static ActivityMatcher compile(List<String> requestedActivities) {
+		Map<String, Long> terms = new LinkedHashMap<>();
+		for (int i = 0; i < requestedActivities.size(); i++) {
+			String term = normalize(requestedActivities.get(i));
+			if (term.isBlank()) {
+				continue;
+			}
+			long bit = 1L << Math.min(i, Long.SIZE - 1);
+			terms.merge(term, bit, (left, right) -> left | right);
+			for (String synonym : SYNONYMS.getOrDefault(term.trim(), List.of())) {
+				terms.merge(normalize(synonym), bit, (left, right) -> left | right);
+			}
+		}
+		return build(terms);
+	}
+
+	/**
+	 * Bit set of the requested activities (by position in the request) that {@code activities}
+	 * cover; zero when none of them mentions a requested activity or synonym at a word start.
+	 */
+	public long coverage(List<String> activities) {
+		if (activities == null) {
+			return 0;
+		}
+		long covered = 0;
+		for (int i = 0; i < activities.size(); i++) {
+			covered |= scan(activities.get(i));
+		}
+		return covered;
+	}
+
+	/**
+	 * Union of the requested activities matched in {@code text}.
+	 */
+	private long scan(String text) {
+		if (text == null) {
+			return 0;
+		}
+		long matched = 0;
+		// A virtual leading separator lets terms match at the very start of the text.
+		int state = transitions[SEPARATOR];
+		boolean previousSeparator = true;
+		for (int i = 0; i < text.length(); i++) {
+			int symbol = symbol(text.charAt(i));
+			if (symbol == SEPARATOR) {
+				if (previousSeparator) {
+					continue;
+				}
+				previousSeparator = true;
+			} else {
+				previousSeparator = false;
+			}
+			state = transitions[state * ALPHABET + symbol];
+			matched |= accepting[state];
+		}
+		return matched;
+	}
+
+	private static ActivityMatcher build(Map<String, Long> terms) {
+		int capacity = 1;
+		for (String term : terms.keySet()) {
+			capacity += term.length();
+		}
+		int[] transitions = new int[capacity * ALPHABET];
+		Arrays.fill(transitions, -1);
+		long[] accepting = new long[capacity];
+		int states = 1;
+
+		for (Map.Entry<String, Long> entry : terms.entrySet()) {
+			String term = entry.getKey();
+			int state = 0;
+			for (int i = 0; i < term.length(); i++) {
+				int index = state * ALPHABET + symbol(term.charAt(i));
+				if (transitions[index] < 0) {
+					transitions[index] = states++;
+				}
+				state = transitions[index];
+			}
+			accepting[state] |= entry.getValue();
+		}
+
+		// Breadth-first failure links, folded into the transition table so matching never backtracks.
+		int[] failure = new int[states];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int symbol = 0; symbol < ALPHABET; symbol++) {
+			int next = transitions[symbol];
+			if (next < 0) {
+				transitions[symbol] = 0;
+			} else {
+				failure[next] = 0;
+				queue.add(next);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			accepting[state] |= accepting[failure[state]];
+			for (int symbol = 0; symbol < ALPHABET; symbol++) {
+				int index = state * ALPHABET + symbol;
+				int fallback = transitions[failure[state] * ALPHABET + symbol];
+				if (transitions[index] < 0) {
+					transitions[index] = fallback;
+				} else {
+					failure[transitions[index]] = fallback;
+					queue.add(transitions[index]);
+				}
+			}
+		}
+		return new ActivityMatcher(Arrays.copyOf(transitions, states * ALPHABET), Arrays.copyOf(accepting, states));
+	}
+
+	/**
+	 * A term as the automaton sees it: a leading separator, then folded words separated by single
+	 * separators.
+	 */
+	private static String normalize(String activity) {
+		StringBuilder term = new StringBuilder(activity.length() + 1).append(' ');
+		for (int i = 0; i < activity.length(); i++) {
+			boolean separator = symbol(activity.charAt(i)) == SEPARATOR;
+			if (!separator) {
+				term.append(Character.toLowerCase(activity.charAt(i)));
+			} else if (term.charAt(term.length() - 1) != ' ') {
+				term.append(' ');
+			}
+		}
+		int end = term.length();
+		while (end > 1 && term.charAt(end - 1) == ' ') {
+			end--;
+		}
+		return term.substring(0, end);
+	}
+
+	private static int symbol(char c) {
+		if (c >= 'a' && c <= 'z') {
+			return c - 'a';
+		}
+		if (c >= 'A' && c <= 'Z') {
+			return c - 'A';
+		}
+		if (c >= '0' && c <= '9') {
+			return 26 + c - '0';
+		}
+		return SEPARATOR;
+	}
+}
@@ -0,0 +1,136 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.common.errors.LlmTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Retries network failures and 429/503 responses with exponential backoff and full jitter. A
+ * {@code Retry-After} header replaces the computed delay; if it asks for longer than the maximum
+ * backoff the call is not retried. Retries are limited by a process-wide token budget so that
+ * they cannot multiply load on a provider that is already failing.
+ */
+@Component
+public class BackoffLlmRetryPolicy implements LlmRetryPolicy {
+	private static final Logger log = LoggerFactory.getLogger(BackoffLlmRetryPolicy.class);
+
+	private final LlmRetryProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Counter budgetExhausted;
+	private double budgetTokens;
+
+	public BackoffLlmRetryPolicy(LlmRetryProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.budgetTokens = properties.budgetReserve();
+		this.budgetExhausted = Counter.builder("llm.retry.budget.exhausted")
+				.description("Retries skipped because the retry budget was used up")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public <T> T execute(Supplier<T> call) {
+		depositBudget();
+		for (int attempt = 1; ; attempt++) {
+			try {
+				T response = call.get();
+				recordAttempt(attempt, "success");
+				return response;
+			} catch (RestClientException ex) {
+				Optional<Duration> delay = retryDelay(attempt, ex);
+				if (delay.isEmpty() || !withdrawBudget()) {
+					recordAttempt(attempt, "failure");
+					throw ex;
+				}
+				recordAttempt(attempt, "retry");
+				log.warn("LLM call failed, retrying. attempt={}, delayMs={}, reason={}",
+						attempt, delay.get().toMillis(), ex.getClass().getSimpleName());
+				sleep(delay.get());
+			}
+		}
+	}
+
+	/**
+	 * Delay before the next attempt, or empty when {@code failure} is not retryable or the
+	 * attempts are used up.
+	 */
+	public Optional<Duration> retryDelay(int attempt, RestClientException failure) {
+		if (attempt >= properties.maxAttempts()) {
+			return Optional.empty();
+		}
+		if (failure instanceof RestClientResponseException responseError) {
+			int status = responseError.getStatusCode().value();
+			if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+				return Optional.empty();
+			}
+			Optional<Duration> retryAfter = retryAfter(responseError.getResponseHeaders());
+			if (retryAfter.isPresent()) {
+				return retryAfter.get().toMillis() > properties.maxBackoffMillis() ? Optional.empty() : retryAfter;
+			}
+		}
+		double ceiling = Math.min(properties.maxBackoffMillis(),
+				properties.initialBackoffMillis() * Math.pow(properties.multiplier(), attempt - 1));
+		return Optional.of(Duration.ofMillis((long) (ThreadLocalRandom.current().nextDouble() * ceiling)));
+	}
+
+	private Optional<Duration> retryAfter(HttpHeaders headers) {
+		String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+		if (value == null || value.isBlank()) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(Duration.ofSeconds(Math.max(Long.parseLong(value.trim()), 0)));
+		} catch (NumberFormatException ignored) {
+			// Not delta-seconds; fall through to the HTTP-date form.
+		}
+		try {
+			Instant retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+			Duration delay = Duration.between(Instant.now(), retryAt);
+			return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+		} catch (DateTimeParseException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private synchronized void depositBudget() {
+		budgetTokens = Math.min(properties.budgetReserve(), budgetTokens + properties.budgetRatio());
+	}
+
+	private synchronized boolean withdrawBudget() {
+		if (budgetTokens < 1) {
+			budgetExhausted.increment();
+			return false;
+		}
+		budgetTokens--;
+		return true;
+	}
+
+	private void recordAttempt(int attempt, String outcome) {
+		meterRegistry.counter("llm.retry.attempts", "attempt", String.valueOf(attempt), "outcome", outcome)
+				.increment();
+	}
+
+	private void sleep(Duration delay) {
+		try {
+			Thread.sleep(delay.toMillis());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new LlmTimeoutException("LLM request interrupted", ex);
+		}
+	}
+}
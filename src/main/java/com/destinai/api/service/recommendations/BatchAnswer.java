@@ -0,0 +1,16 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.modules.recommendations.integration.LlmCompletion;
+
+/**
+ * One request's answer cut from a batch call: its {@code text} and the batch call's
+ * {@code response}, which takes the blame when the answer fails validation.
+ */
+public record BatchAnswer(String text, LlmCompletion response) {
+	/**
+	 * The answer as a completion of the endpoint that produced the batch response.
+	 */
+	public LlmCompletion completion() {
+		return new LlmCompletion(text, response.structuredOutput(), response.endpoint());
+	}
+}
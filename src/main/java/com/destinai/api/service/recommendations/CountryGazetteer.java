@@ -0,0 +1,94 @@
+package com.destinai.api.service.recommendations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Immutable ISO 3166-1 gazetteer loaded from {@code gazetteer/countries.psv}. Names and aliases
+ * ("Czech Republic", "UK", "Türkiye") are normalized (case, accents, punctuation, a leading
+ * "the") into one hash map, so a lookup is a single normalization plus a map hit. Every country
+ * maps to one {@link TravelRegion}.
+ */
+@Component
+public class CountryGazetteer {
+	private static final String LOCATION = "gazetteer/countries.psv";
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+	private final Map<String, Country> countriesByName;
+	private final int size;
+
+	public CountryGazetteer() {
+		Map<String, Country> byName = new HashMap<>();
+		int count = 0;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ClassPathResource(LOCATION).getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+				String[] columns = line.split("\\|", -1);
+				if (columns.length != 4) {
+					throw new IllegalStateException("Malformed gazetteer line: " + line);
+				}
+				Country country = new Country(columns[0], columns[1], TravelRegion.valueOf(columns[2]));
+				register(byName, columns[1], country);
+				for (String alias : columns[3].split(";")) {
+					if (!alias.isBlank()) {
+						register(byName, alias, country);
+					}
+				}
+				count++;
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException("Could not load " + LOCATION, ex);
+		}
+		this.countriesByName = Map.copyOf(byName);
+		this.size = count;
+	}
+
+	/**
+	 * Resolves a country name or alias; empty for cities, regions and anything else unknown.
+	 */
+	public Optional<Country> find(String name) {
+		if (name == null || name.isBlank()) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(countriesByName.get(normalize(name)));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	static String normalize(String name) {
+		String folded = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase()
+				.replace("&", " and ")
+				.replace(".", "")
+				.replace("saint ", "st ");
+		String key = NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+		return key.startsWith("the ") ? key.substring(4) : key;
+	}
+
+	private static void register(Map<String, Country> byName, String name, Country country) {
+		Country previous = byName.putIfAbsent(normalize(name), country);
+		if (previous != null && !previous.isoCode().equals(country.isoCode())) {
+			throw new IllegalStateException("Gazetteer name '" + name + "' is used by " + previous.isoCode()
+					+ " and " + country.isoCode());
+		}
+	}
+
+	public record Country(String isoCode, String name, TravelRegion region) {
+	}
+}
@@ -0,0 +1,111 @@
+package com.destinai.api.service.recommendations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the destinations to return from over-generated candidates: {@code count} candidates with
+ * distinct countries and at most {@code regionCap} per region that together cover as many of the
+ * requested activities as possible, ties going to the candidates the model ranked first.
+ * <p>
+ * A depth-first search over the candidates in rank order, pruned when the remaining candidates
+ * can neither fill the selection nor beat the best coverage found; with the eight or so candidates
+ * of a response (sixteen with a repair) it visits a few hundred nodes. If no full selection
+ * exists the largest feasible one is returned instead: taking candidates greedily in rank order is
+ * maximal here because a country always maps to the same region.
+ */
+public final class DestinationSelector {
+	private final List<Candidate> candidates;
+	private final int count;
+	private final int regionCap;
+	private final long[] remainingCoverage;
+	private final int[] chosen;
+	private final Set<String> countries = new HashSet<>();
+	private final Map<String, Integer> regionCounts = new HashMap<>();
+	private int[] best;
+	private int bestCoverage = -1;
+
+	private DestinationSelector(List<Candidate> candidates, int count, int regionCap) {
+		this.candidates = candidates;
+		this.count = count;
+		this.regionCap = regionCap;
+		this.chosen = new int[count];
+		this.remainingCoverage = new long[candidates.size() + 1];
+		for (int i = candidates.size() - 1; i >= 0; i--) {
+			remainingCoverage[i] = remainingCoverage[i + 1] | candidates.get(i).activities();
+		}
+	}
+
+	/**
+	 * Indices into {@code candidates}, in rank order, of the best selection; fewer than
+	 * {@code count} when no full selection satisfies the constraints.
+	 */
+	public static List<Integer> select(List<Candidate> candidates, int count, int regionCap) {
+		DestinationSelector selector = new DestinationSelector(candidates, count, regionCap);
+		selector.search(0, 0, 0L);
+		return selector.best == null ? selector.greedy() : toList(selector.best);
+	}
+
+	private void search(int next, int depth, long covered) {
+		if (depth == count) {
+			int coverage = Long.bitCount(covered);
+			// Strictly better only: the search runs in rank order, so the first selection wins ties.
+			if (coverage > bestCoverage) {
+				bestCoverage = coverage;
+				best = chosen.clone();
+			}
+			return;
+		}
+		for (int i = next; i <= candidates.size() - (count - depth); i++) {
+			if (Long.bitCount(covered | remainingCoverage[i]) <= bestCoverage) {
+				return;
+			}
+			Candidate candidate = candidates.get(i);
+			if (countries.contains(candidate.country())
+					|| regionCounts.getOrDefault(candidate.region(), 0) >= regionCap) {
+				continue;
+			}
+			countries.add(candidate.country());
+			regionCounts.merge(candidate.region(), 1, Integer::sum);
+			chosen[depth] = i;
+			search(i + 1, depth + 1, covered | candidate.activities());
+			countries.remove(candidate.country());
+			regionCounts.merge(candidate.region(), -1, Integer::sum);
+		}
+	}
+
+	private List<Integer> greedy() {
+		Set<String> taken = new HashSet<>();
+		Map<String, Integer> counts = new HashMap<>();
+		List<Integer> selection = new ArrayList<>();
+		for (int i = 0; i < candidates.size() && selection.size() < count; i++) {
+			Candidate candidate = candidates.get(i);
+			if (taken.contains(candidate.country()) || counts.getOrDefault(candidate.region(), 0) >= regionCap) {
+				continue;
+			}
+			taken.add(candidate.country());
+			counts.merge(candidate.region(), 1, Integer::sum);
+			selection.add(i);
+		}
+		return selection;
+	}
+
+	private static List<Integer> toList(int[] indices) {
+		List<Integer> list = new ArrayList<>(indices.length);
+		for (int index : indices) {
+			list.add(index);
+		}
+		return list;
+	}
+
+	/**
+	 * A candidate that already passed the per-destination rules. {@code country} and {@code region}
+	 * are comparison keys; {@code activities} is the {@link ActivityMatcher#coverage} bit set.
+	 */
+	public record Candidate(String country, String region, long activities) {
+	}
+}
@@ -0,0 +1,59 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight coalescing of identical generations: concurrent callers with the same
+ * fingerprint share one in-flight generation (including its repair pass) and all receive
+ * the same result or the same exception.
+ */
+@Component
+public class InFlightRecommendations {
+	private final Map<RecommendationFingerprint, CompletableFuture<RecommendationResult>> inFlight =
+			new ConcurrentHashMap<>();
+	private final Counter coalescedCounter;
+
+	public InFlightRecommendations(MeterRegistry meterRegistry) {
+		this.coalescedCounter = Counter.builder("recommendations.singleflight.coalesced")
+				.description("Generations served by joining an identical in-flight request")
+				.register(meterRegistry);
+	}
+
+	public RecommendationResult run(RecommendationFingerprint fingerprint, Supplier<RecommendationResult> generator) {
+		CompletableFuture<RecommendationResult> leader = new CompletableFuture<>();
+		CompletableFuture<RecommendationResult> existing = inFlight.putIfAbsent(fingerprint, leader);
+		if (existing != null) {
+			coalescedCounter.increment();
+			return await(existing);
+		}
+		try {
+			RecommendationResult result = generator.get();
+			leader.complete(result);
+			return result;
+		} catch (RuntimeException | Error ex) {
+			leader.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlight.remove(fingerprint, leader);
+		}
+	}
+
+	private RecommendationResult await(CompletableFuture<RecommendationResult> future) {
+		try {
+			return future.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+}
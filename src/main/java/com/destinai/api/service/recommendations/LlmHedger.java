@@ -0,0 +1,191 @@
+package com.destinai.api.service.recommendations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuts tail latency of LLM calls by hedging: if the first call is still running after the hedge
+ * delay, an identical second call is started and whichever returns a usable response first wins.
+ * A response that failed or that the caller's {@code usable} check rejects only wins when the
+ * other call does no better. The loser is cancelled (its thread is interrupted).
+ * <p>
+ * The hedge delay follows the latency of recent primary calls, timed on the primary itself so a
+ * fast hedge does not pull it down; a primary cancelled for a winning hedge counts with the time
+ * it ran. Hedges draw on a token bucket that every call refills by {@code maxHedgeRate}, capped
+ * at the hedges allowed in {@value #HEDGE_BUDGET_CALLS} calls, so a quiet period cannot save up a
+ * burst of hedges.
+ */
+@Component
+public class LlmHedger {
+	private static final Logger log = LoggerFactory.getLogger(LlmHedger.class);
+	private static final int LATENCY_WINDOW = 256;
+	private static final int MIN_LATENCY_SAMPLES = 20;
+	private static final int HEDGE_BUDGET_CALLS = 100;
+
+	private final LlmHedgingProperties properties;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final double hedgeBudgetCapacity;
+	private double hedgeTokens;
+	// Guarded by itself, together with latencySamples.
+	private final long[] latencyWindowMillis = new long[LATENCY_WINDOW];
+	private long latencySamples;
+	private final Counter hedgesFired;
+	private final Counter hedgesWon;
+
+	public LlmHedger(LlmHedgingProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.hedgeBudgetCapacity = Math.max(properties.maxHedgeRate() * HEDGE_BUDGET_CALLS, 1);
+		this.hedgeTokens = 1;
+		this.hedgesFired = Counter.builder("llm.hedge.fired")
+				.description("Hedge requests started because the first LLM call was slow")
+				.register(meterRegistry);
+		this.hedgesWon = Counter.builder("llm.hedge.won")
+				.description("Hedged LLM calls where the hedge returned first")
+				.register(meterRegistry);
+	}
+
+	public <T> T complete(Supplier<T> call) {
+		return complete(call, response -> true);
+	}
+
+	public <T> T complete(Supplier<T> call, Predicate<T> usable) {
+		if (!properties.enabled()) {
+			return call.get();
+		}
+		depositHedgeBudget();
+		CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+		Future<T> primary = completion.submit(() -> {
+			long startedAt = System.nanoTime();
+			try {
+				return call.get();
+			} finally {
+				recordLatency(startedAt);
+			}
+		});
+		Future<T> hedge = null;
+		try {
+			Future<T> first = completion.poll(hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+			if (first != null) {
+				return unwrap(first);
+			}
+			if (!tryAcquireHedge()) {
+				return unwrap(completion.take());
+			}
+			hedgesFired.increment();
+			hedge = completion.submit(call::get);
+			log.debug("LLM call slower than hedge delay; hedge fired");
+			return firstUsable(completion, primary, hedge, usable);
+		} catch (InterruptedException ex) {
+			primary.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hedged LLM call interrupted.", ex);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private <T> T firstUsable(CompletionService<T> completion, Future<T> primary, Future<T> hedge,
+			Predicate<T> usable) throws InterruptedException {
+		Future<T> first = completion.take();
+		Future<T> other = first == primary ? hedge : primary;
+		T firstResponse;
+		try {
+			firstResponse = unwrap(first);
+		} catch (RuntimeException firstFailure) {
+			// First to finish failed; the other call is still our best chance.
+			try {
+				return won(other == hedge, unwrap(completion.take()));
+			} catch (RuntimeException secondFailure) {
+				firstFailure.addSuppressed(secondFailure);
+				throw firstFailure;
+			}
+		}
+		if (usable.test(firstResponse)) {
+			other.cancel(true);
+			return won(first == hedge, firstResponse);
+		}
+		// First to finish is unusable (it would go to repair); wait for the other before settling for it.
+		try {
+			T otherResponse = unwrap(completion.take());
+			if (usable.test(otherResponse)) {
+				return won(other == hedge, otherResponse);
+			}
+		} catch (RuntimeException otherFailure) {
+			log.debug("Hedged LLM call failed after an unusable response. reason={}", otherFailure.getMessage());
+		}
+		return won(first == hedge, firstResponse);
+	}
+
+	private <T> T won(boolean byHedge, T response) {
+		if (byHedge) {
+			hedgesWon.increment();
+		}
+		return response;
+	}
+
+	private synchronized void depositHedgeBudget() {
+		hedgeTokens = Math.min(hedgeBudgetCapacity, hedgeTokens + properties.maxHedgeRate());
+	}
+
+	private synchronized boolean tryAcquireHedge() {
+		if (properties.maxHedgeRate() <= 0 || hedgeTokens < 1) {
+			return false;
+		}
+		hedgeTokens--;
+		return true;
+	}
+
+	private long hedgeDelayMillis() {
+		if (properties.latencyPercentile() <= 0) {
+			return properties.delayMillis();
+		}
+		long[] window;
+		synchronized (latencyWindowMillis) {
+			if (latencySamples < MIN_LATENCY_SAMPLES) {
+				return properties.delayMillis();
+			}
+			window = Arrays.copyOf(latencyWindowMillis, (int) Math.min(latencySamples, LATENCY_WINDOW));
+		}
+		Arrays.sort(window);
+		int index = (int) Math.ceil(properties.latencyPercentile() * window.length) - 1;
+		return Math.max(window[Math.clamp(index, 0, window.length - 1)], 1);
+	}
+
+	private void recordLatency(long startedAt) {
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+		synchronized (latencyWindowMillis) {
+			latencyWindowMillis[(int) (latencySamples++ % LATENCY_WINDOW)] = elapsedMillis;
+		}
+	}
+
+	private <T> T unwrap(Future<T> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("LLM call failed.", ex.getCause());
+		}
+	}
+}
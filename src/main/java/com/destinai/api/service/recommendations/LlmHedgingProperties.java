@@ -0,0 +1,17 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hedged LLM calls. A second identical request is fired once the first has been outstanding for
+ * the observed {@code latencyPercentile} of recent calls (or {@code delayMillis} until enough
+ * samples exist, or when the percentile is 0). At most {@code maxHedgeRate} of calls are hedged.
+ */
+@ConfigurationProperties(prefix = "recommendations.hedging")
+public record LlmHedgingProperties(
+		boolean enabled,
+		long delayMillis,
+		double latencyPercentile,
+		double maxHedgeRate
+) {
+}
@@ -0,0 +1,11 @@
+package com.destinai.api.service.recommendations;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides whether and when a failed LLM call is attempted again. Implementations rethrow the
+ * last failure unchanged once they give up, so callers can translate it.
+ */
+public interface LlmRetryPolicy {
+	<T> T execute(Supplier<T> call);
+}
@@ -0,0 +1,19 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Retries of LLM calls: exponential backoff with full jitter from {@code initialBackoffMillis}
+ * up to {@code maxBackoffMillis}. Every call adds {@code budgetRatio} to a process-wide retry
+ * budget capped at {@code budgetReserve}; each retry spends one token.
+ */
+@ConfigurationProperties(prefix = "recommendations.retry")
+public record LlmRetryProperties(
+		int maxAttempts,
+		long initialBackoffMillis,
+		long maxBackoffMillis,
+		double multiplier,
+		double budgetRatio,
+		int budgetReserve
+) {
+}
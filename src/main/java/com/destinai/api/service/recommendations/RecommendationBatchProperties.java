@@ -0,0 +1,16 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Micro-batching of distinct concurrent generations. Requests arriving within
+ * {@code windowMillis} of the first one are sent together as one LLM call, at most
+ * {@code maxBatchSize} per call.
+ */
+@ConfigurationProperties(prefix = "recommendations.batching")
+public record RecommendationBatchProperties(
+		boolean enabled,
+		long windowMillis,
+		int maxBatchSize
+) {
+}
@@ -0,0 +1,144 @@
+package com.destinai.api.service.recommendations;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-batches distinct concurrent generations into one LLM call. The first request for a batch
+ * key opens a batch and leads it: once the batching window has passed or the batch is full, it
+ * runs the batch call on its own thread for every request that joined, and the others wait for
+ * their answer. Without a partner, or when the batch call fails or leaves out an answer, a request
+ * gets {@code null} and makes its own call.
+ */
+@Component
+public class RecommendationBatcher {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationBatcher.class);
+
+	private final RecommendationBatchProperties properties;
+	private final Map<String, Batch> open = new ConcurrentHashMap<>();
+	private final DistributionSummary batchSizes;
+
+	public RecommendationBatcher(RecommendationBatchProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.batchSizes = DistributionSummary.builder("recommendations.batch.size")
+				.description("Generations sent together in one LLM call")
+				.register(meterRegistry);
+	}
+
+	public boolean enabled() {
+		return properties.enabled() && properties.maxBatchSize() > 1;
+	}
+
+	/**
+	 * The answer for {@code fingerprint} from a batch call, or {@code null} when the caller has
+	 * to make its own call. {@code batchCall} maps every fingerprint of a batch to its answer and is
+	 * only invoked for two or more distinct fingerprints; {@code key} separates requests that must
+	 * not share a call.
+	 */
+	public BatchAnswer submit(String key, RecommendationFingerprint fingerprint,
+			Function<List<RecommendationFingerprint>, Map<RecommendationFingerprint, BatchAnswer>> batchCall) {
+		for (;;) {
+			Batch created = new Batch(fingerprint);
+			Batch batch = open.putIfAbsent(key, created);
+			if (batch == null) {
+				return lead(key, created, batchCall);
+			}
+			CompletableFuture<BatchAnswer> answer = batch.join(fingerprint, properties.maxBatchSize());
+			if (answer != null) {
+				return await(answer);
+			}
+			// Closed or full: start the next batch.
+			open.remove(key, batch);
+		}
+	}
+
+	private BatchAnswer lead(String key, Batch batch, Function<List<RecommendationFingerprint>,
+			Map<RecommendationFingerprint, BatchAnswer>> batchCall) {
+		try {
+			batch.full.await(properties.windowMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		Map<RecommendationFingerprint, CompletableFuture<BatchAnswer>> entries = batch.close();
+		Map<RecommendationFingerprint, BatchAnswer> answers = Map.of();
+		try {
+			open.remove(key, batch);
+			batchSizes.record(entries.size());
+			if (entries.size() > 1) {
+				answers = batchCall.apply(List.copyOf(entries.keySet()));
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Batched LLM call failed; {} requests fall back to single calls. error={}",
+					entries.size(), ex.getMessage());
+		} finally {
+			// Followers wait without a timeout, so every future is completed whatever the call threw.
+			for (Map.Entry<RecommendationFingerprint, CompletableFuture<BatchAnswer>> entry : entries.entrySet()) {
+				entry.getValue().complete(answers.get(entry.getKey()));
+			}
+		}
+		return entries.get(batch.leader).resultNow();
+	}
+
+	private static BatchAnswer await(CompletableFuture<BatchAnswer> answer) {
+		try {
+			return answer.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException ex) {
+			return null;
+		}
+	}
+
+	private static final class Batch {
+		private final RecommendationFingerprint leader;
+		private final Map<RecommendationFingerprint, CompletableFuture<BatchAnswer>> entries = new LinkedHashMap<>();
+		private final CountDownLatch full = new CountDownLatch(1);
+		private boolean closed;
+
+		private Batch(RecommendationFingerprint leader) {
+			this.leader = leader;
+			entries.put(leader, new CompletableFuture<>());
+		}
+
+		/**
+		 * The answer future for {@code fingerprint}, shared with an identical request already in the
+		 * batch; {@code null} when the batch is closed or full.
+		 */
+		private synchronized CompletableFuture<BatchAnswer> join(RecommendationFingerprint fingerprint, int maxBatchSize) {
+			if (closed) {
+				return null;
+			}
+			CompletableFuture<BatchAnswer> existing = entries.get(fingerprint);
+			if (existing != null) {
+				return existing;
+			}
+			if (entries.size() >= maxBatchSize) {
+				return null;
+			}
+			CompletableFuture<BatchAnswer> answer = new CompletableFuture<>();
+			entries.put(fingerprint, answer);
+			if (entries.size() >= maxBatchSize) {
+				full.countDown();
+			}
+			return answer;
+		}
+
+		private synchronized Map<RecommendationFingerprint, CompletableFuture<BatchAnswer>> close() {
+			closed = true;
+			return new LinkedHashMap<>(entries);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache in front of {@link RecommendationService#generate}, keyed by
+ * {@link RecommendationFingerprint}. Hits never reach the LLM. Misses consult the
+ * {@link SharedRecommendationResults} of all nodes before generating, and generated results are
+ * written back there. Every lookup, hit or miss, is counted in {@link RecommendationPopularity}
+ * (a lock-free sketch update), which decides what {@link RecommendationPrewarmer} warms.
+ */
+@Component
+public class RecommendationCache {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationCache.class);
+	private static final String CACHE_NAME = "recommendations";
+
+	private final RecommendationService recommendationService;
+	private final InFlightRecommendations inFlightRecommendations;
+	private final RecommendationPopularity popularity;
+	private final SharedRecommendationResults sharedResults;
+	private final Duration maxStoredAge;
+	private final Duration ttl;
+	private final LoadingCache<RecommendationFingerprint, RecommendationResult> cache;
+
+	public RecommendationCache(RecommendationService recommendationService,
+			InFlightRecommendations inFlightRecommendations, RecommendationPopularity popularity,
+			SharedRecommendationResults sharedResults, RecommendationCacheProperties properties,
+			MeterRegistry meterRegistry) {
+		this.recommendationService = recommendationService;
+		this.inFlightRecommendations = inFlightRecommendations;
+		this.popularity = popularity;
+		this.sharedResults = sharedResults;
+		int ttlMinutes = Math.max(properties.ttlMinutes(), 1);
+		int refreshAfterMinutes = Math.clamp(properties.refreshAfterMinutes(), 1, ttlMinutes);
+		// A refresh takes a result another node stored since the last refresh, else generates.
+		this.maxStoredAge = Duration.ofMinutes(refreshAfterMinutes);
+		this.ttl = Duration.ofMinutes(ttlMinutes);
+		if (!properties.enabled()) {
+			this.cache = null;
+			return;
+		}
+		// Refreshes block on the LLM, so keep them off the common pool.
+		ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(Math.max(properties.maximumSize(), 1))
+				.expireAfterWrite(ttl)
+				.refreshAfterWrite(Duration.ofMinutes(refreshAfterMinutes))
+				.executor(refreshExecutor)
+				.recordStats()
+				.build(this::load);
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public RecommendationResult get(RecommendationRequest request) {
+		RecommendationFingerprint fingerprint = RecommendationFingerprint.of(request);
+		popularity.record(fingerprint);
+		if (cache == null) {
+			return load(fingerprint);
+		}
+		return cache.get(fingerprint);
+	}
+
+	/**
+	 * The result of {@code request} from this node's cache, else from the shared store (then cached
+	 * locally); empty when the caller has to generate it.
+	 */
+	public Optional<RecommendationResult> getIfPresent(RecommendationRequest request) {
+		RecommendationFingerprint fingerprint = RecommendationFingerprint.of(request);
+		popularity.record(fingerprint);
+		RecommendationResult cached = cache == null ? null : cache.getIfPresent(fingerprint);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		Optional<RecommendationResult> stored = sharedResults.find(fingerprint, ttl);
+		if (stored.isPresent()) {
+			if (cache != null) {
+				cache.put(fingerprint, stored.get());
+			}
+			return stored;
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Generates {@code fingerprint} again and replaces the cached and shared results, restarting
+	 * their refresh and expiry clocks. Not counted as a lookup.
+	 */
+	public void warm(RecommendationFingerprint fingerprint) {
+		RecommendationResult result = generate(fingerprint);
+		if (cache != null) {
+			cache.put(fingerprint, result);
+		}
+	}
+
+	public void put(RecommendationRequest request, RecommendationResult result) {
+		RecommendationFingerprint fingerprint = RecommendationFingerprint.of(request);
+		if (cache != null) {
+			cache.put(fingerprint, result);
+		}
+		sharedResults.put(fingerprint, result);
+	}
+
+	/**
+	 * Drops this node's copy of {@code fingerprint}; the shared store is left alone.
+	 */
+	public void evict(RecommendationFingerprint fingerprint) {
+		if (cache != null) {
+			cache.invalidate(fingerprint);
+		}
+	}
+
+	public void evictAll() {
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+
+	public long hitCount() {
+		return cache == null ? 0 : cache.stats().hitCount();
+	}
+
+	public long missCount() {
+		return cache == null ? 0 : cache.stats().missCount();
+	}
+
+	private RecommendationResult load(RecommendationFingerprint fingerprint) {
+		Optional<RecommendationResult> stored = sharedResults.find(fingerprint, maxStoredAge);
+		if (stored.isPresent()) {
+			log.debug("Recommendation cache miss; found in the shared store. fingerprint={}", fingerprint);
+			return stored.get();
+		}
+		log.debug("Recommendation cache miss; generating. fingerprint={}", fingerprint);
+		return generate(fingerprint);
+	}
+
+	private RecommendationResult generate(RecommendationFingerprint fingerprint) {
+		return inFlightRecommendations.run(fingerprint, () -> {
+			RecommendationResult result = recommendationService.generate(fingerprint.toRequest());
+			sharedResults.put(fingerprint, result);
+			return result;
+		});
+	}
+}
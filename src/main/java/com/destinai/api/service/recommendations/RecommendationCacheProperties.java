@@ -0,0 +1,16 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Result cache sizing. Entries older than {@code refreshAfterMinutes} are still served while a
+ * background refresh runs; entries older than {@code ttlMinutes} are dropped.
+ */
+@ConfigurationProperties(prefix = "recommendations.cache")
+public record RecommendationCacheProperties(
+		boolean enabled,
+		long maximumSize,
+		int ttlMinutes,
+		int refreshAfterMinutes
+) {
+}
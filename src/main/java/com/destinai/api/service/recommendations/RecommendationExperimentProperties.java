@@ -0,0 +1,27 @@
+package com.destinai.api.service.recommendations;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Prompt/model experiment. Generations are split across {@code variants} by weight, using a
+ * sticky hash of the request fingerprint salted with {@code salt} (change it to reshuffle).
+ * Variant fields left blank keep the defaults: prompt {@code v3}, the routed endpoint and the
+ * provider's temperature and token limit.
+ */
+@ConfigurationProperties(prefix = "recommendations.experiments")
+public record RecommendationExperimentProperties(
+		boolean enabled,
+		String salt,
+		List<Variant> variants
+) {
+	public record Variant(
+			String name,
+			int weight,
+			String promptVersion,
+			String endpoint,
+			Double temperature,
+			Integer maxTokens
+	) {
+	}
+}
@@ -0,0 +1,270 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties.Variant;
+import com.destinai.modules.recommendations.integration.LlmOptions;
+import com.destinai.modules.recommendations.integration.LlmUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns generations to experiment variants (prompt version, endpoint, temperature, max tokens)
+ * and keeps a scorecard per variant. Assignment hashes the request fingerprint, so a questionnaire
+ * always gets the same variant and the fingerprint-keyed cache stays consistent. Latency, tokens
+ * and outcomes are recorded as {@code recommendations.experiment.*} meters tagged with the variant;
+ * {@link #scorecard()} reads them back. Without an enabled experiment every generation runs the
+ * {@code control} variant with the defaults.
+ */
+@Component
+public class RecommendationExperiments {
+	static final String CONTROL = "control";
+	private static final String VALID = "valid";
+	private static final String REPAIRED = "repaired";
+	private static final String FAILED = "failed";
+
+	private final List<VariantMeters> variants;
+	private final int totalWeight;
+	private final String salt;
+
+	public RecommendationExperiments(RecommendationExperimentProperties properties,
+			RecommendationPromptBuilder promptBuilder, MeterRegistry meterRegistry) {
+		List<Variant> configured = properties.enabled() && properties.variants() != null && !properties.variants().isEmpty()
+				? properties.variants()
+				: List.of(new Variant(CONTROL, 1, null, null, null, null));
+		Set<String> names = new HashSet<>();
+		for (Variant variant : configured) {
+			if (variant.name() == null || variant.name().isBlank() || !names.add(variant.name())) {
+				throw new IllegalStateException("Experiment variant names must be unique and not blank: " + variant.name());
+			}
+			if (variant.weight() <= 0) {
+				throw new IllegalStateException("Experiment variant '" + variant.name() + "' needs a positive weight.");
+			}
+			if (variant.promptVersion() != null && !promptBuilder.supportsPromptVersion(variant.promptVersion())) {
+				throw new IllegalStateException("Experiment variant '" + variant.name() + "' uses unknown prompt version "
+						+ variant.promptVersion());
+			}
+		}
+		this.variants = configured.stream().map(variant -> new VariantMeters(variant, meterRegistry)).toList();
+		this.totalWeight = configured.stream().mapToInt(Variant::weight).sum();
+		this.salt = properties.salt() == null ? "" : properties.salt();
+	}
+
+	/**
+	 * Starts timing a generation of {@code request} in its assigned variant.
+	 */
+	public Run start(RecommendationRequest request) {
+		return new Run(assign(request));
+	}
+
+	/**
+	 * The variant {@code request} is generated in, without starting a run. {@code endpoint} is
+	 * null unless the variant pins one.
+	 */
+	public Assignment assignment(RecommendationRequest request) {
+		Variant variant = assign(request).variant;
+		String promptVersion = variant.promptVersion() == null
+				? RecommendationPromptBuilder.DEFAULT_PROMPT_VERSION
+				: variant.promptVersion();
+		return new Assignment(variant.name(), promptVersion, variant.endpoint());
+	}
+
+	public List<VariantScore> scorecard() {
+		return variants.stream().map(VariantMeters::score).toList();
+	}
+
+	private VariantMeters assign(RecommendationRequest request) {
+		long bucket = Math.floorMod(hash(salt + '|' + RecommendationFingerprint.of(request)), (long) totalWeight);
+		for (VariantMeters variant : variants) {
+			bucket -= variant.variant.weight();
+			if (bucket < 0) {
+				return variant;
+			}
+		}
+		return variants.getLast();
+	}
+
+	/**
+	 * 64-bit FNV-1a; stable across JVMs, unlike the hash codes of the enums in the fingerprint.
+	 */
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * One generation in a variant. Token usage is recorded as it is reported, including hedges and
+	 * repairs; the outcome and end-to-end latency when the generation finishes.
+	 */
+	public static final class Run {
+		private final VariantMeters meters;
+		private final LlmOptions options;
+		private final long startedAt = System.nanoTime();
+		private volatile boolean repaired;
+
+		private Run(VariantMeters meters) {
+			this.meters = meters;
+			Variant variant = meters.variant;
+			this.options = new LlmOptions(variant.endpoint(), variant.temperature(), variant.maxTokens(),
+					meters::recordUsage);
+		}
+
+		public String variant() {
+			return meters.variant.name();
+		}
+
+		String promptVersion() {
+			String promptVersion = meters.variant.promptVersion();
+			return promptVersion == null ? RecommendationPromptBuilder.DEFAULT_PROMPT_VERSION : promptVersion;
+		}
+
+		LlmOptions options() {
+			return options;
+		}
+
+		void repairing() {
+			repaired = true;
+			meters.repairs.increment();
+		}
+
+		void succeeded() {
+			meters.finish(startedAt, repaired ? REPAIRED : VALID);
+		}
+
+		void failed() {
+			meters.finish(startedAt, FAILED);
+		}
+	}
+
+	public record Assignment(String variant, String promptVersion, String endpoint) {
+	}
+
+	/**
+	 * Scorecard of one variant. Rates and token means are per generation; latency percentiles are
+	 * over the meter registry's recent window.
+	 */
+	public record VariantScore(
+			String name,
+			int weight,
+			String promptVersion,
+			String endpoint,
+			Double temperature,
+			Integer maxTokens,
+			long generations,
+			double firstPassValidRate,
+			double repairRate,
+			double failureRate,
+			double meanLatencyMillis,
+			double p50LatencyMillis,
+			double p95LatencyMillis,
+			double meanPromptTokens,
+			double meanCachedPromptTokens,
+			double meanCompletionTokens
+	) {
+	}
+
+	private static final class VariantMeters {
+		private final Variant variant;
+		private final Timer duration;
+		private final Counter valid;
+		private final Counter repairedOutcomes;
+		private final Counter failed;
+		private final Counter repairs;
+		private final Counter promptTokens;
+		private final Counter cachedPromptTokens;
+		private final Counter completionTokens;
+
+		private VariantMeters(Variant variant, MeterRegistry meterRegistry) {
+			this.variant = variant;
+			this.duration = Timer.builder("recommendations.experiment.duration")
+					.description("End-to-end generation latency per experiment variant")
+					.tag("variant", variant.name())
+					.publishPercentiles(0.5, 0.95)
+					.register(meterRegistry);
+			this.valid = outcome(meterRegistry, VALID);
+			this.repairedOutcomes = outcome(meterRegistry, REPAIRED);
+			this.failed = outcome(meterRegistry, FAILED);
+			this.repairs = Counter.builder("recommendations.experiment.repairs")
+					.description("Generations whose first response failed validation and went to repair")
+					.tag("variant", variant.name())
+					.register(meterRegistry);
+			this.promptTokens = tokens(meterRegistry, "prompt");
+			this.cachedPromptTokens = tokens(meterRegistry, "cached_prompt");
+			this.completionTokens = tokens(meterRegistry, "completion");
+		}
+
+		private Counter outcome(MeterRegistry meterRegistry, String outcome) {
+			return Counter.builder("recommendations.experiment.generations")
+					.description("Generations per experiment variant: valid first time, repaired, or failed")
+					.tags("variant", variant.name(), "outcome", outcome)
+					.register(meterRegistry);
+		}
+
+		private Counter tokens(MeterRegistry meterRegistry, String type) {
+			return Counter.builder("recommendations.experiment.tokens")
+					.description("LLM tokens per experiment variant, including hedges and repairs")
+					.tags("variant", variant.name(), "type", type)
+					.register(meterRegistry);
+		}
+
+		private void recordUsage(LlmUsage usage) {
+			promptTokens.increment(usage.promptTokens());
+			cachedPromptTokens.increment(usage.cachedPromptTokens());
+			completionTokens.increment(usage.completionTokens());
+		}
+
+		private void finish(long startedAt, String outcome) {
+			duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			switch (outcome) {
+				case VALID -> valid.increment();
+				case REPAIRED -> repairedOutcomes.increment();
+				default -> failed.increment();
+			}
+		}
+
+		private VariantScore score() {
+			double generations = valid.count() + repairedOutcomes.count() + failed.count();
+			double p50 = 0;
+			double p95 = 0;
+			for (ValueAtPercentile percentile : duration.takeSnapshot().percentileValues()) {
+				if (percentile.percentile() == 0.5) {
+					p50 = percentile.value(TimeUnit.MILLISECONDS);
+				} else if (percentile.percentile() == 0.95) {
+					p95 = percentile.value(TimeUnit.MILLISECONDS);
+				}
+			}
+			return new VariantScore(
+					variant.name(),
+					variant.weight(),
+					variant.promptVersion() == null ? RecommendationPromptBuilder.DEFAULT_PROMPT_VERSION : variant.promptVersion(),
+					variant.endpoint(),
+					variant.temperature(),
+					variant.maxTokens(),
+					(long) generations,
+					ratio(valid.count(), generations),
+					ratio(repairs.count(), generations),
+					ratio(failed.count(), generations),
+					duration.mean(TimeUnit.MILLISECONDS),
+					p50,
+					p95,
+					ratio(promptTokens.count(), generations),
+					ratio(cachedPromptTokens.count(), generations),
+					ratio(completionTokens.count(), generations)
+			);
+		}
+
+		private static double ratio(double value, double generations) {
+			return generations == 0 ? 0 : value / generations;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Fan-out generation. When enabled, a generation runs {@code shards} concurrent LLM calls, each
+ * asking for {@code candidatesPerShard} candidates from its own share of the travel regions,
+ * instead of one call that writes every candidate in sequence.
+ */
+@ConfigurationProperties(prefix = "recommendations.fan-out")
+public record RecommendationFanOutProperties(
+		boolean enabled,
+		int shards,
+		int candidatesPerShard
+) {
+}
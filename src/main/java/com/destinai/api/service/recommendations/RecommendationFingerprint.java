@@ -0,0 +1,50 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Canonical form of a {@link RecommendationRequest}: activities are trimmed, case-folded,
+ * de-duplicated and sorted so equivalent questionnaires share one cache key.
+ */
+public record RecommendationFingerprint(
+		Who who,
+		TravelType travelType,
+		Accommodation accommodation,
+		List<String> activities,
+		Budget budget,
+		Weather weather,
+		Season season
+) {
+	public static RecommendationFingerprint of(RecommendationRequest request) {
+		List<String> activities = request.activities() == null ? List.of() : request.activities().stream()
+				.filter(activity -> activity != null && !activity.isBlank())
+				.map(activity -> activity.trim().toLowerCase(Locale.ROOT))
+				.distinct()
+				.sorted()
+				.toList();
+		return new RecommendationFingerprint(
+				request.who(),
+				request.travelType(),
+				request.accommodation(),
+				activities,
+				request.budget(),
+				request.weather(),
+				request.season()
+		);
+	}
+
+	/**
+	 * Rebuilds the request the fingerprint stands for, so cached and freshly generated
+	 * results always come from the same canonical prompt.
+	 */
+	public RecommendationRequest toRequest() {
+		return new RecommendationRequest(who, travelType, accommodation, activities, budget, weather, season);
+	}
+}
@@ -0,0 +1,83 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationJob;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events completion notifications for recommendation jobs. Jobs finished on this
+ * node are pushed immediately; jobs finished on other nodes are picked up by a periodic sweep
+ * of the job table.
+ */
+@Component
+public class RecommendationJobEvents {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationJobEvents.class);
+	private static final String EVENT_NAME = "status";
+
+	private final RecommendationJobService jobService;
+	private final long sseTimeoutMillis;
+	private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+	public RecommendationJobEvents(RecommendationJobService jobService, RecommendationJobProperties properties) {
+		this.jobService = jobService;
+		this.sseTimeoutMillis = Math.max(properties.sseTimeoutSeconds(), 1) * 1000L;
+	}
+
+	public SseEmitter subscribe(RecommendationJob job) {
+		SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+		if ("succeeded".equals(job.status()) || "failed".equals(job.status())) {
+			send(emitter, job.id(), job.status());
+			return emitter;
+		}
+		List<SseEmitter> emitters = subscribers.computeIfAbsent(job.id(), id -> new CopyOnWriteArrayList<>());
+		emitters.add(emitter);
+		Runnable unsubscribe = () -> emitters.remove(emitter);
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(error -> unsubscribe.run());
+		return emitter;
+	}
+
+	public void publish(UUID jobId, String status) {
+		List<SseEmitter> emitters = subscribers.remove(jobId);
+		if (emitters == null) {
+			return;
+		}
+		emitters.forEach(emitter -> send(emitter, jobId, status));
+	}
+
+	@Scheduled(fixedDelayString = "${recommendations.jobs.poll-interval-millis}")
+	public void publishFinished() {
+		subscribers.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+		if (subscribers.isEmpty()) {
+			return;
+		}
+		try {
+			jobService.findFinished(List.copyOf(subscribers.keySet())).forEach(this::publish);
+		} catch (DataAccessException ex) {
+			log.warn("Could not check recommendation job status. reason={}", ex.getMostSpecificCause().getMessage());
+		}
+	}
+
+	private void send(SseEmitter emitter, UUID jobId, String status) {
+		try {
+			emitter.send(SseEmitter.event()
+					.name(EVENT_NAME)
+					.data(Map.of("job_id", jobId, "status", status)));
+			emitter.complete();
+		} catch (IOException | IllegalStateException ex) {
+			log.debug("Could not deliver job event; client likely disconnected. job={}", jobId);
+			emitter.completeWithError(ex);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Asynchronous job mode. A claimed job holds a lease of {@code leaseSeconds}, renewed every
+ * {@code heartbeatIntervalMillis} while it runs; if the worker node dies the job is picked up again
+ * by any node once the lease runs out, at most {@code maxAttempts} times.
+ */
+@ConfigurationProperties(prefix = "recommendations.jobs")
+public record RecommendationJobProperties(
+		boolean workerEnabled,
+		int workerThreads,
+		long pollIntervalMillis,
+		int leaseSeconds,
+		long heartbeatIntervalMillis,
+		int maxAttempts,
+		int sseTimeoutSeconds
+) {
+}
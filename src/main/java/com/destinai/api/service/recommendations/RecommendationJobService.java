@@ -0,0 +1,146 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationJob;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.model.User;
+import com.destinai.common.errors.NotFoundException;
+import com.destinai.modules.recommendations.persistence.RecommendationJobEntity;
+import com.destinai.modules.recommendations.persistence.RecommendationJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Durable queue of recommendation jobs backed by the {@code recommendation_jobs} table.
+ */
+@Service
+public class RecommendationJobService {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationJobService.class);
+
+	private final RecommendationJobRepository jobRepository;
+	private final ObjectMapper objectMapper;
+	private final RecommendationJobProperties properties;
+
+	public RecommendationJobService(RecommendationJobRepository jobRepository, ObjectMapper objectMapper,
+			RecommendationJobProperties properties) {
+		this.jobRepository = jobRepository;
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+	}
+
+	@Transactional
+	public RecommendationJob submit(User user, RecommendationRequest request) {
+		RecommendationJobEntity entity = jobRepository.save(new RecommendationJobEntity(
+				UUID.randomUUID(),
+				user.id(),
+				write(request),
+				Instant.now()
+		));
+		log.info("Queued recommendation job {}", entity.getId());
+		return toModel(entity);
+	}
+
+	public RecommendationJob getJob(User user, UUID jobId) {
+		return jobRepository.findByIdAndUserId(jobId, user.id())
+				.map(this::toModel)
+				.orElseThrow(() -> new NotFoundException("Recommendation job not found."));
+	}
+
+	/**
+	 * Claims up to {@code limit} jobs for {@code workerId}. Jobs that already used up their
+	 * attempts (e.g. a node died mid-generation each time) are failed instead of re-run.
+	 */
+	@Transactional
+	public List<ClaimedJob> claim(String workerId, int limit) {
+		Instant now = Instant.now();
+		List<ClaimedJob> claimed = new ArrayList<>();
+		for (RecommendationJobEntity entity : jobRepository.lockClaimable(now, limit)) {
+			if (entity.getAttemptCount() >= properties.maxAttempts()) {
+				log.warn("Recommendation job {} exhausted {} attempts", entity.getId(), entity.getAttemptCount());
+				entity.markFailed("attempts_exhausted", now);
+				continue;
+			}
+			entity.markRunning(workerId, now.plusSeconds(properties.leaseSeconds()));
+			claimed.add(new ClaimedJob(entity.getId(), read(entity.getRequestPayload(), RecommendationRequest.class)));
+		}
+		return claimed;
+	}
+
+	/**
+	 * Renews the lease of jobs {@code workerId} is still running, so a long generation is not
+	 * reclaimed and run again by another node.
+	 */
+	@Transactional
+	public int extendLeases(String workerId, Collection<UUID> jobIds) {
+		if (jobIds.isEmpty()) {
+			return 0;
+		}
+		return jobRepository.extendLeases(jobIds, workerId, Instant.now().plusSeconds(properties.leaseSeconds()));
+	}
+
+	@Transactional
+	public void complete(UUID jobId, RecommendationResult result) {
+		jobRepository.findById(jobId)
+				.filter(entity -> !entity.getStatus().isFinished())
+				.ifPresent(entity -> entity.markSucceeded(write(result), Instant.now()));
+	}
+
+	@Transactional
+	public void fail(UUID jobId, String errorCode) {
+		jobRepository.findById(jobId)
+				.filter(entity -> !entity.getStatus().isFinished())
+				.ifPresent(entity -> entity.markFailed(errorCode, Instant.now()));
+	}
+
+	/**
+	 * Returns the wire status of every job in {@code jobIds} that has finished.
+	 */
+	public Map<UUID, String> findFinished(Collection<UUID> jobIds) {
+		if (jobIds.isEmpty()) {
+			return Map.of();
+		}
+		return jobRepository.findFinishedByIdIn(jobIds).stream()
+				.collect(Collectors.toMap(RecommendationJobEntity::getId, this::wireStatus));
+	}
+
+	private RecommendationJob toModel(RecommendationJobEntity entity) {
+		RecommendationResult result = entity.getResultPayload() == null
+				? null
+				: read(entity.getResultPayload(), RecommendationResult.class);
+		return new RecommendationJob(entity.getId(), wireStatus(entity), result, entity.getErrorCode());
+	}
+
+	private String wireStatus(RecommendationJobEntity entity) {
+		return entity.getStatus().name().toLowerCase(Locale.ROOT);
+	}
+
+	private String write(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not serialize recommendation job payload.", ex);
+		}
+	}
+
+	private <T> T read(String payload, Class<T> type) {
+		try {
+			return objectMapper.readValue(payload, type);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not deserialize recommendation job payload.", ex);
+		}
+	}
+
+	public record ClaimedJob(UUID id, RecommendationRequest request) {
+	}
+}
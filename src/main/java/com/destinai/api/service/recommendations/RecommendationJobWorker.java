@@ -0,0 +1,127 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationJobService.ClaimedJob;
+import com.destinai.common.errors.LlmServiceException;
+import com.destinai.common.errors.LlmTimeoutException;
+import com.destinai.common.errors.LlmValidationException;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the job table and runs claimed jobs on a fixed-size worker pool, so no request thread
+ * waits on the LLM provider. Only as many jobs are claimed as there are idle workers, and the
+ * leases of running jobs are renewed until they finish.
+ */
+@Component
+@ConditionalOnProperty(name = "recommendations.jobs.worker-enabled", havingValue = "true")
+public class RecommendationJobWorker {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationJobWorker.class);
+
+	private final RecommendationJobService jobService;
+	private final RecommendationCache recommendationCache;
+	private final RecommendationJobEvents jobEvents;
+	private final String workerId;
+	private final Semaphore idleWorkers;
+	private final ExecutorService executor;
+	private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+	public RecommendationJobWorker(RecommendationJobService jobService, RecommendationCache recommendationCache,
+			RecommendationJobEvents jobEvents, RecommendationJobProperties properties) {
+		this.jobService = jobService;
+		this.recommendationCache = recommendationCache;
+		this.jobEvents = jobEvents;
+		int workerThreads = Math.max(properties.workerThreads(), 1);
+		this.workerId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+		this.idleWorkers = new Semaphore(workerThreads);
+		this.executor = Executors.newFixedThreadPool(workerThreads);
+	}
+
+	@Scheduled(fixedDelayString = "${recommendations.jobs.poll-interval-millis}")
+	public void poll() {
+		int capacity = idleWorkers.availablePermits();
+		if (capacity == 0) {
+			return;
+		}
+		List<ClaimedJob> jobs;
+		try {
+			jobs = jobService.claim(workerId, capacity);
+		} catch (DataAccessException ex) {
+			log.warn("Could not claim recommendation jobs. reason={}", ex.getMostSpecificCause().getMessage());
+			return;
+		}
+		for (ClaimedJob job : jobs) {
+			idleWorkers.acquireUninterruptibly();
+			running.add(job.id());
+			executor.execute(() -> run(job));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${recommendations.jobs.heartbeat-interval-millis}")
+	public void heartbeat() {
+		if (running.isEmpty()) {
+			return;
+		}
+		try {
+			jobService.extendLeases(workerId, List.copyOf(running));
+		} catch (DataAccessException ex) {
+			log.warn("Could not renew recommendation job leases. reason={}", ex.getMostSpecificCause().getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		// Unfinished jobs keep their lease and are reclaimed by another node once it expires.
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	private void run(ClaimedJob job) {
+		try {
+			RecommendationResult result = recommendationCache.get(job.request());
+			jobService.complete(job.id(), result);
+			jobEvents.publish(job.id(), "succeeded");
+		} catch (LlmValidationException ex) {
+			finishFailed(job, ex.getReasonCode());
+		} catch (LlmServiceException ex) {
+			finishFailed(job, ex.getReasonCode());
+		} catch (LlmTimeoutException ex) {
+			finishFailed(job, "llm_timeout");
+		} catch (RuntimeException ex) {
+			log.error("Recommendation job {} failed unexpectedly", job.id(), ex);
+			finishFailed(job, "internal_error");
+		} finally {
+			running.remove(job.id());
+			idleWorkers.release();
+		}
+	}
+
+	private void finishFailed(ClaimedJob job, String errorCode) {
+		log.warn("Recommendation job {} failed. reason={}", job.id(), errorCode);
+		jobService.fail(job.id(), errorCode);
+		jobEvents.publish(job.id(), "failed");
+	}
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException ex) {
+			return "unknown-host";
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.destinai.api.service.recommendations;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed-memory popularity of request fingerprints: a count-min sketch estimates how often each
+ * fingerprint was requested, and the most frequent ones are tracked as heavy hitters. Recording
+ * never blocks: counters are atomics, and a tracked fingerprint only raises its own count. Only
+ * admitting a new heavy hitter (evicting the least popular one) takes a lock, with
+ * {@code tryLock}; a contended admission is retried on the fingerprint's next request.
+ * {@link #age()} halves all counts so old trends fade.
+ * <p>
+ * Heavy hitters are a map rather than a min-heap on purpose: tracked counts rise lock-free, which
+ * would silently break a heap's order, and keeping one consistent would put a lock on every
+ * recording. Finding the coldest entry is a scan instead, but only on admission, which the cached
+ * {@code admissionThreshold} makes rare, over at most twice the warmed top K.
+ */
+@Component
+public class RecommendationPopularity {
+	private static final int DEPTH = 4;
+	private static final int MIN_WIDTH = 64;
+
+	private final boolean enabled;
+	private final int widthMask;
+	private final AtomicLongArray counters;
+	private final int capacity;
+	private final Map<RecommendationFingerprint, AtomicLong> heavyHitters = new ConcurrentHashMap<>();
+	private final ReentrantLock admission = new ReentrantLock();
+	private volatile long admissionThreshold;
+
+	public RecommendationPopularity(RecommendationPrewarmProperties properties) {
+		this.enabled = properties.enabled();
+		int width = Integer.highestOneBit(Math.max(properties.sketchWidth(), MIN_WIDTH));
+		this.widthMask = width - 1;
+		this.counters = new AtomicLongArray(enabled ? DEPTH * width : 0);
+		// Track a few more than are warmed, so the top K are not decided by admission order.
+		this.capacity = Math.max(properties.topK(), 1) * 2;
+	}
+
+	public void record(RecommendationFingerprint fingerprint) {
+		if (!enabled) {
+			return;
+		}
+		int hash = spread(fingerprint.hashCode());
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+		}
+		AtomicLong tracked = heavyHitters.get(fingerprint);
+		if (tracked != null) {
+			tracked.accumulateAndGet(estimate, Math::max);
+		} else if (estimate > admissionThreshold) {
+			admit(fingerprint, estimate);
+		}
+	}
+
+	/**
+	 * Estimated request count; never below the true count, above it only by hash collisions.
+	 */
+	public long estimate(RecommendationFingerprint fingerprint) {
+		if (!enabled) {
+			return 0;
+		}
+		int hash = spread(fingerprint.hashCode());
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			estimate = Math.min(estimate, counters.get(index(hash, row)));
+		}
+		return estimate;
+	}
+
+	/**
+	 * Up to {@code limit} most requested fingerprints, most popular first.
+	 */
+	public List<RecommendationFingerprint> hottest(int limit) {
+		PriorityQueue<Map.Entry<RecommendationFingerprint, Long>> top =
+				new PriorityQueue<>(Map.Entry.comparingByValue());
+		heavyHitters.forEach((fingerprint, count) -> {
+			top.add(Map.entry(fingerprint, count.get()));
+			if (top.size() > limit) {
+				top.poll();
+			}
+		});
+		return top.stream()
+				.sorted(Map.Entry.<RecommendationFingerprint, Long>comparingByValue().reversed())
+				.map(Map.Entry::getKey)
+				.toList();
+	}
+
+	/**
+	 * Halves every count. Concurrent recordings may land before or after the halving.
+	 */
+	public void age() {
+		for (int i = 0; i < counters.length(); i++) {
+			counters.getAndUpdate(i, count -> count >>> 1);
+		}
+		heavyHitters.values().forEach(count -> count.getAndUpdate(value -> value >>> 1));
+		admission.lock();
+		try {
+			heavyHitters.values().removeIf(count -> count.get() == 0);
+			admissionThreshold = threshold();
+		} finally {
+			admission.unlock();
+		}
+	}
+
+	private void admit(RecommendationFingerprint fingerprint, long estimate) {
+		if (!admission.tryLock()) {
+			return;
+		}
+		try {
+			if (heavyHitters.size() >= capacity) {
+				Map.Entry<RecommendationFingerprint, AtomicLong> coldest = heavyHitters.entrySet().stream()
+						.min(Comparator.comparingLong(entry -> entry.getValue().get()))
+						.orElseThrow();
+				if (coldest.getValue().get() >= estimate) {
+					admissionThreshold = coldest.getValue().get();
+					return;
+				}
+				heavyHitters.remove(coldest.getKey());
+			}
+			heavyHitters.putIfAbsent(fingerprint, new AtomicLong(estimate));
+			admissionThreshold = threshold();
+		} finally {
+			admission.unlock();
+		}
+	}
+
+	/**
+	 * The count a fingerprint needs to be admitted: 0 while there is room, else the smallest
+	 * tracked count.
+	 */
+	private long threshold() {
+		if (heavyHitters.size() < capacity) {
+			return 0;
+		}
+		return heavyHitters.values().stream().mapToLong(AtomicLong::get).min().orElse(0);
+	}
+
+	/**
+	 * Row {@code row}'s counter for a hash: double hashing over the power-of-two width.
+	 */
+	private int index(int hash, int row) {
+		int second = Integer.reverse(hash) * 0x9E3779B9 | 1;
+		return row * (widthMask + 1) + ((hash + row * second) & widthMask);
+	}
+
+	private static int spread(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		return hash;
+	}
+}
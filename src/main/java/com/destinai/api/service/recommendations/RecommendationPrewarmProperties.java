@@ -0,0 +1,19 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Off-peak cache pre-warming. Popularity is estimated in a count-min sketch of
+ * {@code sketchWidth} counters per row; the {@code topK} most requested fingerprints are
+ * regenerated on {@code cron}, {@code concurrency} at a time. The cron should leave the warmed
+ * results within {@code recommendations.cache.ttl-minutes} of the peak hours.
+ */
+@ConfigurationProperties(prefix = "recommendations.prewarm")
+public record RecommendationPrewarmProperties(
+		boolean enabled,
+		String cron,
+		int topK,
+		int concurrency,
+		int sketchWidth
+) {
+}
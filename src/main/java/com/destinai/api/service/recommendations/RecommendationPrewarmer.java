@@ -0,0 +1,81 @@
+package com.destinai.api.service.recommendations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regenerates the most requested questionnaires off-peak, so peak-hour lookups hit fresh cache
+ * entries instead of waiting on the LLM. Afterwards the popularity counts are
+ * halved, so each run favours what was requested since the previous ones.
+ */
+@Component
+@ConditionalOnProperty(name = "recommendations.prewarm.enabled", havingValue = "true")
+public class RecommendationPrewarmer {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationPrewarmer.class);
+
+	private final RecommendationCache recommendationCache;
+	private final RecommendationPopularity popularity;
+	private final int topK;
+	private final int concurrency;
+	private final Counter warmed;
+	private final Counter failed;
+
+	public RecommendationPrewarmer(RecommendationCache recommendationCache, RecommendationPopularity popularity,
+			RecommendationPrewarmProperties properties, MeterRegistry meterRegistry) {
+		this.recommendationCache = recommendationCache;
+		this.popularity = popularity;
+		this.topK = Math.max(properties.topK(), 1);
+		this.concurrency = Math.max(properties.concurrency(), 1);
+		this.warmed = generations(meterRegistry, "success");
+		this.failed = generations(meterRegistry, "failed");
+	}
+
+	@Scheduled(cron = "${recommendations.prewarm.cron}")
+	public void prewarm() {
+		List<RecommendationFingerprint> hottest = popularity.hottest(topK);
+		AtomicInteger failures = new AtomicInteger();
+		List<Callable<Void>> tasks = hottest.stream()
+				.<Callable<Void>>map(fingerprint -> () -> {
+					warm(fingerprint, failures);
+					return null;
+				})
+				.toList();
+		// A small fixed pool: pre-warming must not crowd out live traffic at the provider.
+		try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+			executor.invokeAll(tasks);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		popularity.age();
+		log.info("Pre-warmed recommendation cache. warmed={} failed={}", hottest.size() - failures.get(), failures.get());
+	}
+
+	private void warm(RecommendationFingerprint fingerprint, AtomicInteger failures) {
+		try {
+			recommendationCache.warm(fingerprint);
+			warmed.increment();
+		} catch (RuntimeException ex) {
+			failures.incrementAndGet();
+			failed.increment();
+			log.warn("Could not pre-warm recommendation. fingerprint={} reason={}", fingerprint, ex.getMessage());
+		}
+	}
+
+	private static Counter generations(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("recommendations.prewarm.generations")
+				.description("Off-peak regenerations of popular questionnaires")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
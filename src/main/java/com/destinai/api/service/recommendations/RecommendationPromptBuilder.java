@@ -1,20 +1,242 @@
 package com.destinai.api.service.recommendations;
 
+import com.destinai.modules.recommendations.integration.LlmMessage;
+import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RecommendationPromptBuilder {
-	public String buildPrompt(RecommendationRequest request) {
+	private static final String SCHEMA = """
+			{
+			  "schema_version": "1.0",
+			  "destinations": [
+			    {
+			      "country": "string",
+			      "region": "string",
+			      "estimated_daily_budget_eur_range": "string",
+			      "best_months": ["string"],
+			      "weather_summary": "string",
+			      "accommodation_fit": "string",
+			      "travel_style_fit": "string",
+			      "top_activities": ["string"],
+			      "pros": ["string"],
+			      "cons": ["string"],
+			      "why_match": "string",
+			      "relaxed_constraints": ["string"]
+			    }
+			  ]
+			}
+			""";
+
+	public static final String DEFAULT_PROMPT_VERSION = "v3";
+
+	private static final String SHORTLIST_INSTRUCTIONS = """
+			Travel shortlist instructions v1.
+			You are a travel recommendation engine. Return STRICT JSON only, no other text:
+			{"destinations": [{"country": "string", "region": "string"}]} with %d candidate countries,
+			best match first. Never return fewer than %d.
+			- Hard constraints (highest priority): who, accommodation, season (month range), budget.
+			- Each destination must be a country, not a city or region, and offer at least 1 of the
+			  selected activities.
+			- Use different countries, spread over enough regions that 5 of them fit when no region
+			  appears more than 2 times.
+			Allowed regions: Europe, North Africa, Sub-Saharan Africa, Middle East, South Asia, East Asia, Oceania,
+			North America, Latin America/Caribbean.
+			""";
+
+	private static final String DETAIL_INSTRUCTIONS = """
+			Travel destination detail instructions v1.
+			You are a travel recommendation engine. Return STRICT JSON only.
+			The JSON must have "schema_version" and exactly 1 destination: the country named by the user,
+			described for their preferences. Do not include any text outside JSON.
+			- Hard constraints (highest priority): who, accommodation, season (month range), budget.
+			- Relaxable constraints in order: weather → activities coverage → travel type.
+			- Track any relaxations in "relaxed_constraints" (array of strings).
+			- "top_activities" must include at least 1 of the selected activities.
+			""";
+
+	/**
+	 * Static instructions and constraints per prompt version, shared by every request. Keeping the
+	 * system prompt byte-identical lets providers serve it from their prompt cache, so any change
+	 * to the wording is a new version rather than an edit. v1 and v2 ask for exactly five
+	 * destinations; v3 over-generates candidates for {@link DestinationSelector}.
+	 */
+	private static final Map<String, String> INSTRUCTIONS = Map.of(
+			"v1", """
+					Travel recommendation instructions v1.
+					You are a travel recommendation engine. Return STRICT JSON only.
+					The JSON must have "schema_version" and exactly 5 destinations.
+					Do not include any text outside JSON.
+
+					Constraints:
+					- Hard constraints (highest priority): who, accommodation, season (month range), budget.
+					- Relaxable constraints in order: weather → activities coverage → travel type.
+					- Track any relaxations per destination in "relaxed_constraints" (array of strings),
+					  but still return 5 destinations.
+					- Ensure all 5 countries are unique and no region appears more than 2 times.
+					""",
+			"v2", """
+					Travel recommendation instructions v2.
+					Return STRICT JSON only: "schema_version" and exactly 5 destinations, no other text.
+					Never break: who, accommodation, season (month range), budget.
+					If needed relax, in order: weather, activities coverage, travel type; list each
+					relaxation in the destination's "relaxed_constraints".
+					5 unique countries, at most 2 per region.
+					""",
+			"v3", """
+					Travel recommendation instructions v3.
+					You are a travel recommendation engine. Return STRICT JSON only.
+					The JSON must have "schema_version" and 8 candidate destinations, best match first;
+					exactly 5 destinations are selected from them, so never return fewer than 8.
+					Do not include any text outside JSON.
+
+					Constraints:
+					- Hard constraints (highest priority): who, accommodation, season (month range), budget.
+					- Relaxable constraints in order: weather → activities coverage → travel type.
+					- Track any relaxations per destination in "relaxed_constraints" (array of strings),
+					  but still return 8 candidates.
+					- Use 8 different countries so that all 5 countries are unique in any selection, spread
+					  over enough regions that 5 of them fit when no region appears more than 2 times.
+					- Between them, the candidates should cover as many of the selected activities as possible.
+					"""
+	);
+
+	/**
+	 * The recommendation prompt as a cacheable system message followed by the per-request user
+	 * preferences.
+	 */
+	public List<LlmMessage> buildMessages(RecommendationRequest request) {
+		return buildMessages(request, true);
+	}
+
+	/**
+	 * @param inlineSchema {@code false} when the client enforces the schema through structured
+	 * output, which saves the schema's prompt tokens
+	 */
+	public List<LlmMessage> buildMessages(RecommendationRequest request, boolean inlineSchema) {
+		return buildMessages(request, inlineSchema, DEFAULT_PROMPT_VERSION);
+	}
+
+	public List<LlmMessage> buildMessages(RecommendationRequest request, boolean inlineSchema, String promptVersion) {
+		String instructions = INSTRUCTIONS.get(promptVersion);
+		if (instructions == null) {
+			throw new IllegalArgumentException("Unknown prompt version: " + promptVersion);
+		}
+		String systemPrompt = inlineSchema ? instructions + "\nSchema:\n" + SCHEMA : instructions;
+		return List.of(LlmMessage.system(systemPrompt), LlmMessage.user(preferences(request)));
+	}
+
+	/**
+	 * Messages for one call of a fan-out generation: the same cacheable system message, with the
+	 * user turn narrowed to {@code count} candidates from {@code regions}, which no other call of
+	 * the generation uses.
+	 */
+	public List<LlmMessage> buildShardMessages(RecommendationRequest request, boolean inlineSchema, String promptVersion,
+			int count, List<String> regions) {
+		List<LlmMessage> messages = buildMessages(request, inlineSchema, promptVersion);
+		String shard = """
+				This call covers part of the answer, which overrides the number of destinations above:
+				return exactly %d candidate destination(s), best match first, only from these regions: %s.
+				Other calls cover the remaining regions.
+				""".formatted(count, String.join(", ", regions));
+		return List.of(messages.getFirst(), LlmMessage.user(messages.getLast().content() + shard));
+	}
+
+	/**
+	 * Phase one of a two-phase generation: only countries and regions, so the answer is a few
+	 * dozen tokens. The system message is static like the main prompt's.
+	 */
+	public List<LlmMessage> buildShortlistMessages(RecommendationRequest request, int count) {
+		return List.of(LlmMessage.system(SHORTLIST_INSTRUCTIONS.formatted(count, count)),
+				LlmMessage.user(preferences(request)));
+	}
+
+	/**
+	 * Phase two of a two-phase generation: the full details of one shortlisted destination, in the
+	 * usual response format.
+	 */
+	public List<LlmMessage> buildDetailMessages(RecommendationRequest request, boolean inlineSchema, String country,
+			String region) {
+		String systemPrompt = inlineSchema ? DETAIL_INSTRUCTIONS + "\nSchema:\n" + SCHEMA : DETAIL_INSTRUCTIONS;
+		return List.of(LlmMessage.system(systemPrompt),
+				LlmMessage.user(preferences(request) + "Destination: %s (%s)\n".formatted(country, region)));
+	}
+
+	/**
+	 * Several questionnaires in one call: the usual system message with the inline schema (a batch
+	 * answer cannot be enforced by the single-response schema), then the questionnaires keyed
+	 * {@code q1}, {@code q2}, ... in order.
+	 */
+	public List<LlmMessage> buildBatchMessages(List<RecommendationRequest> requests, String promptVersion) {
+		List<LlmMessage> messages = buildMessages(requests.getFirst(), true, promptVersion);
+		StringBuilder questionnaires = new StringBuilder("""
+				Answer each questionnaire below on its own, as if it were the only one.
+				Return STRICT JSON only: {"answers": {"q1": <answer>, "q2": <answer>, ...}}, where every
+				answer is a complete JSON response in the format above.
+				""");
+		for (int i = 0; i < requests.size(); i++) {
+			questionnaires.append("\nQuestionnaire q").append(i + 1).append(":\n").append(preferences(requests.get(i)));
+		}
+		return List.of(messages.getFirst(), LlmMessage.user(questionnaires.toString()));
+	}
+
+	public boolean supportsPromptVersion(String promptVersion) {
+		return INSTRUCTIONS.containsKey(promptVersion);
+	}
+
+	/**
+	 * Correction turn asking only for {@code count} replacement destinations; the accepted ones are
+	 * kept and merged by the caller, so their countries are excluded and regions already at the cap
+	 * are closed.
+	 */
+	public String buildPartialRepairPrompt(int count, List<String> acceptedCountries, List<String> fullRegions,
+			String failureReason) {
+		String closedRegions = fullRegions.isEmpty() ? "none" : String.join(", ", fullRegions);
+		return """
+				Some destinations in your previous response failed validation: %s.
+				Return STRICT JSON only with "schema_version" and exactly %d replacement destination(s).
+				- Do not use these countries (already recommended): %s.
+				- Do not use these regions (already at the cap): %s.
+				- Each destination must be a country, not a city or region, and include at least 1 of the
+				  selected activities in "top_activities".
+				Allowed regions: Europe, North Africa, Sub-Saharan Africa, Middle East, South Asia, East Asia, Oceania,
+				North America, Latin America/Caribbean.
+				""".formatted(failureReason, count, String.join(", ", acceptedCountries), closedRegions);
+	}
+
+	public String buildRepairPrompt(String failureReason) {
+		return buildRepairPrompt(failureReason, null);
+	}
+
+	public String buildRepairPrompt(String failureReason, String details) {
+		return buildRepairPrompt(failureReason, details, DEFAULT_PROMPT_VERSION);
+	}
+
+	/**
+	 * Correction turn asking for a whole new response, worded like {@code promptVersion}: v3 asks for
+	 * candidates again, v1 and v2 for exactly five destinations.
+	 */
+	public String buildRepairPrompt(String failureReason, String details, String promptVersion) {
+		String extraDetails = details == null || details.isBlank() ? "" : "\nDetails: " + details;
+		String destinations = "v3".equals(promptVersion)
+				? "8 new candidate destinations;\nexactly 5 destinations are selected from your candidates of both responses."
+				: "exactly 5 new destinations.";
+		return """
+				The previous response failed validation: %s.%s
+				Return STRICT JSON only, matching the required schema, with %s
+				Ensure all countries are unique and no region appears more than 2 times.
+				Allowed regions: Europe, North Africa, Sub-Saharan Africa, Middle East, South Asia, East Asia, Oceania,
+				North America, Latin America/Caribbean.
+				""".formatted(failureReason, extraDetails, destinations);
+	}
+
+	private String preferences(RecommendationRequest request) {
 		StringJoiner activities = new StringJoiner(", ");
 		request.activities().forEach(activities::add);
 		String seasonMonths = seasonMonths(request.season().name().toLowerCase());
-
 		return """
-				You are a travel recommendation engine. Return STRICT JSON only.
-				The JSON must have "schema_version" and exactly 5 destinations.
-				Do not include any text outside JSON.
-
 				User preferences:
 				- who: %s
 				- travel_type: %s
@@ -23,34 +245,6 @@ public class RecommendationPromptBuilder {
 				- budget: %s
 				- weather: %s
 				- season: %s (%s)
-
-				Constraints:
-				- Hard constraints (highest priority): who, accommodation, season (month range), budget.
-				- Relaxable constraints in order: weather → activities coverage → travel type.
-				- Track any relaxations per destination in "relaxed_constraints" (array of strings),
-				  but still return 5 destinations.
-				- Ensure all 5 countries are unique and no region appears more than 2 times.
-
-				Schema:
-				{
-				  "schema_version": "1.0",
-				  "destinations": [
-				    {
-				      "country": "string",
-				      "region": "string",
-				      "estimated_daily_budget_eur_range": "string",
-				      "best_months": ["string"],
-				      "weather_summary": "string",
-				      "accommodation_fit": "string",
-				      "travel_style_fit": "string",
-				      "top_activities": ["string"],
-				      "pros": ["string"],
-				      "cons": ["string"],
-				      "why_match": "string",
-				      "relaxed_constraints": ["string"]
-				    }
-				  ]
-				}
 				""".formatted(
 				request.who(),
 				request.travelType(),
@@ -63,21 +257,6 @@ public class RecommendationPromptBuilder {
 		);
 	}
 
-	public String buildRepairPrompt(String failureReason) {
-		return buildRepairPrompt(failureReason, null);
-	}
-
-	public String buildRepairPrompt(String failureReason, String details) {
-		String extraDetails = details == null || details.isBlank() ? "" : "\nDetails: " + details;
-		return """
-				The previous response failed validation: %s.%s
-				Return STRICT JSON only, matching the required schema and exactly 5 destinations.
-				Ensure all countries are unique and no region appears more than 2 times.
-				Allowed regions: Europe, North Africa, Sub-Saharan Africa, Middle East, South Asia, East Asia, Oceania,
-				North America, Latin America/Caribbean.
-				""".formatted(failureReason, extraDetails);
-	}
-
 	private String seasonMonths(String season) {
 		return switch (season) {
 			case "winter" -> "Nov–Feb";
@@ -0,0 +1,261 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.dto.recommendations.DestinationDto;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator.ValidatingParser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-pass parser for LLM recommendation responses built on Jackson's streaming
+ * {@link JsonParser}. It locates the JSON object inside the raw completion (markdown fences or
+ * leading prose) by offset without copying and normalizes inline: single strings become
+ * one-element lists, long text is truncated, empty lists get a placeholder item. No tree is
+ * built; {@link DestinationDto}s and relaxed constraints are produced directly.
+ * <p>
+ * Tokens are read through {@link RecommendationSchemaValidator}, so schema violations are
+ * collected in the same pass; malformed JSON surfaces as the parser's {@link IOException}.
+ */
+@Component
+public class RecommendationResponseParser {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationResponseParser.class);
+	static final int MAX_TEXT_LENGTH = 120;
+	private static final String CODE_FENCE = "```";
+	// Unknown fields are dropped and the destination count has its own business rule and repair hint.
+	private static final Set<String> TOLERATED_KEYWORDS = Set.of("additionalProperties", "minItems", "maxItems");
+
+	private final JsonFactory jsonFactory;
+	private final RecommendationSchemaValidator schemaValidator;
+
+	public RecommendationResponseParser(ObjectMapper objectMapper, RecommendationSchemaValidator schemaValidator) {
+		this.jsonFactory = objectMapper.getFactory();
+		this.schemaValidator = schemaValidator;
+	}
+
+	public ParsedResponse parse(String response) throws IOException {
+		if (response == null || response.isBlank()) {
+			return ParsedResponse.failure(List.of(new SchemaViolation("$", "type", "expected object but response was empty")));
+		}
+		StringReader reader = new StringReader(response);
+		reader.skip(jsonStart(response));
+		try (ValidatingParser parser = schemaValidator.validate(jsonFactory.createParser(reader))) {
+			return readPayload(parser);
+		}
+	}
+
+	/**
+	 * Reads one streamed destination object from {@code parser}, validating it against the
+	 * destination item schema.
+	 */
+	public ParsedDestination readDestination(JsonParser parser, int index) throws IOException {
+		ValidatingParser validating = schemaValidator.validateDestination(parser, index);
+		validating.nextToken();
+		DestinationFields fields = readDestinationFields(validating);
+		List<SchemaViolation> violations = blocking(validating.violations());
+		if (!violations.isEmpty() || fields.destination() == null) {
+			return new ParsedDestination(null, List.of(), violations);
+		}
+		return new ParsedDestination(fields.destination(), fields.relaxedConstraints(), List.of());
+	}
+
+	private ParsedResponse readPayload(ValidatingParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			// Still consume the value so malformed JSON is reported as such.
+			parser.skipChildren();
+			return ParsedResponse.failure(blocking(parser.violations()));
+		}
+		String schemaVersion = null;
+		List<DestinationDto> destinations = new ArrayList<>();
+		List<List<String>> relaxedConstraints = new ArrayList<>();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			switch (field) {
+				case "schema_version" -> schemaVersion = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+				case "destinations" -> {
+					destinations.clear();
+					relaxedConstraints.clear();
+					if (value != JsonToken.START_ARRAY) {
+						parser.skipChildren();
+						continue;
+					}
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						DestinationFields fields = readDestinationFields(parser);
+						if (fields.destination() != null) {
+							destinations.add(fields.destination());
+							relaxedConstraints.add(fields.relaxedConstraints());
+						}
+					}
+				}
+				default -> parser.skipChildren();
+			}
+		}
+
+		List<SchemaViolation> violations = blocking(parser.violations());
+		if (!violations.isEmpty()) {
+			return ParsedResponse.failure(violations);
+		}
+		return new ParsedResponse(schemaVersion, destinations, relaxedConstraints, List.of());
+	}
+
+	/**
+	 * Reads a destination object; {@code parser} must be positioned on its first token and is
+	 * left on its last token. The destination is {@code null} when a field has the wrong shape.
+	 */
+	private DestinationFields readDestinationFields(JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return DestinationFields.INVALID;
+		}
+		String country = null;
+		String region = null;
+		String budget = null;
+		String weather = null;
+		String accommodation = null;
+		String travelStyle = null;
+		String whyMatch = null;
+		List<String> bestMonths = null;
+		List<String> topActivities = null;
+		List<String> pros = null;
+		List<String> cons = null;
+		List<String> relaxedConstraints = List.of();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			parser.nextToken();
+			switch (field) {
+				case "country" -> country = readText(parser, false);
+				case "region" -> region = readText(parser, false);
+				case "estimated_daily_budget_eur_range" -> budget = readText(parser, true);
+				case "weather_summary" -> weather = readText(parser, true);
+				case "accommodation_fit" -> accommodation = readText(parser, true);
+				case "travel_style_fit" -> travelStyle = readText(parser, true);
+				case "why_match" -> whyMatch = readText(parser, true);
+				case "best_months" -> bestMonths = orDefault(readTextList(parser), "Year-round");
+				case "top_activities" -> topActivities = orDefault(readTextList(parser), "General exploration");
+				case "pros" -> pros = orDefault(readTextList(parser), "Good destination");
+				case "cons" -> cons = orDefault(readTextList(parser), "Consider your preferences");
+				case "relaxed_constraints" -> {
+					List<String> values = readTextList(parser);
+					relaxedConstraints = values == null ? List.of() : values.stream().filter(value -> !value.isBlank()).toList();
+				}
+				default -> parser.skipChildren();
+			}
+		}
+
+		if (country == null || region == null || budget == null || weather == null || accommodation == null
+				|| travelStyle == null || whyMatch == null || bestMonths == null || topActivities == null
+				|| pros == null || cons == null) {
+			return DestinationFields.INVALID;
+		}
+		DestinationDto destination = new DestinationDto(country, region, budget, bestMonths, weather, accommodation,
+				travelStyle, topActivities, pros, cons, whyMatch);
+		return new DestinationFields(destination, relaxedConstraints);
+	}
+
+	private List<SchemaViolation> blocking(List<SchemaViolation> violations) {
+		if (violations.isEmpty()) {
+			return List.of();
+		}
+		List<SchemaViolation> blocking = new ArrayList<>(violations.size());
+		for (SchemaViolation violation : violations) {
+			if (TOLERATED_KEYWORDS.contains(violation.keyword())) {
+				log.debug("Tolerated schema violation: {}", violation);
+			} else {
+				blocking.add(violation);
+			}
+		}
+		return blocking;
+	}
+
+	/**
+	 * Offset of the JSON object: inside the first markdown code fence if there is one, otherwise
+	 * the first {@code {}. Anything after the root object is never read.
+	 */
+	private static int jsonStart(String response) {
+		int searchFrom = 0;
+		int fence = response.indexOf(CODE_FENCE);
+		if (fence >= 0) {
+			int lineEnd = response.indexOf('\n', fence);
+			searchFrom = lineEnd < 0 ? fence + CODE_FENCE.length() : lineEnd + 1;
+		}
+		int objectStart = response.indexOf('{', searchFrom);
+		return objectStart < 0 ? searchFrom : objectStart;
+	}
+
+	private static String readText(JsonParser parser, boolean truncate) throws IOException {
+		if (parser.currentToken() != JsonToken.VALUE_STRING) {
+			parser.skipChildren();
+			return null;
+		}
+		if (!truncate || parser.getTextLength() <= MAX_TEXT_LENGTH) {
+			return parser.getText();
+		}
+		return new String(parser.getTextCharacters(), parser.getTextOffset(), MAX_TEXT_LENGTH);
+	}
+
+	/**
+	 * Array of strings (items truncated) or a single string as a one-element list; {@code null}
+	 * for any other shape.
+	 */
+	private static List<String> readTextList(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_STRING) {
+			return List.of(readText(parser, true));
+		}
+		if (token != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return null;
+		}
+		List<String> items = new ArrayList<>();
+		boolean valid = true;
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (parser.currentToken() == JsonToken.VALUE_STRING) {
+				items.add(readText(parser, true));
+			} else {
+				valid = false;
+				parser.skipChildren();
+			}
+		}
+		return valid ? items : null;
+	}
+
+	private static List<String> orDefault(List<String> items, String placeholder) {
+		return items != null && items.isEmpty() ? List.of(placeholder) : items;
+	}
+
+	private record DestinationFields(DestinationDto destination, List<String> relaxedConstraints) {
+		static final DestinationFields INVALID = new DestinationFields(null, List.of());
+	}
+
+	/**
+	 * Either the parsed payload or the schema violations that make it unusable.
+	 */
+	public record ParsedResponse(String schemaVersion, List<DestinationDto> destinations,
+								 List<List<String>> relaxedConstraints, List<SchemaViolation> violations) {
+		static ParsedResponse failure(List<SchemaViolation> violations) {
+			return new ParsedResponse(null, List.of(), List.of(), violations);
+		}
+
+		public boolean isValid() {
+			return violations.isEmpty();
+		}
+	}
+
+	public record ParsedDestination(DestinationDto destination, List<String> relaxedConstraints,
+									List<SchemaViolation> violations) {
+		public boolean isValid() {
+			return violations.isEmpty() && destination != null;
+		}
+	}
+}
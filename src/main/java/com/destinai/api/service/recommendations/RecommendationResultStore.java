@@ -0,0 +1,55 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, node-local hand-off of generated results between the questionnaire submit
+ * and the results page, so a single submission costs a single generation. Results expire
+ * after 15 minutes and the store is bounded; Caffeine evicts both without scanning it.
+ */
+@Component
+public class RecommendationResultStore {
+	private static final Duration RESULT_TTL = Duration.ofMinutes(15);
+	private static final int MAX_STORED_RESULTS = 10_000;
+
+	private final Cache<UUID, StoredResult> results;
+
+	public RecommendationResultStore() {
+		this(Clock.systemUTC());
+	}
+
+	public RecommendationResultStore(Clock clock) {
+		this.results = Caffeine.newBuilder()
+				.expireAfterWrite(RESULT_TTL)
+				.maximumSize(MAX_STORED_RESULTS)
+				.ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+				// Evict on the writing thread, so the bound holds as soon as save returns.
+				.executor(Runnable::run)
+				.build();
+	}
+
+	public UUID save(UUID userId, RecommendationResult result) {
+		UUID resultId = UUID.randomUUID();
+		results.put(resultId, new StoredResult(userId, result));
+		return resultId;
+	}
+
+	public Optional<RecommendationResult> find(UUID userId, UUID resultId) {
+		StoredResult stored = results.getIfPresent(resultId);
+		if (stored == null || !stored.userId().equals(userId)) {
+			return Optional.empty();
+		}
+		return Optional.of(stored.result());
+	}
+
+	private record StoredResult(UUID userId, RecommendationResult result) {
+	}
+}
@@ -0,0 +1,414 @@
+package com.destinai.api.service.recommendations;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates LLM output against {@code llm/recommendation-schema.json}. The schema is compiled once
+ * into rules with hash-indexed properties and required-field bit masks; validation then runs as a
+ * {@link JsonParserDelegate} that checks each token while the caller reads it, so the same rules
+ * serve the full-response and the per-destination streaming paths without a second pass.
+ * <p>
+ * Supported keywords: {@code type}, {@code properties}, {@code required},
+ * {@code additionalProperties} (boolean), {@code items}, {@code minItems}, {@code maxItems},
+ * {@code minLength}, {@code maxLength} and {@code enum}. A single string where an array is
+ * expected is checked against the item schema, mirroring the parser's normalization.
+ */
+@Component
+public class RecommendationSchemaValidator {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationSchemaValidator.class);
+	private static final String SCHEMA_LOCATION = "llm/recommendation-schema.json";
+	private static final String ROOT_PATH = "$";
+	private static final Set<String> ANNOTATION_KEYWORDS = Set.of(
+			"$schema", "$id", "title", "description", "default", "examples"
+	);
+
+	private static final int TYPE_OBJECT = 1;
+	private static final int TYPE_ARRAY = 1 << 1;
+	private static final int TYPE_STRING = 1 << 2;
+	private static final int TYPE_INTEGER = 1 << 3;
+	private static final int TYPE_NUMBER = 1 << 4;
+	private static final int TYPE_BOOLEAN = 1 << 5;
+	private static final int TYPE_NULL = 1 << 6;
+	private static final int TYPE_ANY = (1 << 7) - 1;
+
+	private final Rule root;
+	private final Rule destination;
+
+	public RecommendationSchemaValidator(ObjectMapper objectMapper) {
+		this.root = compile(readSchema(objectMapper), ROOT_PATH);
+		Property destinations = root.properties.get("destinations");
+		this.destination = destinations == null ? Rule.ANY : destinations.rule.items();
+	}
+
+	/**
+	 * Wraps {@code parser} so that the whole document it yields is checked against the schema.
+	 */
+	public ValidatingParser validate(JsonParser parser) {
+		return new ValidatingParser(parser, root, ROOT_PATH);
+	}
+
+	/**
+	 * Wraps {@code parser} so that the single destination object it yields is checked against the
+	 * destination item schema; paths are reported relative to {@code $.destinations[index]}.
+	 */
+	public ValidatingParser validateDestination(JsonParser parser, int index) {
+		return new ValidatingParser(parser, destination, ROOT_PATH + ".destinations[" + index + "]");
+	}
+
+	private static JsonNode readSchema(ObjectMapper objectMapper) {
+		try (InputStream input = new ClassPathResource(SCHEMA_LOCATION).getInputStream()) {
+			return objectMapper.readTree(input);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Could not load " + SCHEMA_LOCATION, ex);
+		}
+	}
+
+	private static Rule compile(JsonNode schema, String location) {
+		if (schema == null || !schema.isObject()) {
+			return Rule.ANY;
+		}
+		Rule rule = new Rule();
+		for (Map.Entry<String, JsonNode> field : schema.properties()) {
+			JsonNode value = field.getValue();
+			switch (field.getKey()) {
+				case "type" -> rule.types = compileTypes(value);
+				case "properties" -> value.properties().forEach(property -> rule.properties.put(
+						property.getKey(), new Property(compile(property.getValue(), location + "." + property.getKey()), 0L)));
+				case "required" -> value.forEach(name -> rule.required.add(name.asText()));
+				case "additionalProperties" -> rule.additionalProperties = !value.isBoolean() || value.asBoolean();
+				case "items" -> rule.items = compile(value, location + "[]");
+				case "minItems" -> rule.minItems = value.asInt();
+				case "maxItems" -> rule.maxItems = value.asInt();
+				case "minLength" -> rule.minLength = value.asInt();
+				case "maxLength" -> rule.maxLength = value.asInt();
+				case "enum" -> {
+					rule.enumValues = new HashSet<>();
+					value.forEach(option -> rule.enumValues.add(option.asText()));
+				}
+				default -> {
+					if (!ANNOTATION_KEYWORDS.contains(field.getKey())) {
+						log.warn("Unsupported JSON Schema keyword ignored. keyword={}, location={}", field.getKey(), location);
+					}
+				}
+			}
+		}
+		rule.indexRequired();
+		return rule;
+	}
+
+	private static int compileTypes(JsonNode value) {
+		if (value.isArray()) {
+			int types = 0;
+			for (JsonNode type : value) {
+				types |= typeBit(type.asText());
+			}
+			return types;
+		}
+		return typeBit(value.asText());
+	}
+
+	private static int typeBit(String type) {
+		return switch (type) {
+			case "object" -> TYPE_OBJECT;
+			case "array" -> TYPE_ARRAY;
+			case "string" -> TYPE_STRING;
+			case "integer" -> TYPE_INTEGER;
+			// Every integer is also a number.
+			case "number" -> TYPE_NUMBER | TYPE_INTEGER;
+			case "boolean" -> TYPE_BOOLEAN;
+			case "null" -> TYPE_NULL;
+			default -> throw new IllegalStateException("Unknown JSON Schema type: " + type);
+		};
+	}
+
+	private static int typeOf(JsonToken token) {
+		return switch (token) {
+			case START_OBJECT -> TYPE_OBJECT;
+			case START_ARRAY -> TYPE_ARRAY;
+			case VALUE_STRING -> TYPE_STRING;
+			case VALUE_NUMBER_INT -> TYPE_INTEGER;
+			case VALUE_NUMBER_FLOAT -> TYPE_NUMBER;
+			case VALUE_TRUE, VALUE_FALSE -> TYPE_BOOLEAN;
+			case VALUE_NULL -> TYPE_NULL;
+			default -> 0;
+		};
+	}
+
+	private static String typeName(int type) {
+		return switch (type) {
+			case TYPE_OBJECT -> "object";
+			case TYPE_ARRAY -> "array";
+			case TYPE_STRING -> "string";
+			case TYPE_INTEGER -> "integer";
+			case TYPE_NUMBER -> "number";
+			case TYPE_BOOLEAN -> "boolean";
+			case TYPE_NULL -> "null";
+			default -> "value";
+		};
+	}
+
+	private static final class Rule {
+		static final Rule ANY = new Rule();
+
+		int types = TYPE_ANY;
+		final Map<String, Property> properties = new HashMap<>();
+		final List<String> required = new ArrayList<>();
+		long requiredMask;
+		boolean additionalProperties = true;
+		Rule items;
+		int minItems;
+		int maxItems = Integer.MAX_VALUE;
+		int minLength;
+		int maxLength = Integer.MAX_VALUE;
+		Set<String> enumValues;
+
+		/**
+		 * Assigns each required property a bit so that missing fields are found with one mask
+		 * comparison per object.
+		 */
+		void indexRequired() {
+			if (required.size() > Long.SIZE) {
+				throw new IllegalStateException("At most " + Long.SIZE + " required properties are supported.");
+			}
+			for (int bit = 0; bit < required.size(); bit++) {
+				String name = required.get(bit);
+				Property property = properties.getOrDefault(name, new Property(ANY, 0L));
+				properties.put(name, new Property(property.rule, 1L << bit));
+				requiredMask |= 1L << bit;
+			}
+		}
+
+		Rule items() {
+			return items == null ? ANY : items;
+		}
+	}
+
+	private record Property(Rule rule, long requiredBit) {
+	}
+
+	/**
+	 * Parser view that records schema violations for every token read through it, including
+	 * tokens passed over with {@link #skipChildren()}.
+	 */
+	public static final class ValidatingParser extends JsonParserDelegate {
+		private final Rule rootRule;
+		private final String rootPath;
+		private final Deque<Frame> frames = new ArrayDeque<>();
+		private final List<SchemaViolation> violations = new ArrayList<>();
+		private boolean rootSeen;
+
+		private ValidatingParser(JsonParser parser, Rule rootRule, String rootPath) {
+			super(parser);
+			this.rootRule = rootRule;
+			this.rootPath = rootPath;
+		}
+
+		public List<SchemaViolation> violations() {
+			return violations;
+		}
+
+		/**
+		 * {@code true} once a complete root value has been read.
+		 */
+		public boolean isComplete() {
+			return rootSeen && frames.isEmpty();
+		}
+
+		@Override
+		public JsonToken nextToken() throws IOException {
+			JsonToken token = delegate.nextToken();
+			if (token != null) {
+				observe(token);
+			}
+			return token;
+		}
+
+		@Override
+		public JsonToken nextValue() throws IOException {
+			JsonToken token = nextToken();
+			return token == JsonToken.FIELD_NAME ? nextToken() : token;
+		}
+
+		@Override
+		public JsonParser skipChildren() throws IOException {
+			JsonToken current = currentToken();
+			if (current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY) {
+				return this;
+			}
+			int depth = 1;
+			while (depth > 0) {
+				JsonToken token = nextToken();
+				if (token == null) {
+					return this;
+				}
+				if (token.isStructStart()) {
+					depth++;
+				} else if (token.isStructEnd()) {
+					depth--;
+				}
+			}
+			return this;
+		}
+
+		private void observe(JsonToken token) throws IOException {
+			switch (token) {
+				case FIELD_NAME -> {
+					Frame frame = frames.peek();
+					String name = delegate.currentName();
+					frame.field = name;
+					Property property = frame.rule.properties.get(name);
+					if (property == null) {
+						frame.pending = Rule.ANY;
+						if (!frame.rule.additionalProperties) {
+							violation(frame.path() + "." + name, "additionalProperties", "is not allowed");
+						}
+					} else {
+						frame.pending = property.rule;
+						frame.seenRequired |= property.requiredBit;
+					}
+				}
+				case END_OBJECT -> {
+					Frame frame = frames.pop();
+					long missing = frame.rule.requiredMask & ~frame.seenRequired;
+					for (int bit = 0; missing != 0; bit++, missing >>>= 1) {
+						if ((missing & 1L) != 0) {
+							violation(frame.path() + "." + frame.rule.required.get(bit), "required", "is required");
+						}
+					}
+				}
+				case END_ARRAY -> {
+					Frame frame = frames.pop();
+					if (frame.count < frame.rule.minItems) {
+						violation(frame.path(), "minItems",
+								"expected at least " + frame.rule.minItems + " items but was " + frame.count);
+					}
+					if (frame.count > frame.rule.maxItems) {
+						violation(frame.path(), "maxItems",
+								"expected at most " + frame.rule.maxItems + " items but was " + frame.count);
+					}
+				}
+				default -> value(token);
+			}
+		}
+
+		private void value(JsonToken token) throws IOException {
+			Frame parent = frames.peek();
+			Rule rule;
+			if (parent == null) {
+				rule = rootRule;
+				rootSeen = true;
+			} else if (parent.object) {
+				rule = parent.pending;
+			} else {
+				rule = parent.rule.items();
+				parent.count++;
+			}
+			int type = typeOf(token);
+			boolean container = token.isStructStart();
+
+			if ((rule.types & type) != 0) {
+				if (container) {
+					frames.push(new Frame(rule, parent, token == JsonToken.START_OBJECT));
+				} else {
+					checkScalar(rule, token, parent);
+				}
+				return;
+			}
+			if ((rule.types & TYPE_ARRAY) != 0 && !container && (rule.items().types & type) != 0) {
+				// Single value where an array is expected; the parser turns it into a one-item list.
+				checkScalar(rule.items(), token, parent);
+				return;
+			}
+			violation(path(parent), "type", "expected " + expectedTypes(rule.types) + " but was " + typeName(type));
+			if (container) {
+				frames.push(new Frame(Rule.ANY, parent, token == JsonToken.START_OBJECT));
+			}
+		}
+
+		private void checkScalar(Rule rule, JsonToken token, Frame parent) throws IOException {
+			if (token != JsonToken.VALUE_STRING) {
+				return;
+			}
+			int length = delegate.getTextLength();
+			if (length < rule.minLength) {
+				violation(path(parent), "minLength", "must have at least " + rule.minLength + " characters");
+			}
+			if (length > rule.maxLength) {
+				violation(path(parent), "maxLength", "must have at most " + rule.maxLength + " characters");
+			}
+			if (rule.enumValues != null && !rule.enumValues.contains(delegate.getText())) {
+				violation(path(parent), "enum", "must be one of " + rule.enumValues);
+			}
+		}
+
+		private String path(Frame parent) {
+			if (parent == null) {
+				return rootPath;
+			}
+			return parent.object ? parent.path() + "." + parent.field : parent.path() + "[" + (parent.count - 1) + "]";
+		}
+
+		private String expectedTypes(int types) {
+			List<String> names = new ArrayList<>();
+			for (int bit = TYPE_OBJECT; bit <= TYPE_NULL; bit <<= 1) {
+				// "number" includes integers; name only the broader type.
+				if ((types & bit) != 0 && !(bit == TYPE_INTEGER && (types & TYPE_NUMBER) != 0)) {
+					names.add(typeName(bit));
+				}
+			}
+			return String.join(" or ", names);
+		}
+
+		private void violation(String path, String keyword, String message) {
+			violations.add(new SchemaViolation(path, keyword, message));
+		}
+
+		/**
+		 * An open object or array. Paths are only built when a violation is reported.
+		 */
+		private final class Frame {
+			private final Rule rule;
+			private final Frame parent;
+			private final String parentField;
+			private final int parentIndex;
+			private final boolean object;
+			private Rule pending = Rule.ANY;
+			private String field;
+			private long seenRequired;
+			private int count;
+
+			private Frame(Rule rule, Frame parent, boolean object) {
+				this.rule = rule;
+				this.parent = parent;
+				this.object = object;
+				this.parentField = parent == null ? null : parent.field;
+				this.parentIndex = parent == null ? 0 : parent.count - 1;
+			}
+
+			private String path() {
+				if (parent == null) {
+					return rootPath;
+				}
+				return parent.object ? parent.path() + "." + parentField : parent.path() + "[" + parentIndex + "]";
+			}
+		}
+	}
+}
@@ -4,22 +4,39 @@ import com.destinai.api.dto.recommendations.DestinationDto;
 import com.destinai.api.dto.recommendations.RecommendationResponseDto;
 import com.destinai.api.service.model.Destination;
 import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationResponseParser.ParsedDestination;
+import com.destinai.api.service.recommendations.RecommendationResponseParser.ParsedResponse;
 import com.destinai.common.errors.LlmServiceException;
 import com.destinai.common.errors.LlmTimeoutException;
 import com.destinai.common.errors.LlmValidationException;
 import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.LlmCompletion;
+import com.destinai.modules.recommendations.integration.LlmMessage;
+import com.destinai.modules.recommendations.integration.LlmOptions;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.Duration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.IntStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,372 +47,780 @@ import org.springframework.web.client.RestClientResponseException;
 @Service
 public class RecommendationService {
 	private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
-	private static final Duration QUICK_RETRY_DELAY = Duration.ofMillis(200);
 	private static final int REQUIRED_DESTINATIONS = 5;
 	private static final int MAX_REGION_COUNT = 2;
-	private static final int MAX_TEXT_LENGTH = 120;
-
-	// Common city/region names that should be rejected (not exhaustive, but catches common cases)
-	private static final Set<String> NON_COUNTRY_INDICATORS = Set.of(
-			"city", "region", "province", "valley",
-			"peninsula", "archipelago", "bay", "gulf", "sea", "ocean"
-	);
+	private static final int MAX_TEXT_LENGTH = RecommendationResponseParser.MAX_TEXT_LENGTH;
+	private static final int MAX_REPORTED_VIOLATIONS = 10;
+	private static final int SPARE_REPLACEMENTS = 2;
 
 	private final LlmClient llmClient;
 	private final RecommendationPromptBuilder promptBuilder;
 	private final ObjectMapper objectMapper;
+	private final RecommendationResponseParser responseParser;
+	private final CountryGazetteer gazetteer;
+	private final LlmHedger hedger;
+	private final LlmRetryPolicy retryPolicy;
+	private final RecommendationExperiments experiments;
+	private final RecommendationFanOutProperties fanOut;
+	private final RecommendationTwoPhaseProperties twoPhase;
+	private final RecommendationBatcher batcher;
+	private final MeterRegistry meterRegistry;
 
 	public RecommendationService(LlmClient llmClient, RecommendationPromptBuilder promptBuilder,
-			ObjectMapper objectMapper) {
+			ObjectMapper objectMapper, RecommendationResponseParser responseParser, CountryGazetteer gazetteer,
+			LlmHedger hedger, LlmRetryPolicy retryPolicy, RecommendationExperiments experiments,
+			RecommendationFanOutProperties fanOut, RecommendationTwoPhaseProperties twoPhase,
+			RecommendationBatcher batcher, MeterRegistry meterRegistry) {
 		this.llmClient = llmClient;
 		this.promptBuilder = promptBuilder;
 		this.objectMapper = objectMapper;
+		this.responseParser = responseParser;
+		this.gazetteer = gazetteer;
+		this.hedger = hedger;
+		this.retryPolicy = retryPolicy;
+		this.experiments = experiments;
+		this.fanOut = fanOut;
+		this.twoPhase = twoPhase;
+		this.batcher = batcher;
+		this.meterRegistry = meterRegistry;
 	}
 
 	public RecommendationResult generate(RecommendationRequest request) {
-		String prompt = promptBuilder.buildPrompt(request);
-		String response = callWithRetry(prompt, request);
+		RecommendationExperiments.Run run = experiments.start(request);
+		return scored(run, () -> generate(request, run));
+	}
+
+	private RecommendationResult generate(RecommendationRequest request, RecommendationExperiments.Run run) {
+		List<LlmMessage> prompt = buildPrompt(request, run);
+		ActivityMatcher activityMatcher = ActivityMatcher.compile(request.activities());
+		LlmCompletion response = fanOut.enabled() ? fanOut(request, run) : complete(request, prompt, activityMatcher, run);
+		return validateOrRepair(prompt, response, request, activityMatcher, run);
+	}
+
+	/**
+	 * The first response for {@code request}: its answer from a batch call when batching is enabled
+	 * and other requests arrive together with it, otherwise a call of its own. A batched answer is
+	 * not repaired, since the repair turn would not continue the conversation that produced it; a
+	 * request whose answer is missing or fails validation calls alone.
+	 */
+	private LlmCompletion complete(RecommendationRequest request, List<LlmMessage> prompt, ActivityMatcher activityMatcher,
+			RecommendationExperiments.Run run) {
+		if (batcher.enabled()) {
+			// Batches stay within a variant, so they share its prompt version and options.
+			BatchAnswer answer = batcher.submit(run.variant(), RecommendationFingerprint.of(request),
+					fingerprints -> batchCall(fingerprints, run));
+			if (answer != null) {
+				ParsedResult parsed = parseResponse(answer.text(), request, activityMatcher);
+				if (parsed.result() != null) {
+					return answer.completion();
+				}
+				llmClient.reportInvalidResponse(answer.response());
+				log.warn("Batched answer failed validation; falling back to a single call. reason={}",
+						parsed.failure().reason());
+			}
+		}
+		return callWithRetry(prompt, run.options(), this::schemaValid);
+	}
+
+	private Map<RecommendationFingerprint, BatchAnswer> batchCall(List<RecommendationFingerprint> fingerprints,
+			RecommendationExperiments.Run run) {
+		List<RecommendationRequest> requests = fingerprints.stream().map(RecommendationFingerprint::toRequest).toList();
+		Integer maxTokens = run.options().maxTokens() == null ? null : run.options().maxTokens() * requests.size();
+		LlmCompletion response = callWithRetry(promptBuilder.buildBatchMessages(requests, run.promptVersion()),
+				run.options().freeform(maxTokens));
+		Map<RecommendationFingerprint, BatchAnswer> answers = new HashMap<>();
+		try {
+			JsonNode keyed = objectMapper.readTree(jsonObject(response.content())).path("answers");
+			for (int i = 0; i < fingerprints.size(); i++) {
+				JsonNode answer = keyed.path("q" + (i + 1));
+				if (answer.isObject()) {
+					answers.put(fingerprints.get(i), new BatchAnswer(answer.toString(), response));
+				}
+			}
+		} catch (JsonProcessingException ex) {
+			log.warn("Batched response was not valid JSON. error={}", ex.getMessage());
+		}
+		if (answers.size() < fingerprints.size()) {
+			llmClient.reportInvalidResponse(response);
+			log.warn("Batched response is missing answers; they fall back to single calls. missing={}",
+					fingerprints.size() - answers.size());
+		}
+		return answers;
+	}
+
+	/**
+	 * Streams the completion and hands each destination to {@code onDestination} as soon as it
+	 * is complete and passes the per-destination rules. The returned result is validated (and
+	 * repaired if needed) exactly like {@link #generate}, so it may differ from what was streamed.
+	 */
+	public RecommendationResult generateStreaming(RecommendationRequest request, Consumer<Destination> onDestination) {
+		RecommendationExperiments.Run run = experiments.start(request);
+		return scored(run, () -> {
+			List<LlmMessage> prompt = buildPrompt(request, run);
+			ActivityMatcher activityMatcher = ActivityMatcher.compile(request.activities());
+			StreamedDestinations streamed = new StreamedDestinations(activityMatcher, onDestination);
+			StreamingDestinationParser parser = new StreamingDestinationParser(objectMapper, responseParser, streamed::accept);
+			LlmCompletion response;
+			try {
+				response = llmClient.streamCompletion(prompt, run.options(), parser::feed);
+			} catch (RestClientException ex) {
+				log.warn("LLM streaming failed; falling back to blocking call. reason=network_error");
+				response = callWithRetry(prompt, run.options(), this::schemaValid);
+			}
+			return validateOrRepair(prompt, response, request, activityMatcher, run);
+		});
+	}
 
-		ParsedResult parsed = parseResponse(response, request);
+	/**
+	 * Two-phase generation. A short call with a small token limit names the countries; the first
+	 * five that pass the country, uniqueness and region-cap rules go to {@code onShortlist} at once.
+	 * One detail call per country then runs concurrently on virtual threads, and each destination
+	 * goes to {@code onDestination} as soon as its details pass the per-destination rules.
+	 * Destinations whose details fail are replaced once from the rest of the shortlist; when five
+	 * cannot be assembled the generation falls back to {@link #generate}, whose result supersedes
+	 * what was streamed.
+	 */
+	public RecommendationResult generateTwoPhase(RecommendationRequest request, Consumer<List<Destination>> onShortlist,
+			Consumer<Destination> onDestination) {
+		RecommendationExperiments.Run run = experiments.start(request);
+		return scored(run, () -> {
+			ActivityMatcher activityMatcher = ActivityMatcher.compile(request.activities());
+			List<DestinationDto> shortlist = shortlist(request, run);
+			List<Integer> selection = DestinationSelector.select(shortlist.stream()
+					.map(entry -> new DestinationSelector.Candidate(countryKey(entry.country()),
+							regionName(entry).toLowerCase(), 0L))
+					.toList(), REQUIRED_DESTINATIONS, MAX_REGION_COUNT);
+			if (selection.size() < REQUIRED_DESTINATIONS) {
+				log.warn("Shortlist failed validation; generating in one call. candidates={}", shortlist.size());
+				return generate(request, run);
+			}
+			List<DestinationDto> selected = selection.stream().map(shortlist::get).toList();
+			onShortlist.accept(selected.stream().map(entry -> toModel(entry, List.of())).toList());
+
+			List<Detail> details = new ArrayList<>(details(request, selected, run, activityMatcher, onDestination));
+			int failed = REQUIRED_DESTINATIONS - details.size();
+			if (failed > 0) {
+				List<DestinationDto> replacements = replacements(shortlist, selection, details, failed);
+				log.warn("Destination details failed validation; replacing from the shortlist. failed={}, replacements={}",
+						failed, replacements.size());
+				details.addAll(details(request, replacements, run, activityMatcher, onDestination));
+			}
+
+			RecommendationResponseDto dto = new RecommendationResponseDto(null,
+					details.isEmpty() ? null : details.getFirst().schemaVersion(),
+					details.stream().map(Detail::destination).toList());
+			List<List<String>> relaxedConstraints = details.stream().map(Detail::relaxedConstraints).toList();
+			BusinessValidation validation = validateBusinessRules(dto, request, activityMatcher);
+			if (validation.failure() != null) {
+				log.warn("Two-phase generation failed validation; generating in one call. reason={}",
+						validation.failure().reason());
+				return generate(request, run);
+			}
+			return accepted(dto, relaxedConstraints, validation.acceptedIndices()).result();
+		});
+	}
+
+	/**
+	 * Valid, distinct countries of the shortlist response in rank order, as destinations with only
+	 * country and region set.
+	 */
+	private List<DestinationDto> shortlist(RecommendationRequest request, RecommendationExperiments.Run run) {
+		LlmCompletion response = callWithRetry(promptBuilder.buildShortlistMessages(request, twoPhase.shortlistCandidates()),
+				run.options().freeform(twoPhase.shortlistMaxTokens()));
+		List<DestinationDto> shortlist = new ArrayList<>();
+		try {
+			Set<String> countries = new HashSet<>();
+			for (JsonNode entry : objectMapper.readTree(jsonObject(response.content())).path("destinations")) {
+				String country = entry.path("country").asText("").trim();
+				if (isValidCountry(country) && countries.add(countryKey(country))) {
+					shortlist.add(new DestinationDto(country, entry.path("region").asText(null),
+							null, null, null, null, null, null, null, null, null));
+				}
+			}
+		} catch (JsonProcessingException ex) {
+			log.warn("Shortlist was not valid JSON. error={}", ex.getMessage());
+		}
+		if (shortlist.isEmpty()) {
+			llmClient.reportInvalidResponse(response);
+		}
+		return shortlist;
+	}
+
+	/**
+	 * Detail calls for {@code entries}, run concurrently; only the details that pass the
+	 * per-destination rules are returned, in the order of {@code entries}.
+	 */
+	private List<Detail> details(RecommendationRequest request, List<DestinationDto> entries,
+			RecommendationExperiments.Run run, ActivityMatcher activityMatcher, Consumer<Destination> onDestination) {
+		boolean inlineSchema = !llmClient.supportsStructuredOutput();
+		List<Callable<Detail>> calls = entries.stream()
+				.<Callable<Detail>>map(entry -> () -> {
+					Detail detail = detail(request, entry, inlineSchema, run, activityMatcher);
+					if (detail != null) {
+						onDestination.accept(toModel(detail.destination(), detail.relaxedConstraints()));
+					}
+					return detail;
+				})
+				.toList();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			return executor.invokeAll(calls).stream()
+					.filter(future -> future.state() == Future.State.SUCCESS && future.resultNow() != null)
+					.map(Future::resultNow)
+					.toList();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new LlmServiceException("network_error", "Destination details interrupted", ex);
+		}
+	}
+
+	private Detail detail(RecommendationRequest request, DestinationDto entry, boolean inlineSchema,
+			RecommendationExperiments.Run run, ActivityMatcher activityMatcher) {
+		LlmCompletion response;
+		try {
+			response = callWithRetry(promptBuilder.buildDetailMessages(request, inlineSchema, entry.country(),
+					regionName(entry)), run.options());
+		} catch (RuntimeException ex) {
+			log.warn("Destination details call failed. country={}, error={}", entry.country(), ex.getMessage());
+			return null;
+		}
+		try {
+			ParsedResponse parsed = responseParser.parse(response.content());
+			if (parsed.isValid() && !parsed.destinations().isEmpty()) {
+				DestinationDto destination = parsed.destinations().getFirst();
+				if (countryKey(destination.country()).equals(countryKey(entry.country()))
+						&& activityMatcher.coverage(destination.topActivities()) != 0
+						&& validateFields(destination, 0) == null) {
+					return new Detail(parsed.schemaVersion(), destination, parsed.relaxedConstraints().getFirst());
+				}
+			}
+		} catch (IOException ex) {
+			log.debug("Destination details were not valid JSON. country={}", entry.country());
+		}
+		llmClient.reportInvalidResponse(response);
+		log.warn("Destination details failed validation. country={}", entry.country());
+		return null;
+	}
+
+	/**
+	 * Up to {@code count} shortlisted countries outside {@code selection}, in rank order, that keep
+	 * the destinations with details within the region cap.
+	 */
+	private List<DestinationDto> replacements(List<DestinationDto> shortlist, List<Integer> selection,
+			List<Detail> details, int count) {
+		Map<String, Integer> regionCounts = new HashMap<>();
+		details.forEach(detail -> regionCounts.merge(regionName(detail.destination()), 1, Integer::sum));
+		List<DestinationDto> replacements = new ArrayList<>();
+		for (int i = 0; i < shortlist.size() && replacements.size() < count; i++) {
+			String region = regionName(shortlist.get(i));
+			if (!selection.contains(i) && regionCounts.getOrDefault(region, 0) < MAX_REGION_COUNT) {
+				regionCounts.merge(region, 1, Integer::sum);
+				replacements.add(shortlist.get(i));
+			}
+		}
+		return replacements;
+	}
+
+	private record Detail(String schemaVersion, DestinationDto destination, List<String> relaxedConstraints) {
+	}
+
+	private List<LlmMessage> buildPrompt(RecommendationRequest request, RecommendationExperiments.Run run) {
+		return promptBuilder.buildMessages(request, !llmClient.supportsStructuredOutput(), run.promptVersion());
+	}
+
+	/**
+	 * Fans the generation out over concurrent calls on virtual threads. Each call asks for a few
+	 * candidates from its own share of the travel regions, so it writes a fraction of the output and
+	 * no two calls suggest the same country. The candidates are combined in shard order into one
+	 * response, which is validated and repaired like a single completion. A failed or unparseable
+	 * shard only loses its candidates; the generation fails when every call fails.
+	 */
+	private LlmCompletion fanOut(RecommendationRequest request, RecommendationExperiments.Run run) {
+		boolean inlineSchema = !llmClient.supportsStructuredOutput();
+		List<Callable<LlmCompletion>> calls = regionShares(fanOut.shards()).stream()
+				.map(regions -> promptBuilder.buildShardMessages(request, inlineSchema, run.promptVersion(),
+						fanOut.candidatesPerShard(), regions))
+				.<Callable<LlmCompletion>>map(messages -> () -> callWithRetry(messages, run.options(), this::schemaValid))
+				.toList();
+		List<Future<LlmCompletion>> shards;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			shards = executor.invokeAll(calls);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new LlmServiceException("network_error", "Fan-out generation interrupted", ex);
+		}
+
+		ObjectNode combined = objectMapper.createObjectNode();
+		ArrayNode destinations = combined.putArray("destinations");
+		RuntimeException firstFailure = null;
+		int failedShards = 0;
+		boolean structured = true;
+		for (Future<LlmCompletion> shard : shards) {
+			if (shard.state() != Future.State.SUCCESS) {
+				RuntimeException failure = shard.exceptionNow() instanceof RuntimeException cause
+						? cause
+						: new LlmServiceException("network_error", "Fan-out call failed", shard.exceptionNow());
+				firstFailure = firstFailure == null ? failure : firstFailure;
+				failedShards++;
+				log.warn("Fan-out call failed; its candidates are skipped. error={}", failure.getMessage());
+				continue;
+			}
+			LlmCompletion response = shard.resultNow();
+			try {
+				ParsedResponse parsed = responseParser.parse(response.content());
+				if (!parsed.isValid()) {
+					throw new IOException(describe(parsed.violations()));
+				}
+				if (!combined.has("schema_version")) {
+					combined.put("schema_version", parsed.schemaVersion());
+				}
+				for (int i = 0; i < parsed.destinations().size(); i++) {
+					ObjectNode destination = objectMapper.valueToTree(parsed.destinations().get(i));
+					destination.set("relaxed_constraints", objectMapper.valueToTree(parsed.relaxedConstraints().get(i)));
+					destinations.add(destination);
+				}
+				structured &= response.structuredOutput();
+			} catch (IOException ex) {
+				failedShards++;
+				llmClient.reportInvalidResponse(response);
+				log.warn("Fan-out response unusable; its candidates are skipped. error={}", ex.getMessage());
+			}
+		}
+		meterRegistry.counter("recommendations.fan_out.failed_shards").increment(failedShards);
+		if (firstFailure != null && failedShards == shards.size()) {
+			throw firstFailure;
+		}
+		// Structured only when every shard that contributed was; the shards may come from several endpoints.
+		return new LlmCompletion(combined.toString(), structured && failedShards < shards.size(), null);
+	}
+
+	/**
+	 * The travel regions dealt round-robin into {@code shards} shares, so neighbouring regions land
+	 * in different calls.
+	 */
+	private static List<List<String>> regionShares(int shards) {
+		TravelRegion[] regions = TravelRegion.values();
+		int count = Math.clamp(shards, 1, regions.length);
+		List<List<String>> shares = new ArrayList<>();
+		for (int share = 0; share < count; share++) {
+			List<String> names = new ArrayList<>();
+			for (int i = share; i < regions.length; i += count) {
+				names.add(regions[i].displayName());
+			}
+			shares.add(names);
+		}
+		return shares;
+	}
+
+	/**
+	 * Runs a generation and records its outcome and end-to-end latency on the variant's scorecard.
+	 */
+	private RecommendationResult scored(RecommendationExperiments.Run run, Supplier<RecommendationResult> generation) {
+		try {
+			RecommendationResult result = generation.get();
+			run.succeeded();
+			return result;
+		} catch (RuntimeException ex) {
+			run.failed();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Repairs run as a follow-up turn: the original messages, the rejected answer, then a short
+	 * correction, so the provider can reuse the cached prefix and the answer is not pasted into the
+	 * prompt again. Every repair is timed as {@code llm.repair.duration} tagged with its mode and
+	 * outcome, which also gives the repair success rate. {@code llm.responses} counts first
+	 * responses by validity; both carry {@code structured_output}, whether the provider enforced the
+	 * schema on that call, so the repair rate can be compared with and without it.
+	 */
+	private RecommendationResult validateOrRepair(List<LlmMessage> prompt, LlmCompletion response,
+			RecommendationRequest request, ActivityMatcher activityMatcher, RecommendationExperiments.Run run) {
+		ParsedResult parsed = parseResponse(response.content(), request, activityMatcher);
+		meterRegistry.counter("llm.responses", "structured_output", String.valueOf(response.structuredOutput()),
+				"valid", String.valueOf(parsed.result() != null)).increment();
 		if (parsed.result() != null) {
 			return parsed.result();
 		}
 
-		log.warn("LLM validation failed; attempting repair. reason={}", parsed.failure().reason());
-		String details = buildRepairDetails(parsed.failure(), parsed.dto(), parsed.rawResponse(), request);
-		String repairPrompt = promptBuilder.buildRepairPrompt(parsed.failure().reason(), details);
-		String repaired = callWithRetry(repairPrompt, request);
-		ParsedResult repairedResult = parseResponse(repaired, request);
-		if (repairedResult.result() != null) {
-			return repairedResult.result();
+		llmClient.reportInvalidResponse(response);
+		boolean partial = parsed.dto() != null && !parsed.acceptedIndices().isEmpty();
+		String correction;
+		if (partial) {
+			// Keep the destinations that passed and ask only for the missing ones.
+			List<DestinationDto> accepted = parsed.acceptedIndices().stream().map(parsed.dto().destinations()::get).toList();
+			int missing = REQUIRED_DESTINATIONS - accepted.size();
+			log.warn("LLM validation failed; attempting partial repair. reason={}, accepted={}, missing={}",
+					parsed.failure().reason(), accepted.size(), missing);
+			String failureReason = parsed.failure().reason() + " (" + parsed.failure().details() + ")";
+			// A few spare replacements give the selector room if some of them fail too.
+			correction = promptBuilder.buildPartialRepairPrompt(missing + SPARE_REPLACEMENTS,
+					accepted.stream().map(DestinationDto::country).toList(), fullRegions(accepted), failureReason);
+		} else {
+			log.warn("LLM validation failed; attempting repair. reason={}", parsed.failure().reason());
+			String details = buildRepairDetails(parsed.failure(), parsed.dto());
+			correction = promptBuilder.buildRepairPrompt(parsed.failure().reason(), details, run.promptVersion());
+		}
+
+		List<LlmMessage> conversation = new ArrayList<>(prompt);
+		conversation.add(LlmMessage.assistant(response.content()));
+		conversation.add(LlmMessage.user(correction));
+		run.repairing();
+		Timer.Sample repairTimer = Timer.start(meterRegistry);
+		String outcome = "error";
+		String structuredOutput = "false";
+		try {
+			LlmCompletion repaired = callWithRetry(conversation, run.options(), this::schemaValid);
+			structuredOutput = String.valueOf(repaired.structuredOutput());
+			// Candidates of the first response stay in play, so both responses are salvaged together.
+			ParsedResult repairedResult = parsed.dto() != null
+					? merge(parsed, repaired.content(), request, activityMatcher)
+					: parseResponse(repaired.content(), request, activityMatcher);
+			if (repairedResult.result() != null) {
+				outcome = "success";
+				return repairedResult.result();
+			}
+			outcome = "invalid";
+			llmClient.reportInvalidResponse(repaired);
+			log.warn("LLM repair failed. reason={}", repairedResult.failure().reason());
+			throw new LlmValidationException(repairedResult.failure().reason(),
+					"LLM response invalid after repair: " + repairedResult.failure().details());
+		} finally {
+			repairTimer.stop(meterRegistry.timer("llm.repair.duration",
+					"mode", partial ? "partial" : "full", "outcome", outcome, "structured_output", structuredOutput));
 		}
+	}
 
-		log.warn("LLM repair failed. reason={}", repairedResult.failure().reason());
-		throw new LlmValidationException(repairedResult.failure().reason(),
-				"LLM response invalid after repair: " + repairedResult.failure().details());
+	private LlmCompletion callWithRetry(List<LlmMessage> messages, LlmOptions options) {
+		return callWithRetry(messages, options, response -> true);
 	}
 
-	private String callWithRetry(String prompt, RecommendationRequest request) {
+	/**
+	 * {@code usable} decides which of two hedged responses wins; see {@link LlmHedger}.
+	 */
+	private LlmCompletion callWithRetry(List<LlmMessage> messages, LlmOptions options, Predicate<String> usable) {
 		try {
-			return llmClient.complete(prompt);
+			return retryPolicy.execute(() -> complete(messages, options, usable));
 		} catch (ResourceAccessException ex) {
 			// Timeout or connection issues
-			log.warn("LLM call failed (timeout/connection), retrying once. reason=network_error");
-			try {
-				Thread.sleep(QUICK_RETRY_DELAY.toMillis());
-			} catch (InterruptedException interruptedException) {
-				Thread.currentThread().interrupt();
-				throw new LlmTimeoutException("LLM request interrupted", interruptedException);
-			}
-			try {
-				return llmClient.complete(prompt);
-			} catch (ResourceAccessException retryEx) {
-				log.error("LLM retry failed. reason=timeout");
-				throw new LlmTimeoutException("LLM request timed out after retry", retryEx);
-			} catch (RestClientResponseException retryEx) {
-				log.error("LLM retry failed with HTTP error. status={}, reason=provider_error", retryEx.getStatusCode());
-				throw new LlmServiceException("provider_error", "LLM provider returned error: " + retryEx.getStatusCode(), retryEx);
-			} catch (RestClientException retryEx) {
-				log.error("LLM retry failed. reason=network_error");
-				throw new LlmServiceException("network_error", "LLM service unavailable", retryEx);
-			}
+			log.error("LLM call failed after retries. reason=timeout");
+			throw new LlmTimeoutException("LLM request timed out after retry", ex);
 		} catch (RestClientResponseException ex) {
 			// HTTP error from provider
 			log.error("LLM provider error. status={}, reason=provider_error", ex.getStatusCode());
 			throw new LlmServiceException("provider_error", "LLM provider returned error: " + ex.getStatusCode(), ex);
 		} catch (RestClientException ex) {
 			// Other network errors
-			log.warn("LLM call failed, retrying once. reason=network_error");
-			try {
-				Thread.sleep(QUICK_RETRY_DELAY.toMillis());
-			} catch (InterruptedException interruptedException) {
-				Thread.currentThread().interrupt();
-				throw new LlmServiceException("network_error", "LLM request interrupted", interruptedException);
-			}
-			try {
-				return llmClient.complete(prompt);
-			} catch (RestClientException retryEx) {
-				log.error("LLM retry failed. reason=network_error");
-				throw new LlmServiceException("network_error", "LLM service unavailable after retry", retryEx);
-			}
+			log.error("LLM call failed after retries. reason=network_error");
+			throw new LlmServiceException("network_error", "LLM service unavailable after retry", ex);
 		}
 	}
 
-	private ParsedResult parseResponse(String response, RecommendationRequest request) {
+	private LlmCompletion complete(List<LlmMessage> messages, LlmOptions options, Predicate<String> usable) {
+		return hedger.complete(() -> llmClient.completion(messages, options), completion -> usable.test(completion.content()));
+	}
+
+	/**
+	 * {@code response} from its first brace, the JSON object a freeform answer should contain.
+	 */
+	private static String jsonObject(String response) {
+		return response == null ? "{}" : response.substring(Math.max(response.indexOf('{'), 0));
+	}
+
+	/**
+	 * Whether {@code response} is a schema-valid recommendation response; business rules are not
+	 * checked.
+	 */
+	private boolean schemaValid(String response) {
 		try {
-			// Clean response: remove markdown code block markers if present
-			String cleanedResponse = cleanJsonResponse(response);
-			JsonNode payload = objectMapper.readTree(cleanedResponse);
-			ValidationFailure schemaFailure = validateSchema(payload);
-			if (schemaFailure != null) {
+			return responseParser.parse(response).isValid();
+		} catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private ParsedResult parseResponse(String response, RecommendationRequest request, ActivityMatcher activityMatcher) {
+		try {
+			ParsedResponse parsed = responseParser.parse(response);
+			if (!parsed.isValid()) {
+				ValidationFailure schemaFailure = new ValidationFailure("schema_invalid", describe(parsed.violations()));
 				log.warn("Schema validation failed. reason={}, details={}", schemaFailure.reason(), schemaFailure.details());
-				return new ParsedResult(null, schemaFailure, null, response);
+				return ParsedResult.failed(schemaFailure);
 			}
-			// Normalize string fields to arrays before converting to DTO
-			normalizeArrayFields(payload);
-			// Truncate text fields that exceed length limits instead of failing validation
-			truncateTextFields(payload);
-			// Fill empty arrays with default values instead of rejecting them
-			fillEmptyArrays(payload);
-			// Parse to DTO after normalization, truncation, and filling
-			RecommendationResponseDto dto = objectMapper.treeToValue(payload, RecommendationResponseDto.class);
-			ValidationFailure failure = validateBusinessRules(dto, request);
-			if (failure != null) {
+			RecommendationResponseDto dto = new RecommendationResponseDto(null, parsed.schemaVersion(), parsed.destinations());
+			BusinessValidation validation = validateBusinessRules(dto, request, activityMatcher);
+			if (validation.failure() != null) {
+				ValidationFailure failure = validation.failure();
 				log.warn("Business rules validation failed. reason={}, details={}", failure.reason(), failure.details());
-				return new ParsedResult(null, failure, dto, response);
+				return new ParsedResult(null, failure, dto, parsed.relaxedConstraints(), validation.acceptedIndices());
 			}
-			List<List<String>> relaxations = extractRelaxedConstraints(payload);
-			List<Destination> destinations = IntStream.range(0, dto.destinations().size())
-					.mapToObj(index -> toModel(dto.destinations().get(index), relaxations.get(index)))
-					.toList();
-			return new ParsedResult(new RecommendationResult(dto.schemaVersion(), destinations), null, dto, response);
-		} catch (JsonProcessingException ex) {
+			return accepted(dto, parsed.relaxedConstraints(), validation.acceptedIndices());
+		} catch (IOException ex) {
 			log.warn("JSON parsing failed. error={}, response_preview={}", ex.getMessage(), 
 					response != null && response.length() > 200 ? response.substring(0, 200) + "..." : response);
-			return new ParsedResult(null, new ValidationFailure("invalid_json", "Response was not valid JSON: " + ex.getMessage()),
-					null, response);
+			return ParsedResult.failed(new ValidationFailure("invalid_json", "Response was not valid JSON: " + ex.getMessage()));
 		}
 	}
 
-	private ValidationFailure validateSchema(JsonNode payload) {
-		if (payload == null || !payload.isObject()) {
-			log.debug("Schema validation failed: payload is null or not an object");
-			return new ValidationFailure("schema_invalid", "Payload must be a JSON object.");
-		}
-		if (!payload.hasNonNull("schema_version") || !payload.get("schema_version").isTextual()) {
-			log.debug("Schema validation failed: schema_version is missing or not a string");
-			return new ValidationFailure("schema_invalid", "schema_version must be a string.");
-		}
-		JsonNode destinations = payload.get("destinations");
-		if (destinations == null || !destinations.isArray()) {
-			log.debug("Schema validation failed: destinations is missing or not an array");
-			return new ValidationFailure("schema_invalid", "destinations must be an array.");
+	/**
+	 * Appends the destinations of a repair response to all candidates of {@code original} and selects
+	 * again from the combined list, so valid destinations of both responses can be used. Original
+	 * candidates come first and keep their rank; a valid repair entry replaces an invalid original
+	 * of the same country.
+	 */
+	private ParsedResult merge(ParsedResult original, String replacements, RecommendationRequest request,
+			ActivityMatcher activityMatcher) {
+		ParsedResult parsedReplacements = parseReplacements(replacements);
+		if (parsedReplacements.failure() != null) {
+			return parsedReplacements;
 		}
-		int destinationIndex = 0;
-		for (JsonNode destination : destinations) {
-			if (destination == null || !destination.isObject()) {
-				log.debug("Schema validation failed: destination at index {} is null or not an object", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Each destination must be an object.");
-			}
-			if (!isTextNode(destination, "country")) {
-				log.debug("Schema validation failed: destination[{}].country is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "region")) {
-				log.debug("Schema validation failed: destination[{}].region is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "estimated_daily_budget_eur_range")) {
-				log.debug("Schema validation failed: destination[{}].estimated_daily_budget_eur_range is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "weather_summary")) {
-				log.debug("Schema validation failed: destination[{}].weather_summary is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "accommodation_fit")) {
-				log.debug("Schema validation failed: destination[{}].accommodation_fit is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "travel_style_fit")) {
-				log.debug("Schema validation failed: destination[{}].travel_style_fit is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isTextNode(destination, "why_match")) {
-				log.debug("Schema validation failed: destination[{}].why_match is missing or not a string", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination text fields must be strings.");
-			}
-			if (!isArrayOfText(destination, "best_months")) {
-				log.debug("Schema validation failed: destination[{}].best_months is missing or not an array of strings", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination list fields must be arrays of strings.");
-			}
-			if (!isArrayOfText(destination, "top_activities")) {
-				log.debug("Schema validation failed: destination[{}].top_activities is missing or not an array of strings", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination list fields must be arrays of strings.");
-			}
-			if (!isArrayOfText(destination, "pros")) {
-				log.debug("Schema validation failed: destination[{}].pros is missing or not an array of strings", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination list fields must be arrays of strings.");
-			}
-			if (!isArrayOfText(destination, "cons")) {
-				log.debug("Schema validation failed: destination[{}].cons is missing or not an array of strings", destinationIndex);
-				return new ValidationFailure("schema_invalid", "Destination list fields must be arrays of strings.");
-			}
-			if (destination.has("relaxed_constraints")
-					&& !isArrayOfText(destination, "relaxed_constraints")) {
-				log.debug("Schema validation failed: destination[{}].relaxed_constraints is not an array of strings", destinationIndex);
-				return new ValidationFailure("schema_invalid", "relaxed_constraints must be an array of strings.");
-			}
-			destinationIndex++;
+		List<DestinationDto> destinations = new ArrayList<>(original.dto().destinations());
+		destinations.addAll(parsedReplacements.dto().destinations());
+		List<List<String>> relaxedConstraints = new ArrayList<>(original.relaxedConstraints());
+		relaxedConstraints.addAll(parsedReplacements.relaxedConstraints());
+		RecommendationResponseDto merged = new RecommendationResponseDto(null, original.dto().schemaVersion(), destinations);
+		BusinessValidation validation = validateBusinessRules(merged, request, activityMatcher);
+		if (validation.acceptedIndices().size() < REQUIRED_DESTINATIONS) {
+			ValidationFailure failure = validation.failure();
+			log.warn("Merged repair validation failed. reason={}, details={}", failure.reason(), failure.details());
+			return new ParsedResult(null, failure, merged, relaxedConstraints, validation.acceptedIndices());
 		}
-		return null;
+		return accepted(merged, relaxedConstraints, validation.acceptedIndices());
 	}
 
-	private ValidationFailure validateBusinessRules(RecommendationResponseDto dto, RecommendationRequest request) {
-		if (dto.destinations().size() != REQUIRED_DESTINATIONS) {
-			log.debug("Business rules validation failed: Expected {} destinations, got {}", REQUIRED_DESTINATIONS, dto.destinations().size());
-			return new ValidationFailure("destinations_count", "Expected 5 destinations, got " + dto.destinations().size());
+	private ParsedResult parseReplacements(String response) {
+		try {
+			ParsedResponse parsed = responseParser.parse(response);
+			if (!parsed.isValid()) {
+				return ParsedResult.failed(new ValidationFailure("schema_invalid", describe(parsed.violations())));
+			}
+			RecommendationResponseDto dto = new RecommendationResponseDto(null, parsed.schemaVersion(), parsed.destinations());
+			return new ParsedResult(null, null, dto, parsed.relaxedConstraints(), List.of());
+		} catch (IOException ex) {
+			return ParsedResult.failed(new ValidationFailure("invalid_json", "Response was not valid JSON: " + ex.getMessage()));
 		}
-		Map<String, Integer> regionCounts = new HashMap<>();
-		Set<String> duplicateCountries = new HashSet<>();
+	}
+
+	private ParsedResult accepted(RecommendationResponseDto dto, List<List<String>> relaxedConstraints,
+			List<Integer> acceptedIndices) {
+		List<Destination> destinations = acceptedIndices.stream()
+				.limit(REQUIRED_DESTINATIONS)
+				.map(index -> toModel(dto.destinations().get(index), relaxedConstraints.get(index)))
+				.toList();
+		return new ParsedResult(new RecommendationResult(dto.schemaVersion(), destinations), null, dto,
+				relaxedConstraints, acceptedIndices);
+	}
+
+	private List<String> fullRegions(List<DestinationDto> destinations) {
+		Map<String, Integer> regionCounts = new LinkedHashMap<>();
+		destinations.forEach(destination -> regionCounts.merge(regionName(destination), 1, Integer::sum));
+		return regionCounts.entrySet().stream()
+				.filter(entry -> entry.getValue() >= MAX_REGION_COUNT)
+				.map(Map.Entry::getKey)
+				.toList();
+	}
+
+	private static String describe(List<SchemaViolation> violations) {
+		String details = violations.stream()
+				.limit(MAX_REPORTED_VIOLATIONS)
+				.map(SchemaViolation::toString)
+				.collect(Collectors.joining("; "));
+		int omitted = violations.size() - MAX_REPORTED_VIOLATIONS;
+		return omitted > 0 ? details + "; (" + omitted + " more)" : details;
+	}
+
+	/**
+	 * Checks every candidate destination, then lets {@link DestinationSelector} pick five from the
+	 * ones that passed the per-destination rules: distinct countries, the region cap, and the
+	 * widest coverage of the requested activities. The accepted indices are the selection (fewer
+	 * than five when none exists); the failure is only set then, and is the highest-priority reason.
+	 */
+	private BusinessValidation validateBusinessRules(RecommendationResponseDto dto, RecommendationRequest request,
+			ActivityMatcher activityMatcher) {
+		Set<String> duplicateCountries = new LinkedHashSet<>();
 		Set<String> countries = new HashSet<>();
-		Set<String> nonCountryDestinations = new HashSet<>();
-		Set<String> activityMismatchDestinations = new HashSet<>();
-		
-		int destinationIndex = 0;
-		for (DestinationDto destination : dto.destinations()) {
-			String normalized = destination.country().trim().toLowerCase();
-			if (!countries.add(normalized)) {
-				log.debug("Business rules validation failed: Duplicate country '{}' at destination index {}", destination.country(), destinationIndex);
-				duplicateCountries.add(destination.country());
-				continue;
-			}
-			
+		Set<String> nonCountryDestinations = new LinkedHashSet<>();
+		Set<String> activityMismatchDestinations = new LinkedHashSet<>();
+		ValidationFailure firstFieldFailure = null;
+		List<Integer> eligibleIndices = new ArrayList<>();
+		List<DestinationSelector.Candidate> candidates = new ArrayList<>();
+
+		for (int destinationIndex = 0; destinationIndex < dto.destinations().size(); destinationIndex++) {
+			DestinationDto destination = dto.destinations().get(destinationIndex);
+			String country = countryKey(destination.country());
+			boolean valid = true;
+
 			// FR-007: Country-level granularity enforcement
 			if (!isValidCountry(destination.country())) {
 				log.debug("Business rules validation failed: Non-country destination '{}' at index {}", destination.country(), destinationIndex);
 				nonCountryDestinations.add(destination.country());
+				valid = false;
 			}
-			
+
 			// FR-014: Activity matching rule - each destination must cover at least 1 selected activity
-			// Use flexible matching: check if activity contains the requested activity (case-insensitive)
-			int requiredActivityMatches = 1;
-			if (destination.topActivities() != null && !destination.topActivities().isEmpty()) {
-				long matchingActivities = destination.topActivities().stream()
-						.map(String::toLowerCase)
-						.filter(activity -> request.activities().stream()
-								.map(String::toLowerCase)
-								.anyMatch(reqActivity -> activity.contains(reqActivity) || reqActivity.contains(activity)))
-						.count();
-				if (matchingActivities < requiredActivityMatches) {
-					log.debug("Business rules validation failed: Destination '{}' at index {} only covers {} of {} required activities (user selected {}). Activities: {}, Requested: {}", 
-							destination.country(), destinationIndex, matchingActivities, requiredActivityMatches, request.activities().size(),
-							destination.topActivities(), request.activities());
-					activityMismatchDestinations.add(destination.country());
-				}
-			} else {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has no top_activities", destination.country(), destinationIndex);
+			// Word-start matching of requested activities and their synonyms (see ActivityMatcher)
+			long coveredActivities = activityMatcher.coverage(destination.topActivities());
+			if (coveredActivities == 0) {
+				log.debug("Business rules validation failed: Destination '{}' at index {} covers none of the selected activities. Activities: {}, Requested: {}",
+						destination.country(), destinationIndex, destination.topActivities(), request.activities());
 				activityMismatchDestinations.add(destination.country());
+				valid = false;
 			}
-			
-			// Normalize region to lowercase for comparison (accept any region name)
-			String normalizedRegion = destination.region() == null ? null : destination.region().trim().toLowerCase();
-			if (normalizedRegion == null || normalizedRegion.isBlank()) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has empty region", destination.country(), destinationIndex);
-				return new ValidationFailure("region_invalid", "Region cannot be empty.");
-			}
-			int count = regionCounts.getOrDefault(normalizedRegion, 0) + 1;
-			if (count > MAX_REGION_COUNT) {
-				log.debug("Business rules validation failed: Region '{}' appears {} times (max allowed: {})", destination.region(), count, MAX_REGION_COUNT);
-				return new ValidationFailure("region_cap", "Region over cap: " + destination.region());
-			}
-			regionCounts.put(normalizedRegion, count);
 
-			if (isInvalidText(destination.estimatedDailyBudgetEurRange())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid estimated_daily_budget_eur_range (length: {})", 
-						destination.country(), destinationIndex, 
-						destination.estimatedDailyBudgetEurRange() != null ? destination.estimatedDailyBudgetEurRange().length() : 0);
-				return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
-			}
-			if (isInvalidText(destination.weatherSummary())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid weather_summary (length: {})", 
-						destination.country(), destinationIndex,
-						destination.weatherSummary() != null ? destination.weatherSummary().length() : 0);
-				return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
-			}
-			if (isInvalidText(destination.accommodationFit())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid accommodation_fit (length: {})", 
-						destination.country(), destinationIndex,
-						destination.accommodationFit() != null ? destination.accommodationFit().length() : 0);
-				return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+			ValidationFailure fieldFailure = validateFields(destination, destinationIndex);
+			if (fieldFailure != null) {
+				firstFieldFailure = firstFieldFailure == null ? fieldFailure : firstFieldFailure;
+				valid = false;
 			}
-			if (isInvalidText(destination.travelStyleFit())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid travel_style_fit (length: {})", 
-						destination.country(), destinationIndex,
-						destination.travelStyleFit() != null ? destination.travelStyleFit().length() : 0);
-				return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+			// Countries are de-duplicated among valid candidates only, so a valid entry (e.g. from a
+			// repair) can stand in for an invalid one of the same country.
+			if (valid && !countries.add(country)) {
+				log.debug("Business rules validation failed: Duplicate country '{}' at destination index {}", destination.country(), destinationIndex);
+				duplicateCountries.add(destination.country());
+				valid = false;
 			}
-			if (isInvalidText(destination.whyMatch())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid why_match (length: {})", 
-						destination.country(), destinationIndex,
-						destination.whyMatch() != null ? destination.whyMatch().length() : 0);
-				return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+			if (valid) {
+				// Regions by the gazetteer's canonical name, so region labels cannot dodge the cap
+				eligibleIndices.add(destinationIndex);
+				candidates.add(new DestinationSelector.Candidate(country, regionName(destination).toLowerCase(),
+						coveredActivities));
 			}
+		}
 
-			if (destination.bestMonths() == null || destination.bestMonths().isEmpty()) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has empty best_months", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "best_months is empty.");
-			}
-			if (destination.topActivities() == null || destination.topActivities().isEmpty()) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has empty top_activities", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
-			}
-			if (destination.pros() == null || destination.pros().isEmpty()) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has empty pros", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
-			}
-			if (destination.cons() == null || destination.cons().isEmpty()) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has empty cons", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
-			}
-			if (containsInvalidListItem(destination.bestMonths())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in best_months", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List items exceed length limits.");
-			}
-			if (containsInvalidListItem(destination.topActivities())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in top_activities", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List items exceed length limits.");
-			}
-			if (containsInvalidListItem(destination.pros())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in pros", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List items exceed length limits.");
-			}
-			if (containsInvalidListItem(destination.cons())) {
-				log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in cons", destination.country(), destinationIndex);
-				return new ValidationFailure("schema_invalid", "List items exceed length limits.");
-			}
-			destinationIndex++;
+		List<Integer> acceptedIndices = DestinationSelector.select(candidates, REQUIRED_DESTINATIONS, MAX_REGION_COUNT)
+				.stream()
+				.map(eligibleIndices::get)
+				.toList();
+		if (acceptedIndices.size() == REQUIRED_DESTINATIONS) {
+			return new BusinessValidation(null, acceptedIndices);
 		}
-		if (!duplicateCountries.isEmpty()) {
+
+		ValidationFailure failure = null;
+		if (dto.destinations().size() < REQUIRED_DESTINATIONS) {
+			log.debug("Business rules validation failed: Expected {} destinations, got {}", REQUIRED_DESTINATIONS, dto.destinations().size());
+			failure = new ValidationFailure("destinations_count", "Expected 5 destinations, got " + dto.destinations().size());
+		} else if (firstFieldFailure != null) {
+			failure = firstFieldFailure;
+		} else if (candidates.size() >= REQUIRED_DESTINATIONS) {
+			// Enough valid countries, but not enough regions to spread them over.
+			List<DestinationDto> eligible = eligibleIndices.stream().map(dto.destinations()::get).toList();
+			log.debug("Business rules validation failed: Regions over cap: {}", fullRegions(eligible));
+			failure = new ValidationFailure("region_cap", "Region over cap: " + String.join(", ", fullRegions(eligible)));
+		} else if (!duplicateCountries.isEmpty()) {
 			log.debug("Business rules validation failed: Duplicate countries found: {}", duplicateCountries);
-			return new ValidationFailure("duplicate_countries", "Duplicates: " + String.join(", ", duplicateCountries));
-		}
-		if (!nonCountryDestinations.isEmpty()) {
+			failure = new ValidationFailure("duplicate_countries", "Duplicates: " + String.join(", ", duplicateCountries));
+		} else if (!nonCountryDestinations.isEmpty()) {
 			log.debug("Business rules validation failed: Non-country destinations found: {}", nonCountryDestinations);
-			return new ValidationFailure("non_country", "Non-country destinations detected: " + String.join(", ", nonCountryDestinations));
-		}
-		if (!activityMismatchDestinations.isEmpty()) {
+			failure = new ValidationFailure("non_country", "Non-country destinations detected: " + String.join(", ", nonCountryDestinations));
+		} else if (!activityMismatchDestinations.isEmpty()) {
 			log.debug("Business rules validation failed: Activity coverage issue. Destinations: {}, Requested activities: {}", 
 					activityMismatchDestinations, request.activities());
-			return new ValidationFailure("activity_coverage", 
+			failure = new ValidationFailure("activity_coverage", 
 					String.format("Destinations must cover at least 1 selected activity: %s", 
 							String.join(", ", activityMismatchDestinations)));
 		}
-		return null;
+		return new BusinessValidation(failure, acceptedIndices);
 	}
 
 	/**
-	 * FR-007: Validates that the destination is a country, not a city/region.
-	 * Uses heuristic: checks if name contains common non-country indicators.
+	 * Region, text-length and list rules of a single destination.
 	 */
-	private boolean isValidCountry(String countryName) {
-		if (countryName == null || countryName.isBlank()) {
-			return false;
+	private ValidationFailure validateFields(DestinationDto destination, int destinationIndex) {
+		if (destination.region() == null || destination.region().isBlank()) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has empty region", destination.country(), destinationIndex);
+			return new ValidationFailure("region_invalid", "Region cannot be empty.");
 		}
-		String normalized = countryName.trim().toLowerCase();
-		// Check if it contains common city/region indicators
-		for (String indicator : NON_COUNTRY_INDICATORS) {
-			if (normalized.contains(indicator)) {
-				return false;
-			}
+		if (isInvalidText(destination.estimatedDailyBudgetEurRange())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid estimated_daily_budget_eur_range (length: {})", 
+					destination.country(), destinationIndex, 
+					destination.estimatedDailyBudgetEurRange() != null ? destination.estimatedDailyBudgetEurRange().length() : 0);
+			return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
 		}
-		// Additional heuristic: very short names (< 2 chars) are likely cities
-		if (normalized.length() < 2) {
-			return false;
+		if (isInvalidText(destination.weatherSummary())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid weather_summary (length: {})", 
+					destination.country(), destinationIndex,
+					destination.weatherSummary() != null ? destination.weatherSummary().length() : 0);
+			return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+		}
+		if (isInvalidText(destination.accommodationFit())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid accommodation_fit (length: {})", 
+					destination.country(), destinationIndex,
+					destination.accommodationFit() != null ? destination.accommodationFit().length() : 0);
+			return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+		}
+		if (isInvalidText(destination.travelStyleFit())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid travel_style_fit (length: {})", 
+					destination.country(), destinationIndex,
+					destination.travelStyleFit() != null ? destination.travelStyleFit().length() : 0);
+			return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+		}
+		if (isInvalidText(destination.whyMatch())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid why_match (length: {})", 
+					destination.country(), destinationIndex,
+					destination.whyMatch() != null ? destination.whyMatch().length() : 0);
+			return new ValidationFailure("schema_invalid", "Text fields exceed length limits.");
+		}
+
+		if (destination.bestMonths() == null || destination.bestMonths().isEmpty()) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has empty best_months", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "best_months is empty.");
+		}
+		if (destination.topActivities() == null || destination.topActivities().isEmpty()) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has empty top_activities", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
+		}
+		if (destination.pros() == null || destination.pros().isEmpty()) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has empty pros", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
+		}
+		if (destination.cons() == null || destination.cons().isEmpty()) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has empty cons", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List fields must be non-empty.");
+		}
+		if (containsInvalidListItem(destination.bestMonths())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in best_months", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List items exceed length limits.");
+		}
+		if (containsInvalidListItem(destination.topActivities())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in top_activities", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List items exceed length limits.");
+		}
+		if (containsInvalidListItem(destination.pros())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in pros", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List items exceed length limits.");
 		}
-		// Common country names are typically 4+ characters (with exceptions)
-		// This is a simple heuristic - in production, use a comprehensive country list
-		return true;
+		if (containsInvalidListItem(destination.cons())) {
+			log.debug("Business rules validation failed: Destination '{}' at index {} has invalid item in cons", destination.country(), destinationIndex);
+			return new ValidationFailure("schema_invalid", "List items exceed length limits.");
+		}
+		return null;
+	}
+
+	/**
+	 * FR-007: Validates that the destination is a country, not a city/region, against the ISO 3166
+	 * gazetteer (names and common aliases).
+	 */
+	private boolean isValidCountry(String countryName) {
+		return gazetteer.find(countryName).isPresent();
+	}
+
+	/**
+	 * Uniqueness key: the ISO code for known countries, so aliases such as "UK" and "United Kingdom"
+	 * count as duplicates.
+	 */
+	private String countryKey(String countryName) {
+		return gazetteer.find(countryName)
+				.map(CountryGazetteer.Country::isoCode)
+				.orElseGet(() -> countryName == null ? "" : countryName.trim().toLowerCase());
+	}
+
+	/**
+	 * The canonical travel region of the destination's country, or the LLM's region text when the
+	 * country is unknown.
+	 */
+	private String regionName(DestinationDto destination) {
+		return gazetteer.find(destination.country())
+				.map(country -> country.region().displayName())
+				.orElseGet(() -> destination.region() == null ? null : destination.region().trim());
 	}
 
 	private boolean isInvalidText(String value) {
@@ -409,7 +834,7 @@ public class RecommendationService {
 	private Destination toModel(DestinationDto destination, List<String> relaxedConstraints) {
 		return new Destination(
 				destination.country(),
-				destination.region(),
+				regionName(destination),
 				destination.estimatedDailyBudgetEurRange(),
 				destination.bestMonths(),
 				destination.weatherSummary(),
@@ -426,213 +851,64 @@ public class RecommendationService {
 	private record ValidationFailure(String reason, String details) {
 	}
 
-	private record ParsedResult(RecommendationResult result, ValidationFailure failure,
-								RecommendationResponseDto dto, String rawResponse) {
-	}
-
-	/**
-	 * Cleans the LLM response by extracting JSON from markdown code blocks or text.
-	 * Handles cases where the LLM wraps JSON in ```json ... ``` blocks or includes explanatory text.
-	 */
-	private String cleanJsonResponse(String response) {
-		if (response == null) {
-			return null;
-		}
-		String cleaned = response.trim();
-		
-		// Try to find JSON code block (```json ... ``` or ``` ... ```)
-		int codeBlockStart = cleaned.indexOf("```");
-		if (codeBlockStart >= 0) {
-			// Found a code block, extract content between markers
-			int afterStartMarker = cleaned.indexOf('\n', codeBlockStart);
-			if (afterStartMarker < 0) {
-				afterStartMarker = codeBlockStart + 3; // No newline, skip the ``` itself
-			} else {
-				afterStartMarker++; // Skip the newline
-			}
-			int codeBlockEnd = cleaned.lastIndexOf("```");
-			if (codeBlockEnd > codeBlockStart) {
-				// Extract content between the code block markers
-				cleaned = cleaned.substring(afterStartMarker, codeBlockEnd).trim();
-			} else {
-				// Only opening marker found, extract everything after it
-				cleaned = cleaned.substring(afterStartMarker).trim();
-			}
-		} else {
-			// No code block markers, try to find JSON object start
-			int jsonStart = cleaned.indexOf('{');
-			if (jsonStart > 0) {
-				// Found JSON after some text, extract from the opening brace
-				cleaned = cleaned.substring(jsonStart);
-			}
-		}
-		
-		return cleaned.trim();
-	}
-
-	private boolean isTextNode(JsonNode node, String field) {
-		return node.hasNonNull(field) && node.get(field).isTextual();
-	}
-
-	private boolean isArrayOfText(JsonNode node, String field) {
-		if (!node.hasNonNull(field)) {
-			return false;
-		}
-		JsonNode fieldNode = node.get(field);
-		// Accept arrays of strings
-		if (fieldNode.isArray()) {
-			for (JsonNode item : fieldNode) {
-				if (item == null || !item.isTextual()) {
-					return false;
-				}
-			}
-			return true;
-		}
-		// Also accept single strings (treat as single-element array)
-		if (fieldNode.isTextual()) {
-			return true;
-		}
-		return false;
+	private record BusinessValidation(ValidationFailure failure, List<Integer> acceptedIndices) {
 	}
 
 	/**
-	 * Truncates text fields that exceed MAX_TEXT_LENGTH to prevent validation failures.
-	 * This makes the validation more forgiving by automatically fixing length issues.
+	 * Per-destination checks for streamed output: each destination is judged on its own fields plus
+	 * the uniqueness and region-cap state of the destinations already emitted.
 	 */
-	private void truncateTextFields(JsonNode payload) {
-		JsonNode destinations = payload.get("destinations");
-		if (destinations == null || !destinations.isArray()) {
-			return;
-		}
-		for (JsonNode destination : destinations) {
-			if (destination == null || !destination.isObject()) {
-				continue;
-			}
-			// Text fields that have length limits
-			String[] textFields = {
-					"estimated_daily_budget_eur_range",
-					"weather_summary",
-					"accommodation_fit",
-					"travel_style_fit",
-					"why_match"
-			};
-			for (String field : textFields) {
-				if (destination.has(field) && destination.get(field).isTextual()) {
-					String value = destination.get(field).asText();
-					if (value != null && value.length() > MAX_TEXT_LENGTH) {
-						String truncated = value.substring(0, MAX_TEXT_LENGTH);
-						((ObjectNode) destination).put(field, truncated);
-						log.debug("Truncated field '{}' from {} to {} characters", field, value.length(), MAX_TEXT_LENGTH);
-					}
-				}
-			}
-			// Also truncate items in array fields
-			String[] arrayFields = {"best_months", "top_activities", "pros", "cons", "relaxed_constraints"};
-			for (String field : arrayFields) {
-				if (destination.has(field) && destination.get(field).isArray()) {
-					JsonNode arrayNode = destination.get(field);
-					for (int i = 0; i < arrayNode.size(); i++) {
-						JsonNode item = arrayNode.get(i);
-						if (item != null && item.isTextual()) {
-							String value = item.asText();
-							if (value != null && value.length() > MAX_TEXT_LENGTH) {
-								String truncated = value.substring(0, MAX_TEXT_LENGTH);
-								((ArrayNode) arrayNode).set(i, truncated);
-								log.debug("Truncated item in array '{}' from {} to {} characters", field, value.length(), MAX_TEXT_LENGTH);
-							}
-						}
-					}
-				}
-			}
+	private final class StreamedDestinations {
+		private final ActivityMatcher activityMatcher;
+		private final Consumer<Destination> onDestination;
+		private final Set<String> countries = new HashSet<>();
+		private final Map<String, Integer> regionCounts = new HashMap<>();
+		private int received;
+
+		private StreamedDestinations(ActivityMatcher activityMatcher, Consumer<Destination> onDestination) {
+			this.activityMatcher = activityMatcher;
+			this.onDestination = onDestination;
 		}
-	}
 
-	/**
-	 * Fills empty arrays with default placeholder values instead of rejecting them.
-	 * This makes validation more forgiving by ensuring arrays always have at least one item.
-	 */
-	private void fillEmptyArrays(JsonNode payload) {
-		JsonNode destinations = payload.get("destinations");
-		if (destinations == null || !destinations.isArray()) {
-			return;
-		}
-		for (JsonNode destination : destinations) {
-			if (destination == null || !destination.isObject()) {
-				continue;
-			}
-			// Fields that must have at least one item
-			Map<String, String> requiredArrayFields = Map.of(
-					"best_months", "Year-round",
-					"top_activities", "General exploration",
-					"pros", "Good destination",
-					"cons", "Consider your preferences"
-			);
-			for (Map.Entry<String, String> entry : requiredArrayFields.entrySet()) {
-				String field = entry.getKey();
-				String defaultValue = entry.getValue();
-				if (destination.has(field)) {
-					JsonNode fieldNode = destination.get(field);
-					if (fieldNode.isArray() && fieldNode.size() == 0) {
-						// Fill empty array with default value
-						ArrayNode arrayNode = objectMapper.createArrayNode().add(defaultValue);
-						((ObjectNode) destination).set(field, arrayNode);
-						log.debug("Filled empty array '{}' with default value: {}", field, defaultValue);
-					}
-				}
-			}
+		private void accept(ParsedDestination parsed) {
+			int index = received++;
+			if (countries.size() >= REQUIRED_DESTINATIONS || !parsed.isValid()) {
+				return;
+			}
+			DestinationDto dto = parsed.destination();
+			String country = countryKey(dto.country());
+			String region = regionName(dto).toLowerCase();
+			if (countries.contains(country) || !isValidCountry(dto.country()) || region.isBlank()
+					|| regionCounts.getOrDefault(region, 0) >= MAX_REGION_COUNT
+					|| activityMatcher.coverage(dto.topActivities()) == 0
+					|| isInvalidText(dto.estimatedDailyBudgetEurRange()) || isInvalidText(dto.weatherSummary())
+					|| isInvalidText(dto.accommodationFit()) || isInvalidText(dto.travelStyleFit())
+					|| isInvalidText(dto.whyMatch())
+					|| containsInvalidListItem(dto.bestMonths()) || containsInvalidListItem(dto.topActivities())
+					|| containsInvalidListItem(dto.pros()) || containsInvalidListItem(dto.cons())) {
+				log.debug("Streamed destination {} held back; it will be checked with the full response", index);
+				return;
+			}
+			countries.add(country);
+			regionCounts.merge(region, 1, Integer::sum);
+			onDestination.accept(toModel(dto, parsed.relaxedConstraints()));
 		}
 	}
 
 	/**
-	 * Normalizes string fields that should be arrays by converting them to single-element arrays.
-	 * This handles cases where the LLM returns strings instead of arrays for fields like
-	 * best_months, pros, and cons.
+	 * Outcome of parsing and validating one completion. {@code acceptedIndices} are the destinations
+	 * of {@code dto} selected for the result or, when validation failed, the largest valid selection,
+	 * which a partial repair keeps.
 	 */
-	private void normalizeArrayFields(JsonNode payload) {
-		JsonNode destinations = payload.get("destinations");
-		if (destinations == null || !destinations.isArray()) {
-			return;
-		}
-		for (JsonNode destination : destinations) {
-			if (destination == null || !destination.isObject()) {
-				continue;
-			}
-			// Fields that should be arrays but might come as strings
-			String[] arrayFields = {"best_months", "pros", "cons", "relaxed_constraints"};
-			for (String field : arrayFields) {
-				if (destination.has(field)) {
-					JsonNode fieldNode = destination.get(field);
-				if (fieldNode.isTextual()) {
-					// Convert string to single-element array
-					((ObjectNode) destination)
-							.set(field, objectMapper.createArrayNode().add(fieldNode.asText()));
-				}
-				}
-			}
-		}
-	}
-
-	private List<List<String>> extractRelaxedConstraints(JsonNode payload) {
-		JsonNode destinations = payload.get("destinations");
-		if (destinations == null || !destinations.isArray()) {
-			return List.of();
+	private record ParsedResult(RecommendationResult result, ValidationFailure failure,
+								RecommendationResponseDto dto, List<List<String>> relaxedConstraints,
+								List<Integer> acceptedIndices) {
+		static ParsedResult failed(ValidationFailure failure) {
+			return new ParsedResult(null, failure, null, List.of(), List.of());
 		}
-		return IntStream.range(0, destinations.size())
-				.mapToObj(index -> {
-					JsonNode destination = destinations.get(index);
-					if (destination != null && destination.has("relaxed_constraints")
-							&& destination.get("relaxed_constraints").isArray()) {
-						return IntStream.range(0, destination.get("relaxed_constraints").size())
-								.mapToObj(i -> destination.get("relaxed_constraints").get(i).asText())
-								.filter(value -> value != null && !value.isBlank())
-								.toList();
-					}
-					return List.<String>of();
-				})
-				.toList();
 	}
 
-	private String buildRepairDetails(ValidationFailure failure, RecommendationResponseDto dto, String rawResponse, RecommendationRequest request) {
+	private String buildRepairDetails(ValidationFailure failure, RecommendationResponseDto dto) {
 		StringBuilder details = new StringBuilder();
 		details.append("Failure: ").append(failure.reason()).append(".");
 		if (failure.details() != null && !failure.details().isBlank()) {
@@ -658,9 +934,6 @@ public class RecommendationService {
 			if ("activity_coverage".equals(failure.reason())) {
 				details.append(" Ensure each destination covers at least 1 of the user's selected activities.");
 			}
-			details.append(" Previous response JSON: ").append(rawResponse);
-		} else if (rawResponse != null && !rawResponse.isBlank()) {
-			details.append(" Previous response: ").append(rawResponse);
 		}
 		return details.toString();
 	}
@@ -669,14 +942,7 @@ public class RecommendationService {
 		Set<String> seen = new HashSet<>();
 		return dto.destinations().stream()
 				.map(DestinationDto::country)
-				.filter(country -> {
-					String normalized = country == null ? "" : country.trim().toLowerCase();
-					if (seen.contains(normalized)) {
-						return true;
-					}
-					seen.add(normalized);
-					return false;
-				})
+				.filter(country -> !seen.add(countryKey(country)))
 				.distinct()
 				.toList();
 	}
@@ -685,7 +951,7 @@ public class RecommendationService {
 		Map<String, Integer> regionCounts = new HashMap<>();
 		List<String> replacements = new java.util.ArrayList<>();
 		for (DestinationDto destination : dto.destinations()) {
-			String normalizedRegion = destination.region().trim().toLowerCase();
+			String normalizedRegion = regionName(destination).toLowerCase();
 			int count = regionCounts.getOrDefault(normalizedRegion, 0) + 1;
 			regionCounts.put(normalizedRegion, count);
 			if (count > MAX_REGION_COUNT) {
@@ -0,0 +1,80 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.Destination;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.model.User;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs streamed generations off the request thread and reports progress to a {@link Listener}:
+ * destinations as soon as they pass validation, then the final validated result. In two-phase
+ * mode the shortlisted countries are reported first and each destination as its details arrive.
+ * Identical concurrent submissions share one generation through {@link InFlightRecommendations};
+ * only the leader streams progress, the others receive the final result.
+ */
+@Component
+public class RecommendationStreamer {
+	private final RecommendationService recommendationService;
+	private final RecommendationCache recommendationCache;
+	private final InFlightRecommendations inFlightRecommendations;
+	private final RecommendationResultStore resultStore;
+	private final RecommendationTwoPhaseProperties twoPhase;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public RecommendationStreamer(RecommendationService recommendationService, RecommendationCache recommendationCache,
+			InFlightRecommendations inFlightRecommendations, RecommendationResultStore resultStore,
+			RecommendationTwoPhaseProperties twoPhase) {
+		this.recommendationService = recommendationService;
+		this.recommendationCache = recommendationCache;
+		this.inFlightRecommendations = inFlightRecommendations;
+		this.resultStore = resultStore;
+		this.twoPhase = twoPhase;
+	}
+
+	public void stream(User user, RecommendationRequest request, Listener listener) {
+		executor.execute(() -> {
+			try {
+				RecommendationResult result = recommendationCache.getIfPresent(request)
+						.orElseGet(() -> generate(request, listener));
+				listener.onResult(resultStore.save(user.id(), result), result);
+			} catch (RuntimeException ex) {
+				listener.onError(ex);
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private RecommendationResult generate(RecommendationRequest request, Listener listener) {
+		RecommendationFingerprint fingerprint = RecommendationFingerprint.of(request);
+		RecommendationRequest canonical = fingerprint.toRequest();
+		return inFlightRecommendations.run(fingerprint, () -> {
+			RecommendationResult result = twoPhase.enabled()
+					? recommendationService.generateTwoPhase(canonical, listener::onShortlist, listener::onDestination)
+					: recommendationService.generateStreaming(canonical, listener::onDestination);
+			recommendationCache.put(canonical, result);
+			return result;
+		});
+	}
+
+	public interface Listener {
+		/**
+		 * The countries being detailed, with only country and region set.
+		 */
+		void onShortlist(List<Destination> shortlist);
+
+		void onDestination(Destination destination);
+
+		void onResult(UUID resultId, RecommendationResult result);
+
+		void onError(RuntimeException error);
+	}
+}
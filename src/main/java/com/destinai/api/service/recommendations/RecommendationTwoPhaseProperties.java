@@ -0,0 +1,17 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Two-phase streamed generation. When enabled, the results page first gets a shortlist of
+ * countries from a call limited to {@code shortlistMaxTokens} that asks for
+ * {@code shortlistCandidates} candidates (the ones beyond five replace destinations whose details
+ * fail), then the details of each destination as they are generated.
+ */
+@ConfigurationProperties(prefix = "recommendations.two-phase")
+public record RecommendationTwoPhaseProperties(
+		boolean enabled,
+		int shortlistCandidates,
+		int shortlistMaxTokens
+) {
+}
@@ -0,0 +1,12 @@
+package com.destinai.api.service.recommendations;
+
+/**
+ * One JSON Schema violation: the JSON path of the offending value (e.g.
+ * {@code $.destinations[2].pros[0]}), the schema keyword that failed and a short message.
+ */
+public record SchemaViolation(String path, String keyword, String message) {
+	@Override
+	public String toString() {
+		return path + ": " + message;
+	}
+}
@@ -0,0 +1,111 @@
+package com.destinai.api.service.recommendations;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this node's in-process cache coherent with the shared result store: a dedicated
+ * connection {@code LISTEN}s on the {@value SharedRecommendationResults#CHANNEL} channel and every
+ * fingerprint another node announces is evicted locally, so the next lookup reads the new result
+ * from the store. The connection is opened from the datasource settings outside the pool, since
+ * it is held for the application's lifetime. Notifications sent while it was down are lost, so the
+ * whole local cache is dropped on reconnect; reconnects back off exponentially up to a minute.
+ */
+@Component
+@ConditionalOnProperty(name = "recommendations.shared-results.enabled", havingValue = "true")
+public class SharedRecommendationResultEvents {
+	private static final Logger log = LoggerFactory.getLogger(SharedRecommendationResultEvents.class);
+	private static final int POLL_MILLIS = 1000;
+	private static final long MIN_RECONNECT_MILLIS = 1000;
+	private static final long MAX_RECONNECT_MILLIS = 60_000;
+
+	private final DataSourceProperties dataSourceProperties;
+	private final SharedRecommendationResults sharedResults;
+	private final RecommendationCache recommendationCache;
+	private final Thread listener;
+	private volatile boolean running = true;
+
+	public SharedRecommendationResultEvents(DataSourceProperties dataSourceProperties,
+			SharedRecommendationResults sharedResults, RecommendationCache recommendationCache) {
+		this.dataSourceProperties = dataSourceProperties;
+		this.sharedResults = sharedResults;
+		this.recommendationCache = recommendationCache;
+		this.listener = Thread.ofPlatform().name("recommendation-result-events").daemon().unstarted(this::listen);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		listener.start();
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		listener.join(POLL_MILLIS * 2L);
+	}
+
+	private void listen() {
+		boolean reconnecting = false;
+		long backoffMillis = MIN_RECONNECT_MILLIS;
+		while (running) {
+			try (Connection connection = connect()) {
+				execute(connection, "LISTEN " + SharedRecommendationResults.CHANNEL);
+				if (reconnecting) {
+					recommendationCache.evictAll();
+				}
+				backoffMillis = MIN_RECONNECT_MILLIS;
+				receive(connection.unwrap(PGConnection.class));
+			} catch (SQLException ex) {
+				log.warn("Lost the recommendation result notification connection; reconnecting. reason={}, retryInMillis={}",
+						ex.getMessage(), backoffMillis);
+				reconnecting = true;
+				pause(backoffMillis);
+				backoffMillis = Math.min(backoffMillis * 2, MAX_RECONNECT_MILLIS);
+			}
+		}
+	}
+
+	private Connection connect() throws SQLException {
+		return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+				dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+	}
+
+	private void receive(PGConnection connection) throws SQLException {
+		while (running) {
+			PGNotification[] notifications = connection.getNotifications(POLL_MILLIS);
+			if (notifications == null) {
+				continue;
+			}
+			for (PGNotification notification : notifications) {
+				sharedResults.readInvalidation(notification.getParameter()).ifPresent(recommendationCache::evict);
+			}
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	private void pause(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+}
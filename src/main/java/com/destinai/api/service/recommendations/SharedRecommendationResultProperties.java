@@ -0,0 +1,16 @@
+package com.destinai.api.service.recommendations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Shared result store in Postgres, the second cache tier behind each node's in-process cache.
+ * Results are reused for {@code ttlMinutes}; expired rows are deleted every
+ * {@code sweepIntervalMillis}.
+ */
+@ConfigurationProperties(prefix = "recommendations.shared-results")
+public record SharedRecommendationResultProperties(
+		boolean enabled,
+		int ttlMinutes,
+		long sweepIntervalMillis
+) {
+}
@@ -0,0 +1,199 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.modules.recommendations.integration.OpenRouterProperties;
+import com.destinai.modules.recommendations.persistence.RecommendationResultKey;
+import com.destinai.modules.recommendations.persistence.RecommendationResultRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validated results shared by all nodes in the {@code recommendation_results} table, keyed by
+ * fingerprint, prompt version and model, so a questionnaire generated on one node is not
+ * generated again on another. The prompt version and model are those of the request's experiment
+ * variant; routed variants are keyed by the primary endpoint's model. Every write is announced on
+ * the {@value #CHANNEL} channel with {@code NOTIFY}, and {@link SharedRecommendationResultEvents}
+ * evicts the fingerprint from the other nodes' local caches.
+ * Database failures only cost the shared tier: reads miss and writes are skipped.
+ */
+@Service
+public class SharedRecommendationResults {
+	static final String CHANNEL = "recommendation_results";
+	private static final Logger log = LoggerFactory.getLogger(SharedRecommendationResults.class);
+
+	private final RecommendationResultRepository repository;
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final RecommendationExperiments experiments;
+	private final Map<String, String> endpointModels;
+	private final String primaryModel;
+	private final boolean enabled;
+	private final Duration ttl;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter errors;
+
+	public SharedRecommendationResults(RecommendationResultRepository repository, JdbcTemplate jdbcTemplate,
+			ObjectMapper objectMapper, RecommendationExperiments experiments, OpenRouterProperties openRouterProperties,
+			SharedRecommendationResultProperties properties, MeterRegistry meterRegistry) {
+		this.repository = repository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.experiments = experiments;
+		List<OpenRouterProperties.Endpoint> endpoints = openRouterProperties.resolvedEndpoints();
+		this.endpointModels = endpoints.stream().collect(Collectors.toMap(
+				OpenRouterProperties.Endpoint::name, OpenRouterProperties.Endpoint::model, (first, second) -> first));
+		this.primaryModel = endpoints.getFirst().model();
+		this.enabled = properties.enabled();
+		this.ttl = Duration.ofMinutes(Math.max(properties.ttlMinutes(), 1));
+		this.hits = lookups(meterRegistry, "hit");
+		this.misses = lookups(meterRegistry, "miss");
+		this.errors = lookups(meterRegistry, "error");
+	}
+
+	/**
+	 * The stored result of {@code fingerprint} if it has not expired and is at most
+	 * {@code maxAge} old.
+	 */
+	public Optional<RecommendationResult> find(RecommendationFingerprint fingerprint, Duration maxAge) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		Instant now = Instant.now();
+		try {
+			Optional<RecommendationResult> result = repository.findFresh(key(fingerprint), now, now.minus(maxAge))
+					.map(entity -> read(entity.getResultPayload(), RecommendationResult.class));
+			(result.isPresent() ? hits : misses).increment();
+			return result;
+		} catch (DataAccessException ex) {
+			errors.increment();
+			log.warn("Could not read shared recommendation result. reason={}", ex.getMostSpecificCause().getMessage());
+			return Optional.empty();
+		} catch (IllegalStateException ex) {
+			errors.increment();
+			log.warn("Ignoring unreadable shared recommendation result. error={}", ex.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Stores {@code result} for the other nodes, replacing any earlier one, and evicts their
+	 * local copies of the earlier one.
+	 */
+	public void put(RecommendationFingerprint fingerprint, RecommendationResult result) {
+		if (!enabled) {
+			return;
+		}
+		RecommendationResultKey key = key(fingerprint);
+		Instant now = Instant.now();
+		try {
+			repository.upsert(key.getFingerprint(), key.getPromptVersion(), key.getModel(), write(result),
+					now, now.plus(ttl));
+			announce(fingerprint);
+		} catch (DataAccessException ex) {
+			log.warn("Could not store shared recommendation result. reason={}", ex.getMostSpecificCause().getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${recommendations.shared-results.sweep-interval-millis}")
+	public void deleteExpired() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			int deleted = repository.deleteExpired(Instant.now());
+			log.debug("Deleted expired shared recommendation results. count={}", deleted);
+		} catch (DataAccessException ex) {
+			log.warn("Could not delete expired recommendation results. reason={}", ex.getMostSpecificCause().getMessage());
+		}
+	}
+
+	/**
+	 * The fingerprint announced in a {@value #CHANNEL} notification; empty for this node's own
+	 * announcements, whose local cache already holds the new result.
+	 */
+	public Optional<RecommendationFingerprint> readInvalidation(String payload) {
+		try {
+			Invalidation invalidation = objectMapper.readValue(payload, Invalidation.class);
+			if (nodeId.equals(invalidation.node()) || invalidation.fingerprint() == null) {
+				return Optional.empty();
+			}
+			return Optional.of(invalidation.fingerprint());
+		} catch (JsonProcessingException ex) {
+			log.warn("Ignoring unreadable recommendation result notification. error={}", ex.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	private void announce(RecommendationFingerprint fingerprint) {
+		// Sent after the write committed, so a node that reloads on the notification reads the new row.
+		jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null, CHANNEL,
+				write(new Invalidation(nodeId, fingerprint)));
+	}
+
+	private RecommendationResultKey key(RecommendationFingerprint fingerprint) {
+		RecommendationExperiments.Assignment assignment = experiments.assignment(fingerprint.toRequest());
+		String model = assignment.endpoint() == null
+				? primaryModel
+				: endpointModels.getOrDefault(assignment.endpoint(), assignment.endpoint());
+		return new RecommendationResultKey(hash(fingerprint), assignment.promptVersion(), model);
+	}
+
+	/**
+	 * SHA-256 of the canonical questionnaire, hex-encoded.
+	 */
+	private static String hash(RecommendationFingerprint fingerprint) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available.", ex);
+		}
+	}
+
+	private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("recommendations.shared_results.lookups")
+				.description("Shared result store lookups: hit, miss, or database error")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	private String write(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not serialize shared recommendation result.", ex);
+		}
+	}
+
+	private <T> T read(String payload, Class<T> type) {
+		try {
+			return objectMapper.readValue(payload, type);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not deserialize shared recommendation result.", ex);
+		}
+	}
+
+	public record Invalidation(String node, RecommendationFingerprint fingerprint) {
+	}
+}
@@ -0,0 +1,123 @@
+package com.destinai.api.service.recommendations;
+
+import com.destinai.api.service.recommendations.RecommendationResponseParser.ParsedDestination;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental parser over a streamed LLM completion. Content deltas are fed to Jackson's
+ * non-blocking parser and every element of the top-level {@code destinations} array is read by
+ * {@link RecommendationResponseParser} and handed to the listener as soon as its closing brace
+ * arrives.
+ * <p>
+ * Best effort only: any text before the first {@code {} (e.g. a markdown fence) is skipped, and
+ * on malformed input the parser stops emitting; the caller still validates the full response.
+ */
+final class StreamingDestinationParser {
+	private static final Logger log = LoggerFactory.getLogger(StreamingDestinationParser.class);
+	private static final String DESTINATIONS_FIELD = "destinations";
+
+	private final ObjectMapper objectMapper;
+	private final RecommendationResponseParser responseParser;
+	private final Consumer<ParsedDestination> onDestination;
+	private final JsonParser parser;
+	private boolean started;
+	private boolean stopped;
+	private int depth;
+	private boolean destinationsFieldPending;
+	private boolean inDestinations;
+	private TokenBuffer currentDestination;
+	private int destinationIndex;
+
+	StreamingDestinationParser(ObjectMapper objectMapper, RecommendationResponseParser responseParser,
+			Consumer<ParsedDestination> onDestination) {
+		this.objectMapper = objectMapper;
+		this.responseParser = responseParser;
+		this.onDestination = onDestination;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+		} catch (IOException ex) {
+			throw new IllegalStateException("Could not create streaming JSON parser.", ex);
+		}
+	}
+
+	void feed(String delta) {
+		if (stopped || delta == null || delta.isEmpty()) {
+			return;
+		}
+		String input = delta;
+		if (!started) {
+			int jsonStart = input.indexOf('{');
+			if (jsonStart < 0) {
+				return;
+			}
+			input = input.substring(jsonStart);
+			started = true;
+		}
+		byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+		try {
+			((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+			drain();
+		} catch (IOException ex) {
+			log.debug("Streaming parse stopped; full response will be validated. error={}", ex.getMessage());
+			stopped = true;
+		}
+	}
+
+	private void drain() throws IOException {
+		JsonToken token;
+		while (!stopped && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			handle(token);
+		}
+	}
+
+	private void handle(JsonToken token) throws IOException {
+		if (currentDestination != null) {
+			currentDestination.copyCurrentEvent(parser);
+		}
+		switch (token) {
+			case START_OBJECT, START_ARRAY -> {
+				if (token == JsonToken.START_OBJECT && inDestinations && depth == 2) {
+					currentDestination = new TokenBuffer(objectMapper, false);
+					currentDestination.copyCurrentEvent(parser);
+				}
+				if (token == JsonToken.START_ARRAY && destinationsFieldPending) {
+					inDestinations = true;
+				}
+				destinationsFieldPending = false;
+				depth++;
+			}
+			case END_OBJECT, END_ARRAY -> {
+				depth--;
+				if (token == JsonToken.END_OBJECT && currentDestination != null && depth == 2) {
+					emit();
+				}
+				if (token == JsonToken.END_ARRAY && inDestinations && depth == 1) {
+					inDestinations = false;
+				}
+				if (depth == 0) {
+					// Root object closed; ignore trailing text such as a closing markdown fence.
+					stopped = true;
+				}
+			}
+			case FIELD_NAME -> destinationsFieldPending = depth == 1 && DESTINATIONS_FIELD.equals(parser.currentName());
+			default -> destinationsFieldPending = false;
+		}
+	}
+
+	private void emit() throws IOException {
+		TokenBuffer buffer = currentDestination;
+		currentDestination = null;
+		try (JsonParser destinationParser = buffer.asParser()) {
+			onDestination.accept(responseParser.readDestination(destinationParser, destinationIndex++));
+		}
+	}
+}
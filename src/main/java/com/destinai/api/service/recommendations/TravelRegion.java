@@ -0,0 +1,27 @@
+package com.destinai.api.service.recommendations;
+
+/**
+ * The nine regions allowed in recommendations (see the repair prompt); the region cap is counted
+ * per travel region.
+ */
+public enum TravelRegion {
+	EUROPE("Europe"),
+	NORTH_AFRICA("North Africa"),
+	SUB_SAHARAN_AFRICA("Sub-Saharan Africa"),
+	MIDDLE_EAST("Middle East"),
+	SOUTH_ASIA("South Asia"),
+	EAST_ASIA("East Asia"),
+	OCEANIA("Oceania"),
+	NORTH_AMERICA("North America"),
+	LATIN_AMERICA_CARIBBEAN("Latin America/Caribbean");
+
+	private final String displayName;
+
+	TravelRegion(String displayName) {
+		this.displayName = displayName;
+	}
+
+	public String displayName() {
+		return displayName;
+	}
+}
@@ -0,0 +1,54 @@
+package com.destinai.api.web;
+
+import com.destinai.api.dto.recommendations.ExperimentVariantScoreDto;
+import com.destinai.api.service.recommendations.RecommendationExperiments;
+import com.destinai.api.service.recommendations.RecommendationExperiments.VariantScore;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Experiment scorecard for operators, served by the actuator at {@code /actuator/experiments}
+ * rather than the public API. It is not exposed over the web by default; deployments include it
+ * in {@code management.endpoints.web.exposure.include} on a separate management port.
+ */
+@Component
+@Endpoint(id = "experiments")
+public class RecommendationExperimentsEndpoint {
+	private final RecommendationExperiments experiments;
+
+	public RecommendationExperimentsEndpoint(RecommendationExperiments experiments) {
+		this.experiments = experiments;
+	}
+
+	/**
+	 * Side-by-side scorecard of the experiment variants, to pick the fastest one that still
+	 * validates.
+	 */
+	@ReadOperation
+	public List<ExperimentVariantScoreDto> scorecard() {
+		return experiments.scorecard().stream().map(this::toDto).toList();
+	}
+
+	private ExperimentVariantScoreDto toDto(VariantScore score) {
+		return new ExperimentVariantScoreDto(
+				score.name(),
+				score.weight(),
+				score.promptVersion(),
+				score.endpoint(),
+				score.temperature(),
+				score.maxTokens(),
+				score.generations(),
+				score.firstPassValidRate(),
+				score.repairRate(),
+				score.failureRate(),
+				score.meanLatencyMillis(),
+				score.p50LatencyMillis(),
+				score.p95LatencyMillis(),
+				score.meanPromptTokens(),
+				score.meanCachedPromptTokens(),
+				score.meanCompletionTokens()
+		);
+	}
+}
@@ -2,30 +2,67 @@ package com.destinai.api.web;
 
 import com.destinai.api.command.recommendations.RecommendationRequestCommand;
 import com.destinai.api.dto.recommendations.DestinationDto;
+import com.destinai.api.dto.recommendations.RecommendationJobDto;
 import com.destinai.api.dto.recommendations.RecommendationResponseDto;
 import com.destinai.api.service.auth.AuthService;
 import com.destinai.api.service.model.Destination;
+import com.destinai.api.service.model.RecommendationJob;
 import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.model.User;
+import com.destinai.api.service.recommendations.RecommendationCache;
+import com.destinai.api.service.recommendations.RecommendationJobEvents;
+import com.destinai.api.service.recommendations.RecommendationJobService;
 import com.destinai.api.service.recommendations.RecommendationRequest;
-import com.destinai.api.service.recommendations.RecommendationService;
+import com.destinai.api.service.recommendations.RecommendationResultStore;
+import com.destinai.api.service.recommendations.RecommendationStreamer;
+import com.destinai.common.errors.ApiErrorDto;
+import com.destinai.common.errors.LlmServiceException;
+import com.destinai.common.errors.LlmTimeoutException;
+import com.destinai.common.errors.LlmValidationException;
+import com.destinai.common.errors.NotFoundException;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/recommendations")
 public class RecommendationsApiController {
+	private static final Logger log = LoggerFactory.getLogger(RecommendationsApiController.class);
 	private static final String SESSION_COOKIE_NAME = "destinai_session";
+	private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(3);
+	private static final String UNAVAILABLE_MESSAGE = "Service is temporarily unavailable. Please try again later.";
 
 	private final AuthService authService;
-	private final RecommendationService recommendationService;
+	private final RecommendationCache recommendationCache;
+	private final RecommendationResultStore resultStore;
+	private final RecommendationJobService jobService;
+	private final RecommendationJobEvents jobEvents;
+	private final RecommendationStreamer recommendationStreamer;
 
-	public RecommendationsApiController(AuthService authService, RecommendationService recommendationService) {
+	public RecommendationsApiController(AuthService authService, RecommendationCache recommendationCache,
+			RecommendationResultStore resultStore, RecommendationJobService jobService,
+			RecommendationJobEvents jobEvents, RecommendationStreamer recommendationStreamer) {
 		this.authService = authService;
-		this.recommendationService = recommendationService;
+		this.recommendationCache = recommendationCache;
+		this.resultStore = resultStore;
+		this.jobService = jobService;
+		this.jobEvents = jobEvents;
+		this.recommendationStreamer = recommendationStreamer;
 	}
 
 	@PostMapping
@@ -33,8 +70,121 @@ public class RecommendationsApiController {
 			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
 			@Valid @RequestBody RecommendationRequestCommand command
 	) {
-		authService.requireUser(sessionToken);
-		RecommendationRequest request = new RecommendationRequest(
+		User user = authService.requireUser(sessionToken);
+		RecommendationResult result = recommendationCache.get(toRequest(command));
+		UUID resultId = resultStore.save(user.id(), result);
+		return toDto(resultId, result);
+	}
+
+	/**
+	 * Streams the generation as Server-Sent Events: a {@code destination} event per validated
+	 * destination as the LLM produces it, then one {@code result} event with the final validated
+	 * payload (which supersedes the streamed cards), or an {@code error} event. In two-phase mode a
+	 * {@code shortlist} event with the countries and regions comes first.
+	 */
+	@PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamRecommendations(
+			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
+			@Valid @RequestBody RecommendationRequestCommand command
+	) {
+		User user = authService.requireUser(sessionToken);
+		SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+		recommendationStreamer.stream(user, toRequest(command), new SseStreamListener(emitter));
+		return emitter;
+	}
+
+	@GetMapping("/{resultId}")
+	public RecommendationResponseDto getResult(
+			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
+			@PathVariable UUID resultId
+	) {
+		User user = authService.requireUser(sessionToken);
+		RecommendationResult result = resultStore.find(user.id(), resultId)
+				.orElseThrow(() -> new NotFoundException("Recommendation result not found or expired."));
+		return toDto(resultId, result);
+	}
+
+	@PostMapping("/jobs")
+	public ResponseEntity<RecommendationJobDto> submitJob(
+			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
+			@Valid @RequestBody RecommendationRequestCommand command
+	) {
+		User user = authService.requireUser(sessionToken);
+		RecommendationJob job = jobService.submit(user, toRequest(command));
+		return ResponseEntity.accepted()
+				.location(URI.create("/api/recommendations/jobs/" + job.id()))
+				.body(toDto(job));
+	}
+
+	@GetMapping("/jobs/{jobId}")
+	public RecommendationJobDto getJob(
+			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
+			@PathVariable UUID jobId
+	) {
+		User user = authService.requireUser(sessionToken);
+		return toDto(jobService.getJob(user, jobId));
+	}
+
+	@GetMapping(path = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter jobEvents(
+			@CookieValue(name = SESSION_COOKIE_NAME, required = false) String sessionToken,
+			@PathVariable UUID jobId
+	) {
+		User user = authService.requireUser(sessionToken);
+		return jobEvents.subscribe(jobService.getJob(user, jobId));
+	}
+
+	private final class SseStreamListener implements RecommendationStreamer.Listener {
+		private final SseEmitter emitter;
+
+		private SseStreamListener(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		@Override
+		public void onShortlist(List<Destination> shortlist) {
+			send("shortlist", shortlist.stream().map(RecommendationsApiController.this::toDto).toList());
+		}
+
+		@Override
+		public void onDestination(Destination destination) {
+			send("destination", toDto(destination));
+		}
+
+		@Override
+		public void onResult(UUID resultId, RecommendationResult result) {
+			if (send("result", toDto(resultId, result))) {
+				emitter.complete();
+			}
+		}
+
+		@Override
+		public void onError(RuntimeException error) {
+			String code = switch (error) {
+				case LlmValidationException ex -> "llm_validation_failed";
+				case LlmServiceException ex -> "llm_service_error";
+				case LlmTimeoutException ex -> "llm_timeout";
+				default -> "internal_error";
+			};
+			log.warn("Streamed recommendation failed. reason={}", code, error);
+			if (send("error", new ApiErrorDto(code, UNAVAILABLE_MESSAGE, null))) {
+				emitter.complete();
+			}
+		}
+
+		private boolean send(String eventName, Object payload) {
+			try {
+				emitter.send(SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+				return true;
+			} catch (IOException | IllegalStateException ex) {
+				log.debug("Recommendation stream closed by client. event={}", eventName);
+				return false;
+			}
+		}
+	}
+
+	private RecommendationRequest toRequest(RecommendationRequestCommand command) {
+		return new RecommendationRequest(
 				command.who(),
 				command.travelType(),
 				command.accommodation(),
@@ -43,8 +193,20 @@ public class RecommendationsApiController {
 				command.weather(),
 				command.season()
 		);
-		RecommendationResult result = recommendationService.generate(request);
+	}
+
+	private RecommendationJobDto toDto(RecommendationJob job) {
+		return new RecommendationJobDto(
+				job.id(),
+				job.status(),
+				job.result() == null ? null : toDto(null, job.result()),
+				job.errorCode()
+		);
+	}
+
+	private RecommendationResponseDto toDto(UUID resultId, RecommendationResult result) {
 		return new RecommendationResponseDto(
+				resultId,
 				result.schemaVersion(),
 				result.destinations().stream().map(this::toDto).toList()
 		);
@@ -1,24 +1,120 @@
 package com.destinai.application.config;
 
+import com.destinai.modules.recommendations.integration.GzipResponseInterceptor;
+import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.LlmResilienceProperties;
+import com.destinai.modules.recommendations.integration.LlmRoutingProperties;
+import com.destinai.modules.recommendations.integration.OpenRouterLlmClient;
 import com.destinai.modules.recommendations.integration.OpenRouterProperties;
+import com.destinai.modules.recommendations.integration.OpenRouterTransportProperties;
+import com.destinai.modules.recommendations.integration.ResilientLlmClient;
+import com.destinai.modules.recommendations.integration.RoutingLlmClient;
+import com.destinai.modules.recommendations.integration.TransportMetricsInterceptor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Configuration
-@EnableConfigurationProperties(OpenRouterProperties.class)
+@EnableConfigurationProperties({OpenRouterProperties.class, LlmRoutingProperties.class, LlmResilienceProperties.class,
+		OpenRouterTransportProperties.class})
 public class OpenRouterConfig {
+	private static final String RESPONSE_SCHEMA_LOCATION = "llm/recommendation-schema.json";
+
 	@Bean
-	public RestClient openRouterRestClient(OpenRouterProperties properties) {
-		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-		int timeoutMillis = Math.max(properties.timeoutSeconds(), 1) * 1000;
-		requestFactory.setConnectTimeout(timeoutMillis);
-		requestFactory.setReadTimeout(timeoutMillis);
-		return RestClient.builder()
-				.requestFactory(requestFactory)
+	public RestClient openRouterRestClient(OpenRouterProperties properties,
+			OpenRouterTransportProperties transportProperties, MeterRegistry meterRegistry) {
+		Duration timeout = Duration.ofSeconds(Math.max(properties.timeoutSeconds(), 1));
+		HttpClient httpClient = HttpClient.newBuilder()
+				.version(transportProperties.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+				.connectTimeout(timeout)
 				.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(timeout);
+
+		RestClient.Builder builder = RestClient.builder()
+				.requestFactory(requestFactory)
+				.requestInterceptor(new TransportMetricsInterceptor(meterRegistry));
+		if (transportProperties.gzip()) {
+			builder.requestInterceptor(new GzipResponseInterceptor());
+		}
+		return builder.build();
+	}
+
+	@Bean
+	public CircuitBreakerRegistry llmCircuitBreakerRegistry(LlmResilienceProperties properties,
+			MeterRegistry meterRegistry) {
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+				.slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+				.slidingWindowSize(properties.slidingWindowSize())
+				.minimumNumberOfCalls(properties.minimumNumberOfCalls())
+				.failureRateThreshold(properties.failureRateThreshold())
+				.waitDurationInOpenState(Duration.ofSeconds(properties.openStateSeconds()))
+				.permittedNumberOfCallsInHalfOpenState(properties.halfOpenCalls())
+				.recordException(ResilientLlmClient::isProviderFailure)
+				.ignoreExceptions(BulkheadFullException.class)
+				.build());
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+		return registry;
 	}
-}
 
+	@Bean
+	public Bulkhead llmBulkhead(LlmResilienceProperties properties, MeterRegistry meterRegistry) {
+		BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+				.maxConcurrentCalls(properties.maxConcurrentCalls())
+				.maxWaitDuration(Duration.ofMillis(properties.maxWaitMillis()))
+				.build());
+		TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+		return registry.bulkhead("llm");
+	}
+
+	@Bean
+	public RoutingLlmClient routingLlmClient(RestClient openRouterRestClient, OpenRouterProperties properties,
+			LlmRoutingProperties routingProperties, CircuitBreakerRegistry llmCircuitBreakerRegistry,
+			Bulkhead llmBulkhead, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		JsonNode responseSchema = loadResponseSchema(objectMapper);
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		for (OpenRouterProperties.Endpoint endpoint : properties.resolvedEndpoints()) {
+			clients.put(endpoint.name(), new ResilientLlmClient(
+					new OpenRouterLlmClient(openRouterRestClient, endpoint, objectMapper, meterRegistry, responseSchema),
+					llmCircuitBreakerRegistry.circuitBreaker("llm-" + endpoint.name()),
+					llmBulkhead
+			));
+		}
+		return new RoutingLlmClient(clients, routingProperties, meterRegistry);
+	}
+
+	/**
+	 * The recommendation schema sent as {@code response_format}; the {@code $schema} keyword is
+	 * dropped because some providers reject it.
+	 */
+	private static JsonNode loadResponseSchema(ObjectMapper objectMapper) {
+		try (InputStream input = new ClassPathResource(RESPONSE_SCHEMA_LOCATION).getInputStream()) {
+			ObjectNode schema = (ObjectNode) objectMapper.readTree(input);
+			schema.remove("$schema");
+			return schema;
+		} catch (IOException ex) {
+			throw new IllegalStateException("Could not load " + RESPONSE_SCHEMA_LOCATION, ex);
+		}
+	}
+}
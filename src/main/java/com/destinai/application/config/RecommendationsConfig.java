@@ -0,0 +1,32 @@
+package com.destinai.application.config;
+
+import com.destinai.api.service.recommendations.LlmHedgingProperties;
+import com.destinai.api.service.recommendations.LlmRetryProperties;
+import com.destinai.api.service.recommendations.RecommendationBatchProperties;
+import com.destinai.api.service.recommendations.RecommendationCacheProperties;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties;
+import com.destinai.api.service.recommendations.RecommendationFanOutProperties;
+import com.destinai.api.service.recommendations.RecommendationJobProperties;
+import com.destinai.api.service.recommendations.RecommendationPrewarmProperties;
+import com.destinai.api.service.recommendations.RecommendationTwoPhaseProperties;
+import com.destinai.api.service.recommendations.SharedRecommendationResultProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+		LlmHedgingProperties.class,
+		LlmRetryProperties.class,
+		RecommendationBatchProperties.class,
+		RecommendationCacheProperties.class,
+		RecommendationExperimentProperties.class,
+		RecommendationFanOutProperties.class,
+		RecommendationJobProperties.class,
+		RecommendationPrewarmProperties.class,
+		RecommendationTwoPhaseProperties.class,
+		SharedRecommendationResultProperties.class
+})
+public class RecommendationsConfig {
+}
@@ -0,0 +1,74 @@
+package com.destinai.modules.recommendations.integration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Requests gzip-encoded responses and transparently decodes them; the JDK client does neither.
+ * Event streams are left uncompressed so deltas are not held back by the decoder.
+ */
+public class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+	private static final String GZIP = "gzip";
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		if (request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+			return execution.execute(request, body);
+		}
+		request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+		ClientHttpResponse response = execution.execute(request, body);
+		String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+		return GZIP.equalsIgnoreCase(encoding) ? new GzipDecodedResponse(response) : response;
+	}
+
+	private static final class GzipDecodedResponse implements ClientHttpResponse {
+		private final ClientHttpResponse delegate;
+		private final HttpHeaders headers;
+		private InputStream body;
+
+		private GzipDecodedResponse(ClientHttpResponse delegate) {
+			this.delegate = delegate;
+			this.headers = new HttpHeaders();
+			this.headers.putAll(delegate.getHeaders());
+			this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+			this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (body == null) {
+				body = new GZIPInputStream(delegate.getBody());
+			}
+			return body;
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+	}
+}
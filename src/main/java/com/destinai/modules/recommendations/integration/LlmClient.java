@@ -1,6 +1,86 @@
 package com.destinai.modules.recommendations.integration;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface LlmClient {
 	String complete(String prompt);
-}
 
+	/**
+	 * Completes a multi-turn conversation. Clients without chat support receive the
+	 * conversation flattened into a single prompt.
+	 */
+	default String complete(List<LlmMessage> messages) {
+		return complete(flatten(messages));
+	}
+
+	/**
+	 * Completes a conversation with per-call overrides; clients that cannot apply them ignore them.
+	 */
+	default String complete(List<LlmMessage> messages, LlmOptions options) {
+		return complete(messages);
+	}
+
+	/**
+	 * Streams the completion, passing each content delta to {@code onDelta} as it arrives,
+	 * and returns the full content. Clients without streaming support deliver one delta.
+	 */
+	default String stream(String prompt, Consumer<String> onDelta) {
+		String content = complete(prompt);
+		onDelta.accept(content);
+		return content;
+	}
+
+	/**
+	 * Streams a multi-turn conversation; clients without chat support stream the flattened prompt.
+	 */
+	default String stream(List<LlmMessage> messages, Consumer<String> onDelta) {
+		return stream(flatten(messages), onDelta);
+	}
+
+	default String stream(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return stream(messages, onDelta);
+	}
+
+	/**
+	 * {@link #complete(List, LlmOptions)} with what is known about the call that produced the
+	 * response.
+	 */
+	default LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+		return LlmCompletion.of(complete(messages, options));
+	}
+
+	/**
+	 * {@link #stream(List, LlmOptions, Consumer)} with what is known about the call that produced
+	 * the response.
+	 */
+	default LlmCompletion streamCompletion(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return LlmCompletion.of(stream(messages, options, onDelta));
+	}
+
+	/**
+	 * Whether responses are constrained to the recommendation schema by the provider, so the
+	 * prompt can leave the schema out.
+	 */
+	default boolean supportsStructuredOutput() {
+		return false;
+	}
+
+	/**
+	 * Tells the client that a response it returned failed validation, so routing can prefer
+	 * endpoints that produce usable output.
+	 */
+	default void reportInvalidResponse(LlmCompletion completion) {
+	}
+
+	private static String flatten(List<LlmMessage> messages) {
+		if (messages.size() == 1) {
+			return messages.getFirst().content();
+		}
+		StringBuilder prompt = new StringBuilder();
+		for (LlmMessage message : messages) {
+			prompt.append('[').append(message.role()).append("]\n").append(message.content()).append("\n\n");
+		}
+		return prompt.toString().strip();
+	}
+}
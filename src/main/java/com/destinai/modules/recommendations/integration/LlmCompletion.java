@@ -0,0 +1,19 @@
+package com.destinai.modules.recommendations.integration;
+
+/**
+ * One response of an {@link LlmClient}: its {@code content}, whether the provider constrained it
+ * to the recommendation schema ({@code response_format} sent and accepted on that call), and the
+ * name of the endpoint that produced it ({@code null} when not known).
+ */
+public record LlmCompletion(String content, boolean structuredOutput, String endpoint) {
+	/**
+	 * Content from a client that reports neither structured output nor an endpoint.
+	 */
+	public static LlmCompletion of(String content) {
+		return new LlmCompletion(content, false, null);
+	}
+
+	public LlmCompletion fromEndpoint(String endpoint) {
+		return new LlmCompletion(content, structuredOutput, endpoint);
+	}
+}
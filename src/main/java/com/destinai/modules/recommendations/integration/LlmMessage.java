@@ -0,0 +1,23 @@
+package com.destinai.modules.recommendations.integration;
+
+/**
+ * One chat message sent to an {@link LlmClient}; {@code role} is {@code system}, {@code user} or
+ * {@code assistant}. System messages carry the static, cacheable prompt prefix.
+ */
+public record LlmMessage(String role, String content) {
+	public static final String SYSTEM = "system";
+	public static final String USER = "user";
+	public static final String ASSISTANT = "assistant";
+
+	public static LlmMessage system(String content) {
+		return new LlmMessage(SYSTEM, content);
+	}
+
+	public static LlmMessage user(String content) {
+		return new LlmMessage(USER, content);
+	}
+
+	public static LlmMessage assistant(String content) {
+		return new LlmMessage(ASSISTANT, content);
+	}
+}
@@ -0,0 +1,34 @@
+package com.destinai.modules.recommendations.integration;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-call overrides for an {@link LlmClient}. {@code endpoint} pins the call to a configured
+ * endpoint (others remain as failover), {@code null} fields keep the endpoint defaults, and
+ * {@code usageListener} receives the token usage of every provider response.
+ * {@code structuredOutput} set to {@code false} sends the call without the recommendation schema
+ * even where the client supports structured output, for prompts with their own output format.
+ */
+public record LlmOptions(String endpoint, Double temperature, Integer maxTokens, Consumer<LlmUsage> usageListener,
+		boolean structuredOutput) {
+	public static final LlmOptions DEFAULT = new LlmOptions(null, null, null, usage -> {
+	}, true);
+
+	public LlmOptions {
+		if (usageListener == null) {
+			usageListener = DEFAULT.usageListener();
+		}
+	}
+
+	public LlmOptions(String endpoint, Double temperature, Integer maxTokens, Consumer<LlmUsage> usageListener) {
+		this(endpoint, temperature, maxTokens, usageListener, true);
+	}
+
+	/**
+	 * These options with {@code maxTokens} ({@code null} for the endpoint default) and without
+	 * structured output.
+	 */
+	public LlmOptions freeform(Integer maxTokens) {
+		return new LlmOptions(endpoint, temperature, maxTokens, usageListener, false);
+	}
+}
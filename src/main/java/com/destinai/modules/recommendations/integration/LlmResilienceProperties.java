@@ -0,0 +1,21 @@
+package com.destinai.modules.recommendations.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Circuit breaker (per endpoint) and bulkhead (shared) around LLM calls. The breaker opens when
+ * {@code failureRateThreshold} percent of the last {@code slidingWindowSize} calls failed and
+ * stays open for {@code openStateSeconds}. At most {@code maxConcurrentCalls} requests wait on
+ * the provider at once; callers beyond that wait up to {@code maxWaitMillis}, then fail fast.
+ */
+@ConfigurationProperties(prefix = "llm.resilience")
+public record LlmResilienceProperties(
+		int failureRateThreshold,
+		int slidingWindowSize,
+		int minimumNumberOfCalls,
+		int openStateSeconds,
+		int halfOpenCalls,
+		int maxConcurrentCalls,
+		long maxWaitMillis
+) {
+}
@@ -0,0 +1,18 @@
+package com.destinai.modules.recommendations.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Routing across LLM endpoints. Statistics are exponentially weighted with {@code ewmaAlpha};
+ * an endpoint whose error rate reaches {@code unhealthyErrorRate} is only used for failover and
+ * for one probe request every {@code probeIntervalSeconds}. {@code explorationRate} of requests
+ * go to a random healthy endpoint so that its latency estimate stays current.
+ */
+@ConfigurationProperties(prefix = "llm.routing")
+public record LlmRoutingProperties(
+		double ewmaAlpha,
+		double unhealthyErrorRate,
+		int probeIntervalSeconds,
+		double explorationRate
+) {
+}
@@ -0,0 +1,7 @@
+package com.destinai.modules.recommendations.integration;
+
+/**
+ * Token usage reported by the provider for one response.
+ */
+public record LlmUsage(int promptTokens, int cachedPromptTokens, int completionTokens) {
+}
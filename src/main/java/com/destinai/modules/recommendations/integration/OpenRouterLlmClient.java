@@ -1,36 +1,117 @@
 package com.destinai.modules.recommendations.integration;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
-@Component
+/**
+ * Chat completions against a single OpenRouter endpoint (base URL + model). Instances are
+ * created per configured endpoint and used through {@link RoutingLlmClient}. Token usage,
+ * including prompt tokens served from the provider's prompt cache, is counted per endpoint.
+ * <p>
+ * With structured output enabled the response is constrained by a JSON-schema
+ * {@code response_format} and callers leave the schema out of the prompt (see
+ * {@link #supportsStructuredOutput()}). If the model rejects the parameter the endpoint sends the
+ * schema as a system message instead; after a cool-down one call probes {@code response_format}
+ * again, and the endpoint returns to it if the probe is accepted.
+ */
 public class OpenRouterLlmClient implements LlmClient {
+	private static final String SSE_DATA_PREFIX = "data:";
+	private static final String STREAM_DONE = "[DONE]";
+	private static final String RESPONSE_SCHEMA_NAME = "recommendations";
+	private static final Duration RESPONSE_FORMAT_COOL_DOWN = Duration.ofMinutes(15);
+	private static final long RESPONSE_FORMAT_ACCEPTED = Long.MIN_VALUE;
+	private static final Logger log = LoggerFactory.getLogger(OpenRouterLlmClient.class);
+
 	private final RestClient restClient;
-	private final OpenRouterProperties properties;
+	private final OpenRouterProperties.Endpoint endpoint;
+	private final ObjectMapper objectMapper;
+	private final Counter promptTokens;
+	private final Counter cachedPromptTokens;
+	private final Counter completionTokens;
+	private final JsonNode responseSchema;
+	// System.nanoTime() after which response_format is probed again, or RESPONSE_FORMAT_ACCEPTED.
+	private final AtomicLong responseFormatRetryAt = new AtomicLong(RESPONSE_FORMAT_ACCEPTED);
+	private final Counter responseFormatFallbacks;
 
-	public OpenRouterLlmClient(RestClient restClient, OpenRouterProperties properties) {
+	/**
+	 * @param responseSchema JSON schema for {@code response_format}; {@code null} disables structured
+	 * output regardless of the endpoint setting
+	 */
+	public OpenRouterLlmClient(RestClient restClient, OpenRouterProperties.Endpoint endpoint, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry, JsonNode responseSchema) {
 		this.restClient = restClient;
-		this.properties = properties;
+		this.endpoint = endpoint;
+		this.objectMapper = objectMapper;
+		this.promptTokens = tokenCounter(meterRegistry, "prompt");
+		this.cachedPromptTokens = tokenCounter(meterRegistry, "cached_prompt");
+		this.completionTokens = tokenCounter(meterRegistry, "completion");
+		this.responseSchema = Boolean.TRUE.equals(endpoint.structuredOutput()) ? responseSchema : null;
+		this.responseFormatFallbacks = Counter.builder("llm.structured_output.fallbacks")
+				.description("Endpoints that rejected response_format and fell back to the schema in the prompt")
+				.tag("endpoint", endpoint.name())
+				.register(meterRegistry);
+	}
+
+	public String name() {
+		return endpoint.name();
 	}
 
 	@Override
 	public String complete(String prompt) {
-		if (properties.apiKey() == null || properties.apiKey().isBlank()) {
-			throw new IllegalStateException("OpenRouter API key is not configured.");
-		}
-		OpenRouterChatRequest request = new OpenRouterChatRequest(
-				properties.model(),
-				List.of(new Message("user", prompt))
-		);
+		return complete(List.of(LlmMessage.user(prompt)));
+	}
 
+	@Override
+	public String complete(List<LlmMessage> messages) {
+		return complete(messages, LlmOptions.DEFAULT);
+	}
+
+	@Override
+	public String complete(List<LlmMessage> messages, LlmOptions options) {
+		return completion(messages, options).content();
+	}
+
+	@Override
+	public LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+		requireApiKey();
+		return withResponseFormatFallback(messages, null, options, request -> send(request, options));
+	}
+
+	@Override
+	public boolean supportsStructuredOutput() {
+		return responseSchema != null;
+	}
+
+
+	private String send(OpenRouterChatRequest request, LlmOptions options) {
 		try {
 			OpenRouterChatResponse response = restClient.post()
-					.uri(properties.baseUrl())
-					.header(HttpHeaders.AUTHORIZATION, "Bearer " + properties.apiKey())
+					.uri(endpoint.baseUrl())
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + endpoint.apiKey())
 					.contentType(MediaType.APPLICATION_JSON)
 					.accept(MediaType.APPLICATION_JSON)
 					.body(request)
@@ -40,6 +121,7 @@ public class OpenRouterLlmClient implements LlmClient {
 			if (response == null || response.choices() == null || response.choices().isEmpty()) {
 				throw new IllegalStateException("OpenRouter response missing choices.");
 			}
+			recordUsage(response.usage(), options);
 			Message message = response.choices().getFirst().message();
 			if (message == null || message.content() == null) {
 				throw new IllegalStateException("OpenRouter response missing content.");
@@ -50,10 +132,272 @@ public class OpenRouterLlmClient implements LlmClient {
 		}
 	}
 
-	public record OpenRouterChatRequest(String model, List<Message> messages) {
+	@Override
+	public String stream(String prompt, Consumer<String> onDelta) {
+		return stream(List.of(LlmMessage.user(prompt)), onDelta);
+	}
+
+	@Override
+	public String stream(List<LlmMessage> messages, Consumer<String> onDelta) {
+		return stream(messages, LlmOptions.DEFAULT, onDelta);
 	}
 
-	public record OpenRouterChatResponse(List<Choice> choices) {
+	@Override
+	public String stream(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return streamCompletion(messages, options, onDelta).content();
+	}
+
+	@Override
+	public LlmCompletion streamCompletion(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		requireApiKey();
+		return withResponseFormatFallback(messages, true, options, request -> sendStreaming(request, options, onDelta));
+	}
+
+	private String sendStreaming(OpenRouterChatRequest request, LlmOptions options, Consumer<String> onDelta) {
+		return restClient.post()
+				.uri(endpoint.baseUrl())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + endpoint.apiKey())
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.TEXT_EVENT_STREAM)
+				.body(request)
+				.exchange((clientRequest, clientResponse) -> {
+					if (clientResponse.getStatusCode().isError()) {
+						throw new RestClientResponseException(
+								"OpenRouter streaming request failed.",
+								clientResponse.getStatusCode(),
+								clientResponse.getStatusText(),
+								clientResponse.getHeaders(),
+								clientResponse.getBody().readAllBytes(),
+								StandardCharsets.UTF_8
+						);
+					}
+					return readStream(clientResponse.getBody(), options, onDelta);
+				});
+	}
+
+	/**
+	 * Reads an OpenRouter SSE stream: {@code data: {chunk}} lines terminated by {@code data: [DONE]}.
+	 * Comment lines (keep-alives starting with {@code :}) are skipped; the usage arrives with the
+	 * last chunk.
+	 */
+	private String readStream(InputStream body, LlmOptions options, Consumer<String> onDelta) throws IOException {
+		StringBuilder content = new StringBuilder();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.startsWith(SSE_DATA_PREFIX)) {
+					continue;
+				}
+				String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+				if (STREAM_DONE.equals(data)) {
+					break;
+				}
+				OpenRouterStreamChunk chunk = objectMapper.readValue(data, OpenRouterStreamChunk.class);
+				if (chunk.error() != null) {
+					throw new IllegalStateException("OpenRouter stream failed: " + chunk.error().message());
+				}
+				recordUsage(chunk.usage(), options);
+				String delta = chunk.deltaContent();
+				if (delta != null && !delta.isEmpty()) {
+					content.append(delta);
+					onDelta.accept(delta);
+				}
+			}
+		}
+		if (content.isEmpty()) {
+			throw new IllegalStateException("OpenRouter stream missing content.");
+		}
+		return content.toString();
+	}
+
+	/**
+	 * Sends with {@code response_format} while the endpoint accepts it. Errors are only reported
+	 * before any content is streamed, so a rejection can always be resent with the inline schema.
+	 */
+	private LlmCompletion withResponseFormatFallback(List<LlmMessage> messages, Boolean stream, LlmOptions options,
+			Function<OpenRouterChatRequest, String> send) {
+		if (responseSchema == null || !options.structuredOutput()) {
+			return completion(send.apply(chatRequest(messages, stream, options, null)), false);
+		}
+		if (sendResponseFormat()) {
+			try {
+				LlmCompletion completion = completion(
+						send.apply(chatRequest(messages, stream, options, ResponseFormat.jsonSchema(responseSchema))), true);
+				if (responseFormatRetryAt.get() != RESPONSE_FORMAT_ACCEPTED
+						&& responseFormatRetryAt.getAndSet(RESPONSE_FORMAT_ACCEPTED) != RESPONSE_FORMAT_ACCEPTED) {
+					log.info("LLM endpoint accepts response_format again. endpoint={}", endpoint.name());
+				}
+				return completion;
+			} catch (RestClientResponseException ex) {
+				if (!isResponseFormatRejection(ex)) {
+					throw ex;
+				}
+				long retryAt = System.nanoTime() + RESPONSE_FORMAT_COOL_DOWN.toNanos();
+				if (responseFormatRetryAt.getAndSet(retryAt) == RESPONSE_FORMAT_ACCEPTED) {
+					responseFormatFallbacks.increment();
+					log.warn("LLM endpoint rejected response_format; using the schema in the prompt. endpoint={}, status={}",
+							endpoint.name(), ex.getStatusCode());
+				}
+			}
+		}
+		return completion(send.apply(chatRequest(withInlineSchema(messages), stream, options, null)), false);
+	}
+
+	private LlmCompletion completion(String content, boolean structuredOutput) {
+		return new LlmCompletion(content, structuredOutput, endpoint.name());
+	}
+
+	/**
+	 * Whether this call sends {@code response_format}: always while the endpoint accepts it, and
+	 * once it was rejected only for the single call that claims the re-probe after the cool-down.
+	 */
+	private boolean sendResponseFormat() {
+		long retryAt = responseFormatRetryAt.get();
+		if (retryAt == RESPONSE_FORMAT_ACCEPTED) {
+			return true;
+		}
+		long now = System.nanoTime();
+		return now - retryAt >= 0
+				&& responseFormatRetryAt.compareAndSet(retryAt, now + RESPONSE_FORMAT_COOL_DOWN.toNanos());
+	}
+
+	/**
+	 * Providers answer 400 and OpenRouter 404 (no provider supports a required parameter); either
+	 * only counts when the body names the parameter, so a missing model or route is not mistaken
+	 * for it.
+	 */
+	private static boolean isResponseFormatRejection(RestClientResponseException ex) {
+		int status = ex.getStatusCode().value();
+		String body = ex.getResponseBodyAsString();
+		return (status == 400 || status == 404)
+				&& (body.contains("response_format") || body.contains("json_schema"));
+	}
+
+	/**
+	 * The caller left the schema out of the prompt because this endpoint supports structured
+	 * output, so it follows the leading system messages instead.
+	 */
+	private List<LlmMessage> withInlineSchema(List<LlmMessage> messages) {
+		int position = 0;
+		while (position < messages.size() && LlmMessage.SYSTEM.equals(messages.get(position).role())) {
+			position++;
+		}
+		List<LlmMessage> withSchema = new ArrayList<>(messages);
+		try {
+			withSchema.add(position, LlmMessage.system("Return JSON matching this JSON Schema:\n"
+					+ objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(responseSchema)));
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not serialize the response schema.", ex);
+		}
+		return withSchema;
+	}
+
+	/**
+	 * System messages are the static prompt prefix; with cache control enabled they are sent as a
+	 * text part carrying an ephemeral cache breakpoint. {@code require_parameters} keeps OpenRouter
+	 * from routing a structured request to a provider that would silently ignore the schema.
+	 */
+	private OpenRouterChatRequest chatRequest(List<LlmMessage> messages, Boolean stream, LlmOptions options,
+			ResponseFormat responseFormat) {
+		boolean cacheControl = Boolean.TRUE.equals(endpoint.cacheControl());
+		List<ChatMessage> chatMessages = messages.stream()
+				.map(message -> cacheControl && LlmMessage.SYSTEM.equals(message.role())
+						? new ChatMessage(message.role(), List.of(ContentPart.cached(message.content())))
+						: new ChatMessage(message.role(), message.content()))
+				.toList();
+		return new OpenRouterChatRequest(endpoint.model(), chatMessages, stream, options.temperature(),
+				options.maxTokens(), UsageOptions.INCLUDE, responseFormat,
+				responseFormat == null ? null : ProviderPreferences.REQUIRE_PARAMETERS);
+	}
+
+	private void recordUsage(Usage usage, LlmOptions options) {
+		if (usage == null) {
+			return;
+		}
+		int cachedTokens = usage.promptTokensDetails() == null ? 0 : usage.promptTokensDetails().cachedTokens();
+		promptTokens.increment(usage.promptTokens());
+		cachedPromptTokens.increment(cachedTokens);
+		completionTokens.increment(usage.completionTokens());
+		options.usageListener().accept(new LlmUsage(usage.promptTokens(), cachedTokens, usage.completionTokens()));
+	}
+
+	private Counter tokenCounter(MeterRegistry meterRegistry, String type) {
+		return Counter.builder("llm.tokens")
+				.description("Tokens reported by OpenRouter; cached_prompt is the part of the prompt served from cache")
+				.tags("endpoint", endpoint.name(), "type", type)
+				.register(meterRegistry);
+	}
+
+	private void requireApiKey() {
+		if (endpoint.apiKey() == null || endpoint.apiKey().isBlank()) {
+			throw new IllegalStateException("OpenRouter API key is not configured.");
+		}
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record OpenRouterChatRequest(
+			String model,
+			List<ChatMessage> messages,
+			Boolean stream,
+			Double temperature,
+			@JsonProperty("max_tokens") Integer maxTokens,
+			UsageOptions usage,
+			@JsonProperty("response_format") ResponseFormat responseFormat,
+			ProviderPreferences provider
+	) {
+	}
+
+	/**
+	 * Request message; {@code content} is either a string or a list of {@link ContentPart}s.
+	 */
+	public record ChatMessage(String role, Object content) {
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record ContentPart(String type, String text, @JsonProperty("cache_control") CacheControl cacheControl) {
+		static ContentPart cached(String text) {
+			return new ContentPart("text", text, new CacheControl("ephemeral"));
+		}
+	}
+
+	public record CacheControl(String type) {
+	}
+
+	public record UsageOptions(boolean include) {
+		static final UsageOptions INCLUDE = new UsageOptions(true);
+	}
+
+	public record ResponseFormat(String type, @JsonProperty("json_schema") JsonSchemaFormat jsonSchema) {
+		static ResponseFormat jsonSchema(JsonNode schema) {
+			return new ResponseFormat("json_schema", new JsonSchemaFormat(RESPONSE_SCHEMA_NAME, false, schema));
+		}
+	}
+
+	/**
+	 * {@code strict} stays off: strict mode requires every property to be required and rejects
+	 * {@code minItems}/{@code maxItems}, which the recommendation schema relies on.
+	 */
+	public record JsonSchemaFormat(String name, boolean strict, JsonNode schema) {
+	}
+
+	public record ProviderPreferences(@JsonProperty("require_parameters") boolean requireParameters) {
+		static final ProviderPreferences REQUIRE_PARAMETERS = new ProviderPreferences(true);
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record OpenRouterChatResponse(List<Choice> choices, Usage usage) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Usage(
+			@JsonProperty("prompt_tokens") int promptTokens,
+			@JsonProperty("completion_tokens") int completionTokens,
+			@JsonProperty("prompt_tokens_details") PromptTokensDetails promptTokensDetails
+	) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record PromptTokensDetails(@JsonProperty("cached_tokens") int cachedTokens) {
 	}
 
 	public record Choice(Message message) {
@@ -61,5 +405,26 @@ public class OpenRouterLlmClient implements LlmClient {
 
 	public record Message(String role, String content) {
 	}
-}
 
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record OpenRouterStreamChunk(List<StreamChoice> choices, StreamError error, Usage usage) {
+		String deltaContent() {
+			if (choices == null || choices.isEmpty() || choices.getFirst().delta() == null) {
+				return null;
+			}
+			return choices.getFirst().delta().content();
+		}
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record StreamChoice(StreamDelta delta) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record StreamDelta(String content) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record StreamError(String message) {
+	}
+}
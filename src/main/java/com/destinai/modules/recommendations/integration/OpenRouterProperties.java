@@ -1,13 +1,48 @@
 package com.destinai.modules.recommendations.integration;
 
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * OpenRouter settings. {@code endpoints} lists the model endpoints the router may use; fields an
+ * endpoint leaves blank fall back to the top-level values. Without endpoints, the top-level
+ * {@code baseUrl}/{@code model} is the only endpoint. {@code cacheControl} marks the system prompt
+ * with an explicit cache breakpoint, for providers that only cache on request (Anthropic, Gemini);
+ * others cache long prefixes automatically and ignore it. {@code structuredOutput} constrains
+ * responses with a JSON-schema {@code response_format}; endpoints whose model rejects it fall back
+ * to the schema in the prompt.
+ */
 @ConfigurationProperties(prefix = "openrouter")
 public record OpenRouterProperties(
 		String baseUrl,
 		String model,
 		String apiKey,
-		int timeoutSeconds
+		int timeoutSeconds,
+		boolean cacheControl,
+		boolean structuredOutput,
+		List<Endpoint> endpoints
 ) {
-}
+	public List<Endpoint> resolvedEndpoints() {
+		if (endpoints == null || endpoints.isEmpty()) {
+			return List.of(new Endpoint(model, baseUrl, model, apiKey, cacheControl, structuredOutput));
+		}
+		return endpoints.stream()
+				.map(endpoint -> new Endpoint(
+						orDefault(endpoint.name(), orDefault(endpoint.model(), model)),
+						orDefault(endpoint.baseUrl(), baseUrl),
+						orDefault(endpoint.model(), model),
+						orDefault(endpoint.apiKey(), apiKey),
+						endpoint.cacheControl() == null ? cacheControl : endpoint.cacheControl(),
+						endpoint.structuredOutput() == null ? structuredOutput : endpoint.structuredOutput()
+				))
+				.toList();
+	}
+
+	private static String orDefault(String value, String fallback) {
+		return value == null || value.isBlank() ? fallback : value;
+	}
 
+	public record Endpoint(String name, String baseUrl, String model, String apiKey, Boolean cacheControl,
+			Boolean structuredOutput) {
+	}
+}
@@ -0,0 +1,15 @@
+package com.destinai.modules.recommendations.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP transport for OpenRouter calls. With {@code http2} one connection multiplexes many
+ * requests. {@code gzip} asks for compressed (non-streaming) responses. The JDK client's
+ * keep-alive pool has no per-client settings; it is sized by JVM flags (see application.properties).
+ */
+@ConfigurationProperties(prefix = "openrouter.transport")
+public record OpenRouterTransportProperties(
+		boolean http2,
+		boolean gzip
+) {
+}
@@ -0,0 +1,105 @@
+package com.destinai.modules.recommendations.integration;
+
+import com.destinai.common.errors.LlmServiceException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Guards one LLM endpoint with a circuit breaker and a bulkhead. While the circuit is open, or
+ * when the bulkhead has no free slot, calls fail immediately with {@link LlmServiceException}
+ * instead of holding a request thread for the provider timeout.
+ */
+public class ResilientLlmClient implements LlmClient {
+	public static final String CIRCUIT_OPEN = "circuit_open";
+	public static final String BUSY = "llm_busy";
+
+	private final LlmClient delegate;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+
+	public ResilientLlmClient(LlmClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+		this.delegate = delegate;
+		this.circuitBreaker = circuitBreaker;
+		this.bulkhead = bulkhead;
+	}
+
+	/**
+	 * Timeouts, connection errors, 5xx and 429 count against the circuit; other 4xx responses
+	 * are our own request problems and do not say anything about provider health.
+	 */
+	public static boolean isProviderFailure(Throwable error) {
+		if (error instanceof RestClientResponseException responseError) {
+			return responseError.getStatusCode().is5xxServerError() || responseError.getStatusCode().value() == 429;
+		}
+		return error instanceof ResourceAccessException;
+	}
+
+	@Override
+	public String complete(String prompt) {
+		return guarded(() -> delegate.complete(prompt));
+	}
+
+	@Override
+	public String complete(List<LlmMessage> messages) {
+		return guarded(() -> delegate.complete(messages));
+	}
+
+	@Override
+	public String complete(List<LlmMessage> messages, LlmOptions options) {
+		return guarded(() -> delegate.complete(messages, options));
+	}
+
+	@Override
+	public String stream(String prompt, Consumer<String> onDelta) {
+		return guarded(() -> delegate.stream(prompt, onDelta));
+	}
+
+	@Override
+	public String stream(List<LlmMessage> messages, Consumer<String> onDelta) {
+		return guarded(() -> delegate.stream(messages, onDelta));
+	}
+
+	@Override
+	public String stream(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return guarded(() -> delegate.stream(messages, options, onDelta));
+	}
+
+	@Override
+	public LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+		return guarded(() -> delegate.completion(messages, options));
+	}
+
+	@Override
+	public LlmCompletion streamCompletion(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return guarded(() -> delegate.streamCompletion(messages, options, onDelta));
+	}
+
+	@Override
+	public boolean supportsStructuredOutput() {
+		return delegate.supportsStructuredOutput();
+	}
+
+	@Override
+	public void reportInvalidResponse(LlmCompletion completion) {
+		delegate.reportInvalidResponse(completion);
+	}
+
+	private <T> T guarded(Supplier<T> call) {
+		try {
+			// Breaker outside the bulkhead: an open circuit rejects without taking a bulkhead slot.
+			return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call)).get();
+		} catch (CallNotPermittedException ex) {
+			throw new LlmServiceException(CIRCUIT_OPEN,
+					"LLM endpoint " + circuitBreaker.getName() + " is unavailable (circuit open)", ex);
+		} catch (BulkheadFullException ex) {
+			throw new LlmServiceException(BUSY, "Too many concurrent LLM requests", ex);
+		}
+	}
+}
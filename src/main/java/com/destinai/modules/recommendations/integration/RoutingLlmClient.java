@@ -0,0 +1,291 @@
+package com.destinai.modules.recommendations.integration;
+
+import com.destinai.common.errors.LlmServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * {@link LlmClient} over several model endpoints. Each request goes to the healthy endpoint with
+ * the best latency-weighted score and fails over to the next one on error. Per-endpoint EWMA
+ * latency, error rate and validation-failure rate are exported as {@code llm.routing.*} meters.
+ */
+public class RoutingLlmClient implements LlmClient {
+	private static final Logger log = LoggerFactory.getLogger(RoutingLlmClient.class);
+	private static final double ERROR_PENALTY = 4.0;
+	private static final double VALIDATION_PENALTY = 2.0;
+
+	private final List<Route> routes;
+	private final LlmRoutingProperties properties;
+
+	public RoutingLlmClient(Map<String, LlmClient> clients, LlmRoutingProperties properties,
+			MeterRegistry meterRegistry) {
+		if (clients.isEmpty()) {
+			throw new IllegalArgumentException("At least one LLM endpoint is required.");
+		}
+		this.properties = properties;
+		this.routes = clients.entrySet().stream()
+				.map(entry -> new Route(entry.getKey(), entry.getValue(), meterRegistry))
+				.toList();
+	}
+
+	@Override
+	public String complete(String prompt) {
+		return route(client -> LlmCompletion.of(client.complete(prompt)), () -> true, null).content();
+	}
+
+	@Override
+	public String complete(List<LlmMessage> messages) {
+		return complete(messages, LlmOptions.DEFAULT);
+	}
+
+	@Override
+	public String complete(List<LlmMessage> messages, LlmOptions options) {
+		return completion(messages, options).content();
+	}
+
+	@Override
+	public LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+		return route(client -> client.completion(messages, options), () -> true, options.endpoint());
+	}
+
+	@Override
+	public String stream(String prompt, Consumer<String> onDelta) {
+		return stream(List.of(LlmMessage.user(prompt)), onDelta);
+	}
+
+	@Override
+	public String stream(List<LlmMessage> messages, Consumer<String> onDelta) {
+		return stream(messages, LlmOptions.DEFAULT, onDelta);
+	}
+
+	@Override
+	public String stream(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		return streamCompletion(messages, options, onDelta).content();
+	}
+
+	@Override
+	public LlmCompletion streamCompletion(List<LlmMessage> messages, LlmOptions options, Consumer<String> onDelta) {
+		AtomicBoolean emitted = new AtomicBoolean();
+		// Once content reached the caller a different endpoint would produce a mismatched stream.
+		return route(client -> client.streamCompletion(messages, options, delta -> {
+			emitted.set(true);
+			onDelta.accept(delta);
+		}), () -> !emitted.get(), options.endpoint());
+	}
+
+	/**
+	 * Any endpoint may serve a call, so the schema can only be left out when all of them
+	 * support structured output.
+	 */
+	@Override
+	public boolean supportsStructuredOutput() {
+		return routes.stream().allMatch(route -> route.client.supportsStructuredOutput());
+	}
+
+	@Override
+	public void reportInvalidResponse(LlmCompletion completion) {
+		routes.stream()
+				.filter(route -> route.name.equals(completion.endpoint()))
+				.findFirst()
+				.ifPresent(Route::recordValidationFailure);
+	}
+
+	/**
+	 * Serves {@code call} from the best endpoint, failing over to the next; the completion is
+	 * stamped with the endpoint that produced it, which {@link #reportInvalidResponse} blames.
+	 */
+	private LlmCompletion route(Function<LlmClient, LlmCompletion> call, BooleanSupplier canFailOver,
+			String pinnedEndpoint) {
+		List<Route> candidates = candidates(pinnedEndpoint);
+		for (int i = 0; i < candidates.size(); i++) {
+			Route route = candidates.get(i);
+			long startedAt = System.nanoTime();
+			try {
+				LlmCompletion completion = call.apply(route.client);
+				route.recordSuccess(System.nanoTime() - startedAt);
+				return completion.fromEndpoint(route.name);
+			} catch (RestClientException | IllegalStateException | LlmServiceException ex) {
+				if (!isEndpointFailure(ex)) {
+					throw ex;
+				}
+				// An open circuit was already counted by the endpoint's breaker.
+				if (!isCircuitOpen(ex)) {
+					route.recordFailure();
+				}
+				if (i + 1 == candidates.size() || !canFailOver.getAsBoolean()) {
+					throw ex;
+				}
+				route.failovers.increment();
+				log.warn("LLM endpoint failed; failing over. endpoint={}, next={}, reason={}",
+						route.name, candidates.get(i + 1).name, ex.getClass().getSimpleName());
+			}
+		}
+		throw new IllegalStateException("No LLM endpoint available.");
+	}
+
+	/**
+	 * Whether {@code error} says the endpoint cannot serve the call, so another one should. A full
+	 * bulkhead is local saturation shared by all endpoints, and 4xx responses other than 429 are
+	 * problems with our request; both are rethrown without touching endpoint health.
+	 */
+	private static boolean isEndpointFailure(RuntimeException error) {
+		if (error instanceof LlmServiceException) {
+			return isCircuitOpen(error);
+		}
+		if (error instanceof RestClientException) {
+			return ResilientLlmClient.isProviderFailure(error);
+		}
+		// IllegalStateException: the provider answered without usable content.
+		return true;
+	}
+
+	private static boolean isCircuitOpen(RuntimeException error) {
+		return error instanceof LlmServiceException serviceError
+				&& ResilientLlmClient.CIRCUIT_OPEN.equals(serviceError.getReasonCode());
+	}
+
+	/**
+	 * Healthy endpoints by score, then unhealthy ones as a last resort. An unhealthy endpoint due
+	 * for a probe goes first; occasionally a random healthy endpoint is tried first instead. A
+	 * pinned endpoint goes first regardless, with the others kept as failover.
+	 */
+	private List<Route> candidates(String pinnedEndpoint) {
+		long now = System.nanoTime();
+		List<Route> healthy = new ArrayList<>();
+		List<Route> unhealthy = new ArrayList<>();
+		for (Route route : routes) {
+			(route.isHealthy() ? healthy : unhealthy).add(route);
+		}
+		healthy.sort(Comparator.comparingDouble(Route::score));
+		unhealthy.sort(Comparator.comparingDouble(Route::score));
+
+		if (healthy.size() > 1 && ThreadLocalRandom.current().nextDouble() < properties.explorationRate()) {
+			healthy.addFirst(healthy.remove(ThreadLocalRandom.current().nextInt(1, healthy.size())));
+		}
+		List<Route> ordered = new ArrayList<>(routes.size());
+		unhealthy.stream()
+				.filter(route -> route.tryProbe(now))
+				.findFirst()
+				.ifPresent(probe -> {
+					unhealthy.remove(probe);
+					ordered.add(probe);
+				});
+		ordered.addAll(healthy);
+		ordered.addAll(unhealthy);
+		if (pinnedEndpoint != null) {
+			ordered.stream()
+					.filter(route -> route.name.equals(pinnedEndpoint))
+					.findFirst()
+					.ifPresent(pinned -> {
+						ordered.remove(pinned);
+						ordered.addFirst(pinned);
+					});
+		}
+		return ordered;
+	}
+
+	private final class Route {
+		private final String name;
+		private final LlmClient client;
+		private final Counter successes;
+		private final Counter failures;
+		private final Counter failovers;
+		private double latencyMillis;
+		private double errorRate;
+		private double validationFailureRate;
+		private long nextProbeAt;
+
+		private Route(String name, LlmClient client, MeterRegistry meterRegistry) {
+			this.name = name;
+			this.client = client;
+			this.successes = outcomeCounter(meterRegistry, "success");
+			this.failures = outcomeCounter(meterRegistry, "error");
+			this.failovers = Counter.builder("llm.routing.failovers")
+					.description("Requests moved to another endpoint after this one failed")
+					.tag("endpoint", name)
+					.register(meterRegistry);
+			Gauge.builder("llm.routing.latency.ewma", this, Route::latencyMillis)
+					.baseUnit("milliseconds")
+					.tag("endpoint", name)
+					.register(meterRegistry);
+			Gauge.builder("llm.routing.error.rate", this, Route::errorRate)
+					.tag("endpoint", name)
+					.register(meterRegistry);
+			Gauge.builder("llm.routing.validation.failure.rate", this, Route::validationFailureRate)
+					.tag("endpoint", name)
+					.register(meterRegistry);
+		}
+
+		private Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+			return Counter.builder("llm.routing.requests")
+					.description("LLM requests routed to an endpoint")
+					.tag("endpoint", name)
+					.tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+
+		synchronized void recordSuccess(long elapsedNanos) {
+			double alpha = properties.ewmaAlpha();
+			double elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+			latencyMillis = latencyMillis == 0 ? elapsedMillis : alpha * elapsedMillis + (1 - alpha) * latencyMillis;
+			errorRate = (1 - alpha) * errorRate;
+			validationFailureRate = (1 - alpha) * validationFailureRate;
+			successes.increment();
+		}
+
+		synchronized void recordFailure() {
+			errorRate = properties.ewmaAlpha() + (1 - properties.ewmaAlpha()) * errorRate;
+			nextProbeAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.probeIntervalSeconds());
+			failures.increment();
+		}
+
+		synchronized void recordValidationFailure() {
+			validationFailureRate = properties.ewmaAlpha() + (1 - properties.ewmaAlpha()) * validationFailureRate;
+		}
+
+		synchronized boolean tryProbe(long now) {
+			if (now - nextProbeAt < 0) {
+				return false;
+			}
+			nextProbeAt = now + TimeUnit.SECONDS.toNanos(properties.probeIntervalSeconds());
+			return true;
+		}
+
+		synchronized boolean isHealthy() {
+			return errorRate < properties.unhealthyErrorRate();
+		}
+
+		/**
+		 * Lower is better. Endpoints without latency samples score 0 so they are tried early.
+		 */
+		synchronized double score() {
+			return latencyMillis * (1 + ERROR_PENALTY * errorRate + VALIDATION_PENALTY * validationFailureRate);
+		}
+
+		synchronized double latencyMillis() {
+			return latencyMillis;
+		}
+
+		synchronized double errorRate() {
+			return errorRate;
+		}
+
+		synchronized double validationFailureRate() {
+			return validationFailureRate;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.destinai.modules.recommendations.integration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Exposes OpenRouter requests in flight (until response headers arrive). The JDK client does not
+ * publish its connection pool, so this is the closest observable proxy for transport load.
+ */
+public class TransportMetricsInterceptor implements ClientHttpRequestInterceptor {
+	private final AtomicInteger active = new AtomicInteger();
+
+	public TransportMetricsInterceptor(MeterRegistry meterRegistry) {
+		Gauge.builder("llm.http.requests.active", active, AtomicInteger::get)
+				.description("OpenRouter HTTP requests waiting for response headers")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		active.incrementAndGet();
+		try {
+			return execution.execute(request, body);
+		} finally {
+			active.decrementAndGet();
+		}
+	}
+}
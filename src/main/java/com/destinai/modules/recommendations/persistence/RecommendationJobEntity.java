@@ -0,0 +1,132 @@
+package com.destinai.modules.recommendations.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Table(name = "recommendation_jobs")
+public class RecommendationJobEntity {
+	@Id
+	private UUID id;
+
+	@Column(name = "user_id", nullable = false)
+	private UUID userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 16)
+	private RecommendationJobStatus status;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name = "request_payload", nullable = false)
+	private String requestPayload;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name = "result_payload")
+	private String resultPayload;
+
+	@Column(name = "error_code", length = 64)
+	private String errorCode;
+
+	@Column(name = "attempt_count", nullable = false)
+	private int attemptCount;
+
+	@Column(name = "locked_by", length = 100)
+	private String lockedBy;
+
+	@Column(name = "locked_until")
+	private Instant lockedUntil;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "completed_at")
+	private Instant completedAt;
+
+	protected RecommendationJobEntity() {
+	}
+
+	public RecommendationJobEntity(UUID id, UUID userId, String requestPayload, Instant createdAt) {
+		this.id = id;
+		this.userId = userId;
+		this.status = RecommendationJobStatus.PENDING;
+		this.requestPayload = requestPayload;
+		this.attemptCount = 0;
+		this.createdAt = createdAt;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public UUID getUserId() {
+		return userId;
+	}
+
+	public RecommendationJobStatus getStatus() {
+		return status;
+	}
+
+	public String getRequestPayload() {
+		return requestPayload;
+	}
+
+	public String getResultPayload() {
+		return resultPayload;
+	}
+
+	public String getErrorCode() {
+		return errorCode;
+	}
+
+	public int getAttemptCount() {
+		return attemptCount;
+	}
+
+	public String getLockedBy() {
+		return lockedBy;
+	}
+
+	public Instant getLockedUntil() {
+		return lockedUntil;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getCompletedAt() {
+		return completedAt;
+	}
+
+	public void markRunning(String workerId, Instant lockedUntil) {
+		this.status = RecommendationJobStatus.RUNNING;
+		this.lockedBy = workerId;
+		this.lockedUntil = lockedUntil;
+		this.attemptCount++;
+	}
+
+	public void markSucceeded(String resultPayload, Instant completedAt) {
+		this.status = RecommendationJobStatus.SUCCEEDED;
+		this.resultPayload = resultPayload;
+		this.errorCode = null;
+		this.lockedBy = null;
+		this.lockedUntil = null;
+		this.completedAt = completedAt;
+	}
+
+	public void markFailed(String errorCode, Instant completedAt) {
+		this.status = RecommendationJobStatus.FAILED;
+		this.errorCode = errorCode;
+		this.lockedBy = null;
+		this.lockedUntil = null;
+		this.completedAt = completedAt;
+	}
+}
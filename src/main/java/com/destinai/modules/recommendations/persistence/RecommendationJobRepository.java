@@ -0,0 +1,52 @@
+package com.destinai.modules.recommendations.persistence;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RecommendationJobRepository extends JpaRepository<RecommendationJobEntity, UUID> {
+	Optional<RecommendationJobEntity> findByIdAndUserId(UUID id, UUID userId);
+
+	/**
+	 * Locks up to {@code limit} pending jobs (or running jobs whose lease expired) for the
+	 * current transaction. Rows locked by other workers are skipped, not waited on.
+	 */
+	@Query(value = """
+			select * from recommendation_jobs
+			where status = 'PENDING'
+			   or (status = 'RUNNING' and locked_until < :now)
+			order by created_at
+			limit :limit
+			for update skip locked
+			""", nativeQuery = true)
+	List<RecommendationJobEntity> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+	/**
+	 * Extends the lease of the given jobs, as long as they are still running under
+	 * {@code workerId}.
+	 */
+	@Modifying
+	@Query("""
+			update RecommendationJobEntity j
+			set j.lockedUntil = :lockedUntil
+			where j.id in :ids
+			  and j.lockedBy = :workerId
+			  and j.status = com.destinai.modules.recommendations.persistence.RecommendationJobStatus.RUNNING
+			""")
+	int extendLeases(@Param("ids") Collection<UUID> ids, @Param("workerId") String workerId,
+			@Param("lockedUntil") Instant lockedUntil);
+
+	@Query("""
+			select j from RecommendationJobEntity j
+			where j.id in :ids
+			  and j.status in (com.destinai.modules.recommendations.persistence.RecommendationJobStatus.SUCCEEDED,
+			                   com.destinai.modules.recommendations.persistence.RecommendationJobStatus.FAILED)
+			""")
+	List<RecommendationJobEntity> findFinishedByIdIn(@Param("ids") Collection<UUID> ids);
+}
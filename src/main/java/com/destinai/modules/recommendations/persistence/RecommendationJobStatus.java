@@ -0,0 +1,12 @@
+package com.destinai.modules.recommendations.persistence;
+
+public enum RecommendationJobStatus {
+	PENDING,
+	RUNNING,
+	SUCCEEDED,
+	FAILED;
+
+	public boolean isFinished() {
+		return this == SUCCEEDED || this == FAILED;
+	}
+}
@@ -0,0 +1,45 @@
+package com.destinai.modules.recommendations.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Table(name = "recommendation_results")
+public class RecommendationResultEntity {
+	@EmbeddedId
+	private RecommendationResultKey key;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name = "result_payload", nullable = false)
+	private String resultPayload;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	protected RecommendationResultEntity() {
+	}
+
+	public RecommendationResultKey getKey() {
+		return key;
+	}
+
+	public String getResultPayload() {
+		return resultPayload;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+}
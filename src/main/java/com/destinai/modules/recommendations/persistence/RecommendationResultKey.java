@@ -0,0 +1,52 @@
+package com.destinai.modules.recommendations.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class RecommendationResultKey implements Serializable {
+	@Column(name = "fingerprint", nullable = false, length = 64)
+	private String fingerprint;
+
+	@Column(name = "prompt_version", nullable = false, length = 32)
+	private String promptVersion;
+
+	@Column(name = "model", nullable = false, length = 200)
+	private String model;
+
+	protected RecommendationResultKey() {
+	}
+
+	public RecommendationResultKey(String fingerprint, String promptVersion, String model) {
+		this.fingerprint = fingerprint;
+		this.promptVersion = promptVersion;
+		this.model = model;
+	}
+
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	public String getPromptVersion() {
+		return promptVersion;
+	}
+
+	public String getModel() {
+		return model;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof RecommendationResultKey key
+				&& fingerprint.equals(key.fingerprint)
+				&& promptVersion.equals(key.promptVersion)
+				&& model.equals(key.model);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(fingerprint, promptVersion, model);
+	}
+}
@@ -0,0 +1,42 @@
+package com.destinai.modules.recommendations.persistence;
+
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RecommendationResultRepository extends JpaRepository<RecommendationResultEntity, RecommendationResultKey> {
+	@Query("""
+			select r from RecommendationResultEntity r
+			where r.key = :key
+			  and r.expiresAt > :now
+			  and r.createdAt > :notBefore
+			""")
+	Optional<RecommendationResultEntity> findFresh(@Param("key") RecommendationResultKey key, @Param("now") Instant now,
+			@Param("notBefore") Instant notBefore);
+
+	/**
+	 * Inserts or replaces a result; concurrent writers of the same key keep the last write.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert into recommendation_results (fingerprint, prompt_version, model, result_payload, created_at, expires_at)
+			values (:fingerprint, :promptVersion, :model, cast(:resultPayload as jsonb), :createdAt, :expiresAt)
+			on conflict (fingerprint, prompt_version, model) do update
+			set result_payload = excluded.result_payload,
+			    created_at = excluded.created_at,
+			    expires_at = excluded.expires_at
+			""", nativeQuery = true)
+	void upsert(@Param("fingerprint") String fingerprint, @Param("promptVersion") String promptVersion,
+			@Param("model") String model, @Param("resultPayload") String resultPayload,
+			@Param("createdAt") Instant createdAt, @Param("expiresAt") Instant expiresAt);
+
+	@Transactional
+	@Modifying
+	@Query("delete from RecommendationResultEntity r where r.expiresAt <= :now")
+	int deleteExpired(@Param("now") Instant now);
+}
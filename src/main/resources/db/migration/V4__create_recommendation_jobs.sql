@@ -0,0 +1,30 @@
+-- =============================================================================
+-- Asynchronous recommendation jobs
+-- =============================================================================
+
+-- Jobs are claimed by worker nodes with SELECT ... FOR UPDATE SKIP LOCKED.
+-- A RUNNING job whose lease (locked_until) has passed is reclaimable, so jobs
+-- survive node restarts.
+CREATE TABLE recommendation_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE RESTRICT,
+    status VARCHAR(16) NOT NULL,
+    request_payload JSONB NOT NULL,
+    result_payload JSONB,
+    error_code VARCHAR(64),
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    locked_by VARCHAR(100),
+    locked_until TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    completed_at TIMESTAMPTZ,
+
+    CONSTRAINT chk_recommendation_jobs_status
+        CHECK (status IN ('PENDING', 'RUNNING', 'SUCCEEDED', 'FAILED'))
+);
+
+-- Claim queue: only unfinished jobs are scanned
+CREATE INDEX idx_recommendation_jobs_claimable ON recommendation_jobs (created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- Job lookups by owner
+CREATE INDEX idx_recommendation_jobs_user_id ON recommendation_jobs (user_id);
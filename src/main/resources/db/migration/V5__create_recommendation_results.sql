@@ -0,0 +1,21 @@
+-- =============================================================================
+-- Shared recommendation results
+-- =============================================================================
+
+-- Second-tier cache shared by all nodes, consulted before the LLM is called.
+-- fingerprint is the SHA-256 of the canonical questionnaire; a result is only
+-- reused for the same prompt version and model. Rows past expires_at are
+-- ignored on read and deleted by a periodic sweep.
+CREATE TABLE recommendation_results (
+    fingerprint VARCHAR(64) NOT NULL,
+    prompt_version VARCHAR(32) NOT NULL,
+    model VARCHAR(200) NOT NULL,
+    result_payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    expires_at TIMESTAMPTZ NOT NULL,
+
+    PRIMARY KEY (fingerprint, prompt_version, model)
+);
+
+-- Expiry sweep
+CREATE INDEX idx_recommendation_results_expires_at ON recommendation_results (expires_at);
@@ -77,49 +77,14 @@
 			return;
 		}
 
+		// Generation is streamed on the results page, so cards appear as soon as they are ready.
+		sessionStorage.setItem(
+			"destinai_questionnaire_payload",
+			JSON.stringify(payload)
+		);
+		sessionStorage.removeItem("destinai_result_id");
 		setLoading(true);
-		setStatus("Generating recommendations...", false);
-
-		const csrf = readCsrfHeader();
-		const headers = {
-			"Content-Type": "application/json",
-		};
-		if (csrf?.headerName && csrf.token) {
-			headers[csrf.headerName] = csrf.token;
-		}
-
-		try {
-			const response = await fetch("/api/recommendations", {
-				method: "POST",
-				credentials: "include",
-				headers,
-				body: JSON.stringify(payload),
-			});
-
-			if (response.status === 401) {
-				window.location.href = "/login";
-				return;
-			}
-
-			if (!response.ok) {
-				throw new Error("Service is temporarily unavailable. Please try again later.");
-			}
-
-			sessionStorage.setItem(
-				"destinai_questionnaire_payload",
-				JSON.stringify(payload)
-			);
-			window.location.href = "/results";
-		} catch (error) {
-			setStatus(
-				error instanceof Error
-					? error.message
-					: "Service is temporarily unavailable. Please try again later.",
-				true
-			);
-		} finally {
-			setLoading(false);
-		}
+		window.location.href = "/results";
 	});
 
 	updateSubmitState();
@@ -33,9 +33,9 @@
 
 	const setStatus = (status, message) => {
 		errorMessageEl.textContent = message || "";
-		loadingEl.hidden = status !== "loading";
+		loadingEl.hidden = status !== "loading" && status !== "streaming";
 		errorEl.hidden = status !== "error";
-		listEl.hidden = status !== "loaded";
+		listEl.hidden = status !== "loaded" && status !== "streaming";
 	};
 
 	const createList = (items) => {
@@ -105,6 +105,16 @@
 		heading.textContent = item.country || "—";
 		card.appendChild(heading);
 
+		// Shortlisted cards carry only country and region until their details arrive.
+		if (!item.why_match) {
+			card.classList.add("recommendation-card-pending");
+			const pending = document.createElement("p");
+			pending.className = "pending-status";
+			pending.setAttribute("role", "status");
+			pending.textContent = "Loading details...";
+			card.appendChild(pending);
+		}
+
 		const details = document.createElement("dl");
 		details.appendChild(createField("Region", item.region));
 		details.appendChild(
@@ -201,34 +211,146 @@
 		}
 	};
 
-	const fetchRecommendations = async () => {
-		setStatus("loading", "");
+	const loadStoredResult = async (resultId) => {
+		const response = await fetch(`/api/recommendations/${encodeURIComponent(resultId)}`, {
+			method: "GET",
+			credentials: "include",
+		});
+		if (response.status === 404) {
+			// Result expired or belongs to another session; fall back to generating again.
+			sessionStorage.removeItem("destinai_result_id");
+			return null;
+		}
+		return response;
+	};
+
+	const jsonHeaders = (accept) => {
 		const csrf = readCsrfHeader();
 		const headers = {
 			"Content-Type": "application/json",
+			Accept: accept,
 		};
 		if (csrf?.headerName && csrf.token) {
 			headers[csrf.headerName] = csrf.token;
 		}
+		return headers;
+	};
 
-		try {
-			const response = await fetch("/api/recommendations", {
-				method: "POST",
-				credentials: "include",
-				headers,
-				body: JSON.stringify(requestPayload),
-			});
+	const generateResult = async () => {
+		return fetch("/api/recommendations", {
+			method: "POST",
+			credentials: "include",
+			headers: jsonHeaders("application/json"),
+			body: JSON.stringify(requestPayload),
+		});
+	};
 
-			if (response.status === 401) {
-				window.location.href = "/login";
-				return;
+	const parseSseFrame = (frame) => {
+		let name = "message";
+		const dataLines = [];
+		frame.split(/\r?\n/).forEach((line) => {
+			if (line.startsWith("event:")) {
+				name = line.slice(6).trim();
+			} else if (line.startsWith("data:")) {
+				dataLines.push(line.slice(5));
 			}
+		});
+		return { name, data: dataLines.length ? JSON.parse(dataLines.join("\n")) : null };
+	};
 
-			if (!response.ok) {
-				throw new Error("Service is temporarily unavailable. Please try again later.");
+	// Streams the generation; cards are rendered as soon as each destination is validated, or as
+	// soon as the countries are shortlisted when the server generates in two phases.
+	// Resolves with the final payload (which replaces the streamed cards), or null after a redirect.
+	const streamResult = async () => {
+		const response = await fetch("/api/recommendations/stream", {
+			method: "POST",
+			credentials: "include",
+			headers: jsonHeaders("text/event-stream"),
+			body: JSON.stringify(requestPayload),
+		});
+
+		if (response.status === 401) {
+			window.location.href = "/login";
+			return null;
+		}
+		if (!response.ok) {
+			throw new Error("Service is temporarily unavailable. Please try again later.");
+		}
+		if (!response.body) {
+			return readResponse(await generateResult());
+		}
+
+		const reader = response.body.getReader();
+		const decoder = new TextDecoder();
+		const streamed = [];
+		let buffer = "";
+		for (;;) {
+			const { value, done } = await reader.read();
+			if (done) {
+				break;
+			}
+			buffer += decoder.decode(value, { stream: true });
+			let boundary = buffer.search(/\r?\n\r?\n/);
+			while (boundary >= 0) {
+				const frame = buffer.slice(0, boundary);
+				buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, "");
+				const event = parseSseFrame(frame);
+				if (event.name === "shortlist" && Array.isArray(event.data)) {
+					streamed.splice(0, streamed.length, ...event.data);
+					createList(streamed);
+					setStatus("streaming", "");
+				} else if (event.name === "destination" && event.data) {
+					// Details replace the shortlisted card of the same country.
+					const index = streamed.findIndex((item) => item.country === event.data.country);
+					if (index >= 0) {
+						streamed[index] = event.data;
+					} else {
+						streamed.push(event.data);
+					}
+					createList(streamed);
+					setStatus("streaming", "");
+				} else if (event.name === "result") {
+					reader.cancel().catch(() => {});
+					return event.data;
+				} else if (event.name === "error") {
+					reader.cancel().catch(() => {});
+					throw new Error(
+						event.data?.message || "Service is temporarily unavailable. Please try again later."
+					);
+				}
+				boundary = buffer.search(/\r?\n\r?\n/);
+			}
+		}
+		throw new Error("We couldn't load your results. Please try again.");
+	};
+
+	const readResponse = async (response) => {
+		if (response.status === 401) {
+			window.location.href = "/login";
+			return null;
+		}
+
+		if (!response.ok) {
+			throw new Error("Service is temporarily unavailable. Please try again later.");
+		}
+
+		return response.json();
+	};
+
+	const fetchRecommendations = async (forceGenerate) => {
+		setStatus("loading", "");
+
+		try {
+			const resultId = forceGenerate ? null : sessionStorage.getItem("destinai_result_id");
+			const storedResponse = resultId ? await loadStoredResult(resultId) : null;
+			const data = storedResponse ? await readResponse(storedResponse) : await streamResult();
+			if (data === null) {
+				return;
 			}
 
-			const data = await response.json();
+			if (data?.result_id) {
+				sessionStorage.setItem("destinai_result_id", data.result_id);
+			}
 			if (!data?.destinations || data.destinations.length !== 5) {
 				throw new Error("We couldn't load your results. Please try again.");
 			}
@@ -246,9 +368,9 @@
 	};
 
 	retryButton.addEventListener("click", () => {
-		fetchRecommendations();
+		fetchRecommendations(true);
 	});
 
-	fetchRecommendations();
+	fetchRecommendations(false);
 })();
 
@@ -0,0 +1,163 @@
+package com.destinai.benchmark;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.BackoffLlmRetryPolicy;
+import com.destinai.api.service.recommendations.CountryGazetteer;
+import com.destinai.api.service.recommendations.LlmHedger;
+import com.destinai.api.service.recommendations.LlmHedgingProperties;
+import com.destinai.api.service.recommendations.LlmRetryProperties;
+import com.destinai.api.service.recommendations.RecommendationBatchProperties;
+import com.destinai.api.service.recommendations.RecommendationBatcher;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties;
+import com.destinai.api.service.recommendations.RecommendationExperiments;
+import com.destinai.api.service.recommendations.RecommendationFanOutProperties;
+import com.destinai.api.service.recommendations.RecommendationPromptBuilder;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.api.service.recommendations.RecommendationResponseParser;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator;
+import com.destinai.api.service.recommendations.RecommendationService;
+import com.destinai.api.service.recommendations.RecommendationTwoPhaseProperties;
+import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.LlmMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of distinct concurrent generations with and without micro-batching, against a local
+ * stub provider that serves a few calls at a time, each costing a fixed overhead plus a share per
+ * questionnaire (roughly the shape of a rate-limited completion API). Run with
+ * {@code mvn test-compile} and then {@link #main} (e.g. from the IDE).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(32)
+@Fork(1)
+public class RecommendationBatchingBenchmark {
+	private static final int PROVIDER_CONCURRENCY = 4;
+	private static final long CALL_OVERHEAD_MILLIS = 40;
+	private static final long QUESTIONNAIRE_MILLIS = 10;
+
+	@Param({"false", "true"})
+	public boolean batching;
+
+	@Param({"4", "8"})
+	public int maxBatchSize;
+
+	private final AtomicLong requests = new AtomicLong();
+	private RecommendationService service;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RecommendationBatchingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RecommendationPromptBuilder promptBuilder = new RecommendationPromptBuilder();
+		service = new RecommendationService(
+				new StubProvider(),
+				promptBuilder,
+				objectMapper,
+				new RecommendationResponseParser(objectMapper, new RecommendationSchemaValidator(objectMapper)),
+				new CountryGazetteer(),
+				new LlmHedger(new LlmHedgingProperties(false, 0, 0, 0), meterRegistry),
+				new BackoffLlmRetryPolicy(new LlmRetryProperties(1, 1, 10, 2.0, 0.1, 10), meterRegistry),
+				new RecommendationExperiments(new RecommendationExperimentProperties(false, null, null), promptBuilder,
+						meterRegistry),
+				new RecommendationFanOutProperties(false, 0, 0),
+				new RecommendationTwoPhaseProperties(false, 0, 0),
+				new RecommendationBatcher(new RecommendationBatchProperties(batching, 20, maxBatchSize), meterRegistry),
+				meterRegistry
+		);
+	}
+
+	/**
+	 * A distinct questionnaire per invocation, so nothing is coalesced or cached.
+	 */
+	@Benchmark
+	public RecommendationResult generate() {
+		long request = requests.incrementAndGet();
+		return service.generate(new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS,
+				List.of("hiking", "surfing", "request " + request), Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER));
+	}
+
+	private static final class StubProvider implements LlmClient {
+		private final Semaphore slots = new Semaphore(PROVIDER_CONCURRENCY, true);
+
+		@Override
+		public String complete(String prompt) {
+			return complete(List.of(LlmMessage.user(prompt)));
+		}
+
+		@Override
+		public String complete(List<LlmMessage> messages) {
+			String prompt = messages.getLast().content();
+			int questionnaires = Math.max(1, prompt.split("Questionnaire q", -1).length - 1);
+			slots.acquireUninterruptibly();
+			try {
+				Thread.sleep(CALL_OVERHEAD_MILLIS + QUESTIONNAIRE_MILLIS * questionnaires);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			} finally {
+				slots.release();
+			}
+			if (!prompt.contains("Questionnaire q")) {
+				return response();
+			}
+			StringJoiner answers = new StringJoiner(",", "{\"answers\":{", "}}");
+			for (int i = 1; i <= questionnaires; i++) {
+				answers.add("\"q" + i + "\":" + response());
+			}
+			return answers.toString();
+		}
+
+		private static String response() {
+			StringJoiner destinations = new StringJoiner(",", "{\"schema_version\":\"1.0\",\"destinations\":[", "]}");
+			String[][] countries = {
+					{"Portugal", "Europe"}, {"Japan", "East Asia"}, {"Canada", "North America"},
+					{"Chile", "Latin America/Caribbean"}, {"New Zealand", "Oceania"}
+			};
+			for (String[] country : countries) {
+				destinations.add("{\"country\":\"" + country[0] + "\",\"region\":\"" + country[1] + "\","
+						+ "\"estimated_daily_budget_eur_range\":\"60-120\",\"best_months\":[\"June\"],"
+						+ "\"weather_summary\":\"Warm and dry.\",\"accommodation_fit\":\"Plenty of hostels.\","
+						+ "\"travel_style_fit\":\"Easy to backpack.\",\"top_activities\":[\"Hiking\",\"Surfing\"],"
+						+ "\"pros\":[\"Affordable\"],\"cons\":[\"Busy in summer\"],\"why_match\":\"Outdoor activities.\","
+						+ "\"relaxed_constraints\":[]}");
+			}
+			return destinations.toString();
+		}
+	}
+}
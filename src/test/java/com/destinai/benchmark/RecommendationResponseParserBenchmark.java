@@ -0,0 +1,200 @@
+package com.destinai.benchmark;
+
+import com.destinai.api.dto.recommendations.DestinationDto;
+import com.destinai.api.service.recommendations.RecommendationResponseParser;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the single-pass {@link RecommendationResponseParser} with the previous tree-based
+ * pipeline (clean, readTree, normalize, truncate, fill, treeToValue, extract). Run with
+ * {@code mvn test-compile} and then {@link #main} (e.g. from the IDE); add {@code -prof gc}
+ * to JMH arguments to compare allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationResponseParserBenchmark {
+	private ObjectMapper objectMapper;
+	private RecommendationResponseParser streamingParser;
+	private TreeResponseParser treeParser;
+	private String response;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RecommendationResponseParserBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		streamingParser = new RecommendationResponseParser(objectMapper, new RecommendationSchemaValidator(objectMapper));
+		treeParser = new TreeResponseParser(objectMapper);
+		response = sampleResponse();
+	}
+
+	@Benchmark
+	public RecommendationResponseParser.ParsedResponse singlePassParser() throws IOException {
+		return streamingParser.parse(response);
+	}
+
+	@Benchmark
+	public TreeResult treePipeline() throws IOException {
+		return treeParser.parse(response);
+	}
+
+	private static String sampleResponse() {
+		StringBuilder json = new StringBuilder("Here are your destinations:\n```json\n{\"schema_version\":\"1.0\",\"destinations\":[");
+		String[][] destinations = {
+				{"Portugal", "Europe"}, {"Japan", "East Asia"}, {"Canada", "North America"},
+				{"Chile", "Latin America/Caribbean"}, {"New Zealand", "Oceania"}
+		};
+		for (int i = 0; i < destinations.length; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"country\":\"").append(destinations[i][0]).append("\",")
+					.append("\"region\":\"").append(destinations[i][1]).append("\",")
+					.append("\"estimated_daily_budget_eur_range\":\"60-120\",")
+					.append("\"best_months\":\"May\",")
+					.append("\"weather_summary\":\"").append("Warm, sunny and dry with cool evenings. ".repeat(4)).append("\",")
+					.append("\"accommodation_fit\":\"Plenty of hostels and guesthouses.\",")
+					.append("\"travel_style_fit\":\"Easy to backpack with buses and trains.\",")
+					.append("\"top_activities\":[\"Hiking\",\"Surfing\"],")
+					.append("\"pros\":[\"Affordable\",\"Great food\"],")
+					.append("\"cons\":[],")
+					.append("\"why_match\":\"Matches budget, weather and outdoor activities.\",")
+					.append("\"relaxed_constraints\":[\"budget\",\"\"]}");
+		}
+		return json.append("]}\n```").toString();
+	}
+
+	public record TreeResult(List<DestinationDto> destinations, List<List<String>> relaxedConstraints) {
+	}
+
+	/**
+	 * The tree-based pipeline that {@link RecommendationResponseParser} replaced.
+	 */
+	private static final class TreeResponseParser {
+		private static final int MAX_TEXT_LENGTH = 120;
+		private static final String[] TEXT_FIELDS = {
+				"estimated_daily_budget_eur_range", "weather_summary", "accommodation_fit", "travel_style_fit", "why_match"
+		};
+		private static final String[] LIST_FIELDS = {"best_months", "top_activities", "pros", "cons", "relaxed_constraints"};
+		private static final Map<String, String> LIST_DEFAULTS = Map.of(
+				"best_months", "Year-round",
+				"top_activities", "General exploration",
+				"pros", "Good destination",
+				"cons", "Consider your preferences"
+		);
+
+		private final ObjectMapper objectMapper;
+
+		private TreeResponseParser(ObjectMapper objectMapper) {
+			this.objectMapper = objectMapper;
+		}
+
+		private TreeResult parse(String response) throws IOException {
+			JsonNode payload = objectMapper.readTree(clean(response));
+			List<DestinationDto> destinations = new ArrayList<>();
+			List<List<String>> relaxations = new ArrayList<>();
+			for (JsonNode node : payload.get("destinations")) {
+				ObjectNode destination = (ObjectNode) node;
+				for (String field : new String[]{"country", "region", "estimated_daily_budget_eur_range",
+						"weather_summary", "accommodation_fit", "travel_style_fit", "why_match"}) {
+					if (!destination.hasNonNull(field) || !destination.get(field).isTextual()) {
+						throw new IllegalStateException("schema_invalid");
+					}
+				}
+				normalize(destination);
+				truncate(destination);
+				fill(destination);
+				destinations.add(objectMapper.treeToValue(destination, DestinationDto.class));
+				List<String> relaxed = new ArrayList<>();
+				destination.path("relaxed_constraints").forEach(item -> {
+					if (!item.asText().isBlank()) {
+						relaxed.add(item.asText());
+					}
+				});
+				relaxations.add(relaxed);
+			}
+			return new TreeResult(destinations, relaxations);
+		}
+
+		private String clean(String response) {
+			String cleaned = response.trim();
+			int codeBlockStart = cleaned.indexOf("```");
+			if (codeBlockStart >= 0) {
+				int afterStartMarker = cleaned.indexOf('\n', codeBlockStart) + 1;
+				int codeBlockEnd = cleaned.lastIndexOf("```");
+				cleaned = codeBlockEnd > codeBlockStart
+						? cleaned.substring(afterStartMarker, codeBlockEnd).trim()
+						: cleaned.substring(afterStartMarker).trim();
+			} else if (cleaned.indexOf('{') > 0) {
+				cleaned = cleaned.substring(cleaned.indexOf('{'));
+			}
+			return cleaned.trim();
+		}
+
+		private void normalize(ObjectNode destination) {
+			for (String field : new String[]{"best_months", "pros", "cons", "relaxed_constraints"}) {
+				if (destination.has(field) && destination.get(field).isTextual()) {
+					destination.set(field, objectMapper.createArrayNode().add(destination.get(field).asText()));
+				}
+			}
+		}
+
+		private void truncate(ObjectNode destination) {
+			for (String field : TEXT_FIELDS) {
+				String value = destination.get(field).asText();
+				if (value.length() > MAX_TEXT_LENGTH) {
+					destination.put(field, value.substring(0, MAX_TEXT_LENGTH));
+				}
+			}
+			for (String field : LIST_FIELDS) {
+				if (destination.has(field) && destination.get(field).isArray()) {
+					ArrayNode items = (ArrayNode) destination.get(field);
+					for (int i = 0; i < items.size(); i++) {
+						String value = items.get(i).asText();
+						if (value.length() > MAX_TEXT_LENGTH) {
+							items.set(i, value.substring(0, MAX_TEXT_LENGTH));
+						}
+					}
+				}
+			}
+		}
+
+		private void fill(ObjectNode destination) {
+			LIST_DEFAULTS.forEach((field, placeholder) -> {
+				if (destination.has(field) && destination.get(field).isArray() && destination.get(field).isEmpty()) {
+					destination.set(field, objectMapper.createArrayNode().add(placeholder));
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.ActivityMatcher;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ActivityMatcherTest {
+	private final ActivityMatcher matcher = ActivityMatcher.compile(List.of("Hiking", "local cuisine", "surfing"));
+
+	@Test
+	void matchesRequestedActivitiesAndSynonyms() {
+		Assertions.assertEquals(0b001L, matcher.coverage(List.of("Hiking in the Alps")));
+		Assertions.assertEquals(0b001L, matcher.coverage(List.of("Multi-day TREKKING")));
+		Assertions.assertEquals(0b010L, matcher.coverage(List.of("Street-food tours")));
+		Assertions.assertEquals(0b010L, matcher.coverage(List.of("Local  cuisine")));
+		Assertions.assertEquals(0b100L, matcher.coverage(List.of("Surf lessons")));
+	}
+
+	@Test
+	void matchesOnlyAtWordStart() {
+		Assertions.assertEquals(0L, matcher.coverage(List.of("Resurfaced roads")));
+		Assertions.assertEquals(0L, matcher.coverage(List.of("Seafood platters")));
+		Assertions.assertEquals(0L, matcher.coverage(List.of("Local")));
+		Assertions.assertEquals(0L, matcher.coverage(Arrays.asList((String) null)));
+	}
+
+	@Test
+	void ignoresBlankRequestedActivities() {
+		Assertions.assertEquals(0L, ActivityMatcher.compile(List.of(" ")).coverage(List.of("Hiking")));
+	}
+
+	@Test
+	void reportsCoveragePerRequestedActivity() {
+		Assertions.assertEquals(0b101L, matcher.coverage(List.of("Trekking", "Kite surfing", "Museums")));
+		Assertions.assertEquals(0b010L, matcher.coverage(List.of("Street food", "Wine tasting")));
+		Assertions.assertEquals(0L, matcher.coverage(List.of("Museums")));
+		Assertions.assertEquals(0L, matcher.coverage(null));
+	}
+}
@@ -0,0 +1,106 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.BackoffLlmRetryPolicy;
+import com.destinai.api.service.recommendations.LlmRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+class BackoffLlmRetryPolicyTest {
+	@Test
+	void retriesTooManyRequestsUntilSuccess() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(3, 10), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		String response = policy.execute(() -> {
+			if (calls.incrementAndGet() < 3) {
+				throw error(HttpStatus.TOO_MANY_REQUESTS, null);
+			}
+			return "ok";
+		});
+
+		Assertions.assertEquals("ok", response);
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.retry.attempts", "attempt", "3", "outcome", "success")
+				.count());
+	}
+
+	@Test
+	void doesNotRetryClientErrors() {
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(3, 10), new SimpleMeterRegistry());
+		AtomicInteger calls = new AtomicInteger();
+
+		Assertions.assertThrows(HttpClientErrorException.class, () -> policy.execute(() -> {
+			calls.incrementAndGet();
+			throw error(HttpStatus.BAD_REQUEST, null);
+		}));
+		Assertions.assertEquals(1, calls.get());
+	}
+
+	@Test
+	void honoursRetryAfterSeconds() {
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(3, 10), new SimpleMeterRegistry());
+
+		Optional<Duration> delay = policy.retryDelay(1, error(HttpStatus.SERVICE_UNAVAILABLE, "2"));
+
+		Assertions.assertEquals(Optional.of(Duration.ofSeconds(2)), delay);
+	}
+
+	@Test
+	void givesUpWhenRetryAfterExceedsMaxBackoff() {
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(3, 10), new SimpleMeterRegistry());
+
+		Assertions.assertTrue(policy.retryDelay(1, error(HttpStatus.TOO_MANY_REQUESTS, "120")).isEmpty());
+	}
+
+	@Test
+	void backoffStaysWithinExponentialCeiling() {
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(5, 10), new SimpleMeterRegistry());
+
+		for (int i = 0; i < 20; i++) {
+			long delayMillis = policy.retryDelay(3, new ResourceAccessException("timeout")).orElseThrow().toMillis();
+			Assertions.assertTrue(delayMillis >= 0 && delayMillis <= 4);
+		}
+	}
+
+	@Test
+	void exhaustedBudgetStopsRetries() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BackoffLlmRetryPolicy policy = new BackoffLlmRetryPolicy(properties(3, 1), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		Assertions.assertThrows(ResourceAccessException.class, () -> policy.execute(() -> {
+			calls.incrementAndGet();
+			throw new ResourceAccessException("timeout");
+		}));
+
+		Assertions.assertEquals(2, calls.get());
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.retry.budget.exhausted").count());
+	}
+
+	private LlmRetryProperties properties(int maxAttempts, int budgetReserve) {
+		return new LlmRetryProperties(maxAttempts, 1, 30_000, 2.0, 0.1, budgetReserve);
+	}
+
+	private HttpStatusCodeException error(HttpStatus status, String retryAfter) {
+		HttpHeaders headers = new HttpHeaders();
+		if (retryAfter != null) {
+			headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+		}
+		return status.is5xxServerError()
+				? HttpServerErrorException.create(status, status.getReasonPhrase(), headers, new byte[0],
+						StandardCharsets.UTF_8)
+				: HttpClientErrorException.create(status, status.getReasonPhrase(), headers, new byte[0],
+						StandardCharsets.UTF_8);
+	}
+}
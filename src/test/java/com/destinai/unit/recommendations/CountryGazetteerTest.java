@@ -0,0 +1,36 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.CountryGazetteer;
+import com.destinai.api.service.recommendations.TravelRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CountryGazetteerTest {
+	private final CountryGazetteer gazetteer = new CountryGazetteer();
+
+	@Test
+	void resolvesAliasesToTheSameCountry() {
+		Assertions.assertEquals("CZ", gazetteer.find("Czech Republic").orElseThrow().isoCode());
+		Assertions.assertEquals("CZ", gazetteer.find("czechia").orElseThrow().isoCode());
+		Assertions.assertEquals("GB", gazetteer.find("U.K.").orElseThrow().isoCode());
+		Assertions.assertEquals("TR", gazetteer.find("Türkiye").orElseThrow().isoCode());
+		Assertions.assertEquals("CI", gazetteer.find("Côte d’Ivoire").orElseThrow().isoCode());
+		Assertions.assertEquals("LC", gazetteer.find(" St. Lucia ").orElseThrow().isoCode());
+	}
+
+	@Test
+	void acceptsCountriesTheOldHeuristicRejectedAndRejectsCities() {
+		Assertions.assertTrue(gazetteer.find("Vatican City").isPresent());
+		Assertions.assertTrue(gazetteer.find("Bangkok").isEmpty());
+		Assertions.assertTrue(gazetteer.find("Barcelona city").isEmpty());
+		Assertions.assertTrue(gazetteer.find("").isEmpty());
+	}
+
+	@Test
+	void mapsCountriesToAllowedRegions() {
+		Assertions.assertEquals(TravelRegion.EUROPE, gazetteer.find("Portugal").orElseThrow().region());
+		Assertions.assertEquals(TravelRegion.EAST_ASIA, gazetteer.find("Thailand").orElseThrow().region());
+		Assertions.assertEquals(TravelRegion.LATIN_AMERICA_CARIBBEAN, gazetteer.find("Jamaica").orElseThrow().region());
+		Assertions.assertTrue(gazetteer.size() > 240);
+	}
+}
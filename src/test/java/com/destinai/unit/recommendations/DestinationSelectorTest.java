@@ -0,0 +1,53 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.DestinationSelector;
+import com.destinai.api.service.recommendations.DestinationSelector.Candidate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DestinationSelectorTest {
+	@Test
+	void maximizesActivityCoverage() {
+		List<Candidate> candidates = List.of(
+				new Candidate("PT", "EUROPE", 0b001),
+				new Candidate("ES", "EUROPE", 0b001),
+				new Candidate("JP", "EAST_ASIA", 0b001),
+				new Candidate("CA", "NORTH_AMERICA", 0b001),
+				new Candidate("CL", "LATIN_AMERICA", 0b001),
+				new Candidate("NZ", "OCEANIA", 0b010),
+				new Candidate("MA", "AFRICA", 0b100)
+		);
+
+		Assertions.assertEquals(List.of(0, 1, 2, 5, 6), DestinationSelector.select(candidates, 5, 2));
+	}
+
+	@Test
+	void keepsRankOrderOnTiesAndRespectsConstraints() {
+		List<Candidate> candidates = List.of(
+				new Candidate("PT", "EUROPE", 0b11),
+				new Candidate("PT", "EUROPE", 0b11),
+				new Candidate("ES", "EUROPE", 0b11),
+				new Candidate("IT", "EUROPE", 0b11),
+				new Candidate("JP", "EAST_ASIA", 0b11),
+				new Candidate("CA", "NORTH_AMERICA", 0b11),
+				new Candidate("CL", "LATIN_AMERICA", 0b11),
+				new Candidate("NZ", "OCEANIA", 0b11)
+		);
+
+		Assertions.assertEquals(List.of(0, 2, 4, 5, 6), DestinationSelector.select(candidates, 5, 2));
+	}
+
+	@Test
+	void fallsBackToTheLargestFeasibleSelection() {
+		List<Candidate> candidates = List.of(
+				new Candidate("PT", "EUROPE", 0b1),
+				new Candidate("ES", "EUROPE", 0b1),
+				new Candidate("IT", "EUROPE", 0b1),
+				new Candidate("JP", "EAST_ASIA", 0b1),
+				new Candidate("JP", "EAST_ASIA", 0b1)
+		);
+
+		Assertions.assertEquals(List.of(0, 1, 3), DestinationSelector.select(candidates, 5, 2));
+	}
+}
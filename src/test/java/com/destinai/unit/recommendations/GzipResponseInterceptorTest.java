@@ -0,0 +1,55 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.modules.recommendations.integration.GzipResponseInterceptor;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class GzipResponseInterceptorTest {
+	private final GzipResponseInterceptor interceptor = new GzipResponseInterceptor();
+
+	@Test
+	void decodesGzipResponses() throws Exception {
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://llm.test"));
+		MockClientHttpResponse compressed = new MockClientHttpResponse(gzip("{\"ok\":true}"), HttpStatus.OK);
+		compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+		ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> compressed);
+
+		Assertions.assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+		Assertions.assertEquals("{\"ok\":true}", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+		Assertions.assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Test
+	void leavesEventStreamsUncompressed() throws Exception {
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://llm.test"));
+		request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+		MockClientHttpResponse plain = new MockClientHttpResponse("data: [DONE]".getBytes(StandardCharsets.UTF_8),
+				HttpStatus.OK);
+
+		ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> plain);
+
+		Assertions.assertNull(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+		Assertions.assertSame(plain, response);
+	}
+
+	private static byte[] gzip(String content) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			gzip.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+}
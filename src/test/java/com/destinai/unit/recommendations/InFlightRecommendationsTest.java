@@ -0,0 +1,117 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.InFlightRecommendations;
+import com.destinai.api.service.recommendations.RecommendationFingerprint;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.common.errors.LlmServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class InFlightRecommendationsTest {
+	private final RecommendationFingerprint fingerprint = RecommendationFingerprint.of(new RecommendationRequest(
+			Who.SOLO,
+			TravelType.BACKPACKING,
+			Accommodation.HOSTELS,
+			List.of("hiking"),
+			Budget.MEDIUM,
+			Weather.SUNNY_DRY,
+			Season.SUMMER
+	));
+
+	@Test
+	void concurrentCallersShareOneGeneration() throws Exception {
+		InFlightRecommendations inFlight = new InFlightRecommendations(new SimpleMeterRegistry());
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger generations = new AtomicInteger();
+		RecommendationResult expected = new RecommendationResult("1.0", List.of());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<RecommendationResult> leader = executor.submit(() -> inFlight.run(fingerprint, () -> {
+				generations.incrementAndGet();
+				awaitQuietly(release);
+				return expected;
+			}));
+			Thread.sleep(50);
+			Future<RecommendationResult> follower = executor.submit(() -> inFlight.run(fingerprint, () -> {
+				generations.incrementAndGet();
+				return new RecommendationResult("other", List.of());
+			}));
+			Thread.sleep(50);
+			release.countDown();
+
+			Assertions.assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+			Assertions.assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+			Assertions.assertEquals(1, generations.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void followersReceiveLeaderException() throws Exception {
+		InFlightRecommendations inFlight = new InFlightRecommendations(new SimpleMeterRegistry());
+		CountDownLatch release = new CountDownLatch(1);
+		LlmServiceException failure = new LlmServiceException("provider_error", "boom");
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<RecommendationResult> leader = executor.submit(() -> inFlight.run(fingerprint, () -> {
+				awaitQuietly(release);
+				throw failure;
+			}));
+			Thread.sleep(50);
+			Future<RecommendationResult> follower = executor.submit(() -> inFlight.run(fingerprint,
+					() -> new RecommendationResult("other", List.of())));
+			Thread.sleep(50);
+			release.countDown();
+
+			Exception leaderError = Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+			Exception followerError = Assertions.assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+			Assertions.assertSame(failure, leaderError.getCause());
+			Assertions.assertSame(failure, followerError.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void laterCallersStartFreshGeneration() {
+		InFlightRecommendations inFlight = new InFlightRecommendations(new SimpleMeterRegistry());
+		AtomicInteger generations = new AtomicInteger();
+
+		inFlight.run(fingerprint, () -> {
+			generations.incrementAndGet();
+			return new RecommendationResult("1.0", List.of());
+		});
+		inFlight.run(fingerprint, () -> {
+			generations.incrementAndGet();
+			return new RecommendationResult("1.0", List.of());
+		});
+
+		Assertions.assertEquals(2, generations.get());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.LlmHedger;
+import com.destinai.api.service.recommendations.LlmHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LlmHedgerTest {
+	@Test
+	void hedgeWinsWhenFirstCallIsSlow() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 50, 0, 1.0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+		String response = hedger.complete(() -> {
+			if (calls.incrementAndGet() == 1) {
+				try {
+					Thread.sleep(5_000);
+				} catch (InterruptedException ex) {
+					primaryCancelled.countDown();
+				}
+				return "primary";
+			}
+			return "hedge";
+		});
+
+		Assertions.assertEquals("hedge", response);
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.hedge.fired").count());
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.hedge.won").count());
+		Assertions.assertDoesNotThrow(() -> Assertions.assertTrue(primaryCancelled.await(5, TimeUnit.SECONDS)));
+		hedger.shutdown();
+	}
+
+	@Test
+	void fastCallIsNotHedged() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 1_000, 0, 1.0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		Assertions.assertEquals("ok", hedger.complete(() -> {
+			calls.incrementAndGet();
+			return "ok";
+		}));
+		Assertions.assertEquals(1, calls.get());
+		Assertions.assertEquals(0.0, meterRegistry.counter("llm.hedge.fired").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void hedgeRateCapSkipsHedging() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 10, 0, 0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		String response = hedger.complete(() -> {
+			calls.incrementAndGet();
+			sleepQuietly(100);
+			return "primary";
+		});
+
+		Assertions.assertEquals("primary", response);
+		Assertions.assertEquals(1, calls.get());
+		Assertions.assertEquals(0.0, meterRegistry.counter("llm.hedge.fired").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void quietPeriodDoesNotSaveUpHedges() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		// 5% of 100 calls: at most 5 hedges in a row, however many fast calls came before.
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 20, 0, 0.05), meterRegistry);
+		for (int i = 0; i < 1_000; i++) {
+			hedger.complete(() -> "fast");
+		}
+
+		for (int i = 0; i < 10; i++) {
+			hedger.complete(() -> {
+				sleepQuietly(60);
+				return "slow";
+			});
+		}
+
+		Assertions.assertEquals(5.0, meterRegistry.counter("llm.hedge.fired").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void hedgeDelayFollowsPrimaryLatency() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 5, 0.5, 1.0), meterRegistry);
+		// Primaries answer unusably after 20 ms and hedges usably after 80 ms: the winner takes ~85 ms.
+		for (int i = 0; i < 20; i++) {
+			AtomicInteger calls = new AtomicInteger();
+			hedger.complete(() -> {
+				boolean primary = calls.incrementAndGet() == 1;
+				sleepQuietly(primary ? 20 : 80);
+				return primary ? "invalid" : "valid";
+			}, "valid"::equals);
+		}
+		double fired = meterRegistry.counter("llm.hedge.fired").count();
+
+		// Slower than the primaries (~20 ms) but faster than the winners (~85 ms).
+		hedger.complete(() -> {
+			sleepQuietly(50);
+			return "valid";
+		});
+
+		Assertions.assertEquals(fired + 1, meterRegistry.counter("llm.hedge.fired").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void hedgeFailureFallsBackToPrimary() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 20, 0, 1.0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		String response = hedger.complete(() -> {
+			if (calls.incrementAndGet() == 1) {
+				sleepQuietly(200);
+				return "primary";
+			}
+			throw new IllegalStateException("hedge failed");
+		});
+
+		Assertions.assertEquals("primary", response);
+		Assertions.assertEquals(0.0, meterRegistry.counter("llm.hedge.won").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void slowerUsableResponseBeatsFasterUnusableOne() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 20, 0, 1.0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		String response = hedger.complete(() -> {
+			if (calls.incrementAndGet() == 1) {
+				sleepQuietly(100);
+				return "invalid";
+			}
+			sleepQuietly(300);
+			return "valid";
+		}, "valid"::equals);
+
+		Assertions.assertEquals("valid", response);
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.hedge.won").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void settlesForTheFirstResponseWhenNeitherIsUsable() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(true, 20, 0, 1.0), meterRegistry);
+		AtomicInteger calls = new AtomicInteger();
+
+		String response = hedger.complete(() -> {
+			if (calls.incrementAndGet() == 1) {
+				sleepQuietly(100);
+				return "primary";
+			}
+			sleepQuietly(300);
+			return "hedge";
+		}, candidate -> false);
+
+		Assertions.assertEquals("primary", response);
+		Assertions.assertEquals(0.0, meterRegistry.counter("llm.hedge.won").count());
+		hedger.shutdown();
+	}
+
+	@Test
+	void disabledHedgerCallsOnce() {
+		LlmHedger hedger = new LlmHedger(new LlmHedgingProperties(false, 0, 0, 1.0), new SimpleMeterRegistry());
+		AtomicInteger calls = new AtomicInteger();
+
+		hedger.complete(() -> {
+			calls.incrementAndGet();
+			return "ok";
+		});
+
+		Assertions.assertEquals(1, calls.get());
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
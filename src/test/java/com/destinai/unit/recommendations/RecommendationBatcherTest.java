@@ -0,0 +1,127 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.recommendations.BatchAnswer;
+import com.destinai.api.service.recommendations.RecommendationBatchProperties;
+import com.destinai.api.service.recommendations.RecommendationBatcher;
+import com.destinai.api.service.recommendations.RecommendationFingerprint;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.modules.recommendations.integration.LlmCompletion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationBatcherTest {
+	@Test
+	void requestWithoutPartnerMakesItsOwnCall() {
+		RecommendationBatcher batcher = newBatcher(10, 4);
+		List<List<RecommendationFingerprint>> calls = new CopyOnWriteArrayList<>();
+
+		BatchAnswer answer = batcher.submit("control", fingerprint(0), batch -> {
+			calls.add(batch);
+			return Map.of();
+		});
+
+		Assertions.assertNull(answer);
+		Assertions.assertTrue(calls.isEmpty());
+	}
+
+	@Test
+	void concurrentRequestsShareOneCall() throws Exception {
+		RecommendationBatcher batcher = newBatcher(10_000, 3);
+		List<List<RecommendationFingerprint>> calls = new CopyOnWriteArrayList<>();
+
+		List<String> answers = submitConcurrently(batcher, 3, batch -> {
+			calls.add(batch);
+			Map<RecommendationFingerprint, BatchAnswer> keyed = new HashMap<>();
+			batch.forEach(fingerprint -> keyed.put(fingerprint, answer(fingerprint.activities().getFirst())));
+			return keyed;
+		});
+
+		Assertions.assertEquals(1, calls.size());
+		Assertions.assertEquals(3, calls.getFirst().size());
+		Assertions.assertEquals(List.of("activity-0", "activity-1", "activity-2"), answers);
+	}
+
+	@Test
+	void missingAnswersFallBackToSingleCalls() throws Exception {
+		RecommendationBatcher batcher = newBatcher(10_000, 2);
+
+		List<String> answers = submitConcurrently(batcher, 2,
+				batch -> Map.of(fingerprint(0), answer("answer")));
+
+		Assertions.assertEquals(1, answers.stream().filter("answer"::equals).count());
+		Assertions.assertEquals(1, answers.stream().filter(answer -> answer == null).count());
+	}
+
+	@Test
+	void followersAreAnsweredWhenTheBatchCallThrowsAnError() throws Exception {
+		RecommendationBatcher batcher = newBatcher(10_000, 2);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<BatchAnswer>> futures = IntStream.range(0, 2)
+					.mapToObj(i -> executor.submit(() -> batcher.submit("control", fingerprint(i), batch -> {
+						throw new StackOverflowError();
+					})))
+					.toList();
+
+			for (Future<BatchAnswer> future : futures) {
+				Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+					try {
+						Assertions.assertNull(future.get());
+					} catch (ExecutionException ex) {
+						// The leader's thread rethrows the error; only the followers get an answer.
+						Assertions.assertInstanceOf(StackOverflowError.class, ex.getCause());
+					}
+				});
+			}
+		}
+	}
+
+	private static List<String> submitConcurrently(RecommendationBatcher batcher, int count,
+			Function<List<RecommendationFingerprint>, Map<RecommendationFingerprint, BatchAnswer>> batchCall)
+			throws Exception {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<BatchAnswer>> futures = IntStream.range(0, count)
+					.mapToObj(i -> executor.submit(() -> batcher.submit("control", fingerprint(i), batchCall)))
+					.toList();
+			List<String> answers = new ArrayList<>();
+			for (Future<BatchAnswer> future : futures) {
+				BatchAnswer answer = future.get();
+				answers.add(answer == null ? null : answer.text());
+			}
+			return answers;
+		}
+	}
+
+	private static BatchAnswer answer(String text) {
+		return new BatchAnswer(text, LlmCompletion.of("{\"answers\": {}}"));
+	}
+
+	private static RecommendationBatcher newBatcher(long windowMillis, int maxBatchSize) {
+		return new RecommendationBatcher(new RecommendationBatchProperties(true, windowMillis, maxBatchSize),
+				new SimpleMeterRegistry());
+	}
+
+	private static RecommendationFingerprint fingerprint(int index) {
+		return RecommendationFingerprint.of(new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING,
+				Accommodation.HOSTELS, List.of("activity-" + index), Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER));
+	}
+}
@@ -0,0 +1,165 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.InFlightRecommendations;
+import com.destinai.api.service.recommendations.RecommendationCache;
+import com.destinai.api.service.recommendations.RecommendationCacheProperties;
+import com.destinai.api.service.recommendations.RecommendationFingerprint;
+import com.destinai.api.service.recommendations.RecommendationPopularity;
+import com.destinai.api.service.recommendations.RecommendationPrewarmProperties;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.api.service.recommendations.RecommendationService;
+import com.destinai.api.service.recommendations.SharedRecommendationResults;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RecommendationCacheTest {
+	private RecommendationService recommendationService;
+	private SharedRecommendationResults sharedResults;
+
+	@BeforeEach
+	void setUp() {
+		recommendationService = Mockito.mock(RecommendationService.class);
+		Mockito.when(recommendationService.generate(Mockito.any()))
+				.thenReturn(new RecommendationResult("1.0", List.of()));
+		sharedResults = Mockito.mock(SharedRecommendationResults.class);
+		Mockito.when(sharedResults.find(Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
+	}
+
+	@Test
+	void equivalentRequestsShareOneGeneration() {
+		RecommendationCache cache = newCache(true);
+
+		cache.get(request(List.of("Hiking", "surfing")));
+		cache.get(request(List.of("surfing", " hiking ", "HIKING")));
+
+		Mockito.verify(recommendationService, Mockito.times(1)).generate(Mockito.any());
+		Assertions.assertEquals(1, cache.hitCount());
+		Assertions.assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	void generatesFromCanonicalRequest() {
+		RecommendationCache cache = newCache(true);
+
+		cache.get(request(List.of("Surfing", "hiking")));
+
+		Mockito.verify(recommendationService).generate(request(List.of("hiking", "surfing")));
+	}
+
+	@Test
+	void bypassesCacheWhenDisabled() {
+		RecommendationCache cache = newCache(false);
+
+		cache.get(request(List.of("hiking")));
+		cache.get(request(List.of("hiking")));
+
+		Mockito.verify(recommendationService, Mockito.times(2)).generate(Mockito.any());
+	}
+
+	@Test
+	void usesSharedResultsBeforeGenerating() {
+		RecommendationResult shared = new RecommendationResult("1.0", List.of());
+		Mockito.when(sharedResults.find(Mockito.eq(RecommendationFingerprint.of(request(List.of("hiking")))), Mockito.any()))
+				.thenReturn(Optional.of(shared));
+		RecommendationCache cache = newCache(true);
+
+		Assertions.assertSame(shared, cache.get(request(List.of("hiking"))));
+		cache.get(request(List.of("diving")));
+
+		Mockito.verify(recommendationService).generate(request(List.of("diving")));
+		Mockito.verify(sharedResults).put(Mockito.eq(RecommendationFingerprint.of(request(List.of("diving")))), Mockito.any());
+		Mockito.verify(sharedResults, Mockito.never())
+				.put(Mockito.eq(RecommendationFingerprint.of(request(List.of("hiking")))), Mockito.any());
+	}
+
+	@Test
+	void getIfPresentFallsBackToSharedResults() {
+		RecommendationResult shared = new RecommendationResult("1.0", List.of());
+		Mockito.when(sharedResults.find(Mockito.eq(RecommendationFingerprint.of(request(List.of("hiking")))), Mockito.any()))
+				.thenReturn(Optional.of(shared));
+		RecommendationCache cache = newCache(true);
+
+		Assertions.assertSame(shared, cache.getIfPresent(request(List.of("hiking"))).orElseThrow());
+		Assertions.assertSame(shared, cache.getIfPresent(request(List.of("hiking"))).orElseThrow());
+		Assertions.assertTrue(cache.getIfPresent(request(List.of("diving"))).isEmpty());
+
+		Mockito.verify(sharedResults, Mockito.times(1))
+				.find(Mockito.eq(RecommendationFingerprint.of(request(List.of("hiking")))), Mockito.any());
+		Mockito.verify(recommendationService, Mockito.never()).generate(Mockito.any());
+	}
+
+	@Test
+	void evictsOnlyTheLocalCopy() {
+		RecommendationCache cache = newCache(true);
+
+		cache.get(request(List.of("hiking")));
+		cache.evict(RecommendationFingerprint.of(request(List.of("hiking"))));
+		cache.get(request(List.of("hiking")));
+
+		Mockito.verify(recommendationService, Mockito.times(2)).generate(Mockito.any());
+	}
+
+	@Test
+	void countsHitsAsPopularity() {
+		RecommendationPopularity popularity = new RecommendationPopularity(
+				new RecommendationPrewarmProperties(true, "0 0 13 * * *", 5, 1, 1024));
+		RecommendationCache cache = newCache(true, popularity);
+
+		for (int i = 0; i < 5; i++) {
+			cache.get(request(List.of("hiking")));
+		}
+		cache.getIfPresent(request(List.of("diving")));
+
+		Mockito.verify(recommendationService, Mockito.times(1)).generate(request(List.of("hiking")));
+		Assertions.assertEquals(5, popularity.estimate(RecommendationFingerprint.of(request(List.of("hiking")))));
+		Assertions.assertEquals(List.of(RecommendationFingerprint.of(request(List.of("hiking"))),
+				RecommendationFingerprint.of(request(List.of("diving")))), popularity.hottest(2));
+	}
+
+	@Test
+	void fingerprintCanonicalizesActivities() {
+		Assertions.assertEquals(
+				RecommendationFingerprint.of(request(List.of("Diving", "hiking"))),
+				RecommendationFingerprint.of(request(List.of("hiking ", "diving", "DIVING")))
+		);
+	}
+
+	private RecommendationCache newCache(boolean enabled) {
+		return newCache(enabled, new RecommendationPopularity(new RecommendationPrewarmProperties(false, null, 0, 0, 0)));
+	}
+
+	private RecommendationCache newCache(boolean enabled, RecommendationPopularity popularity) {
+		return new RecommendationCache(
+				recommendationService,
+				new InFlightRecommendations(new SimpleMeterRegistry()),
+				popularity,
+				sharedResults,
+				new RecommendationCacheProperties(enabled, 100, 60, 30),
+				new SimpleMeterRegistry()
+		);
+	}
+
+	private RecommendationRequest request(List<String> activities) {
+		return new RecommendationRequest(
+				Who.SOLO,
+				TravelType.BACKPACKING,
+				Accommodation.HOSTELS,
+				activities,
+				Budget.MEDIUM,
+				Weather.SUNNY_DRY,
+				Season.SUMMER
+		);
+	}
+}
@@ -0,0 +1,75 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties.Variant;
+import com.destinai.api.service.recommendations.RecommendationExperiments;
+import com.destinai.api.service.recommendations.RecommendationPromptBuilder;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationExperimentsTest {
+	private static final List<Variant> VARIANTS = List.of(
+			new Variant("control", 1, null, null, null, null),
+			new Variant("compact", 1, "v2", null, 0.3, 2500)
+	);
+
+	@Test
+	void assignsEquivalentRequestsToTheSameVariant() {
+		RecommendationExperiments experiments = experiments(true, VARIANTS);
+
+		String variant = experiments.start(request(List.of("Hiking", "surfing"))).variant();
+
+		Assertions.assertEquals(variant, experiments.start(request(List.of("surfing", " hiking"))).variant());
+		Assertions.assertEquals(variant, experiments(true, VARIANTS).start(request(List.of("hiking", "surfing"))).variant());
+	}
+
+	@Test
+	void splitsRequestsByWeight() {
+		RecommendationExperiments experiments = experiments(true, VARIANTS);
+		Map<String, Integer> assignments = new HashMap<>();
+
+		for (int i = 0; i < 1_000; i++) {
+			assignments.merge(experiments.start(request(List.of("activity " + i))).variant(), 1, Integer::sum);
+		}
+
+		Assertions.assertEquals(1_000, assignments.get("control") + assignments.get("compact"));
+		Assertions.assertTrue(Math.abs(assignments.get("control") - 500) < 100, assignments.toString());
+	}
+
+	@Test
+	void runsControlWhenDisabled() {
+		RecommendationExperiments experiments = experiments(false, VARIANTS);
+
+		Assertions.assertEquals("control", experiments.start(request(List.of("hiking"))).variant());
+		Assertions.assertEquals(1, experiments.scorecard().size());
+		Assertions.assertEquals(RecommendationPromptBuilder.DEFAULT_PROMPT_VERSION,
+				experiments.scorecard().getFirst().promptVersion());
+	}
+
+	@Test
+	void rejectsUnknownPromptVersion() {
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> experiments(true, List.of(new Variant("next", 1, "v9", null, null, null))));
+	}
+
+	private RecommendationExperiments experiments(boolean enabled, List<Variant> variants) {
+		return new RecommendationExperiments(new RecommendationExperimentProperties(enabled, "test", variants),
+				new RecommendationPromptBuilder(), new SimpleMeterRegistry());
+	}
+
+	private RecommendationRequest request(List<String> activities) {
+		return new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS, activities,
+				Budget.MEDIUM, Weather.SUNNY_DRY, Season.WINTER);
+	}
+}
@@ -0,0 +1,68 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.model.RecommendationJob;
+import com.destinai.api.service.recommendations.RecommendationJobEvents;
+import com.destinai.api.service.recommendations.RecommendationJobProperties;
+import com.destinai.api.service.recommendations.RecommendationJobService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RecommendationJobEventsTest {
+	private RecommendationJobService jobService;
+	private RecommendationJobEvents jobEvents;
+
+	@BeforeEach
+	void setUp() {
+		jobService = Mockito.mock(RecommendationJobService.class);
+		jobEvents = new RecommendationJobEvents(jobService, new RecommendationJobProperties(true, 4, 1000, 180, 60_000, 3, 300));
+	}
+
+	@Test
+	void sweepPublishesJobsFinishedOnOtherNodesOnce() {
+		UUID jobId = UUID.randomUUID();
+		Mockito.when(jobService.findFinished(List.of(jobId))).thenReturn(Map.of(jobId, "succeeded"));
+		Assertions.assertNotNull(jobEvents.subscribe(new RecommendationJob(jobId, "running", null, null)));
+
+		jobEvents.publishFinished();
+		jobEvents.publishFinished();
+
+		Mockito.verify(jobService, Mockito.times(1)).findFinished(Mockito.any());
+	}
+
+	@Test
+	void sweepKeepsWaitingForUnfinishedJobs() {
+		UUID jobId = UUID.randomUUID();
+		Mockito.when(jobService.findFinished(List.of(jobId))).thenReturn(Map.of());
+		jobEvents.subscribe(new RecommendationJob(jobId, "pending", null, null));
+
+		jobEvents.publishFinished();
+		jobEvents.publishFinished();
+
+		Mockito.verify(jobService, Mockito.times(2)).findFinished(List.of(jobId));
+	}
+
+	@Test
+	void locallyFinishedJobsAreNotSweptAgain() {
+		UUID jobId = UUID.randomUUID();
+		jobEvents.subscribe(new RecommendationJob(jobId, "running", null, null));
+
+		jobEvents.publish(jobId, "failed");
+		jobEvents.publishFinished();
+
+		Mockito.verifyNoInteractions(jobService);
+	}
+
+	@Test
+	void finishedJobsAreAnsweredWithoutSubscribing() {
+		jobEvents.subscribe(new RecommendationJob(UUID.randomUUID(), "succeeded", null, null));
+
+		jobEvents.publishFinished();
+
+		Mockito.verifyNoInteractions(jobService);
+	}
+}
@@ -0,0 +1,126 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationJobProperties;
+import com.destinai.api.service.recommendations.RecommendationJobService;
+import com.destinai.api.service.recommendations.RecommendationJobService.ClaimedJob;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.modules.recommendations.persistence.RecommendationJobEntity;
+import com.destinai.modules.recommendations.persistence.RecommendationJobRepository;
+import com.destinai.modules.recommendations.persistence.RecommendationJobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class RecommendationJobServiceTest {
+	private static final int LEASE_SECONDS = 180;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private RecommendationJobRepository jobRepository;
+	private RecommendationJobService jobService;
+
+	@BeforeEach
+	void setUp() {
+		jobRepository = Mockito.mock(RecommendationJobRepository.class);
+		jobService = new RecommendationJobService(jobRepository, objectMapper,
+				new RecommendationJobProperties(true, 4, 1000, LEASE_SECONDS, 60_000, 3, 300));
+	}
+
+	@Test
+	void claimLeasesPendingJobsToTheWorker() throws Exception {
+		RecommendationJobEntity entity = job();
+		Mockito.when(jobRepository.lockClaimable(Mockito.any(), Mockito.eq(2))).thenReturn(List.of(entity));
+
+		List<ClaimedJob> claimed = jobService.claim("worker-1", 2);
+
+		Assertions.assertEquals(List.of(new ClaimedJob(entity.getId(), request())), claimed);
+		Assertions.assertEquals(RecommendationJobStatus.RUNNING, entity.getStatus());
+		Assertions.assertEquals("worker-1", entity.getLockedBy());
+		Assertions.assertEquals(1, entity.getAttemptCount());
+		assertAboutOneLeaseFromNow(entity.getLockedUntil());
+	}
+
+	@Test
+	void failsJobsThatUsedUpTheirAttempts() throws Exception {
+		RecommendationJobEntity entity = job();
+		for (int attempt = 0; attempt < 3; attempt++) {
+			entity.markRunning("crashed-worker", Instant.now().minusSeconds(1));
+		}
+		Mockito.when(jobRepository.lockClaimable(Mockito.any(), Mockito.anyInt())).thenReturn(List.of(entity));
+
+		Assertions.assertTrue(jobService.claim("worker-1", 4).isEmpty());
+		Assertions.assertEquals(RecommendationJobStatus.FAILED, entity.getStatus());
+		Assertions.assertEquals("attempts_exhausted", entity.getErrorCode());
+	}
+
+	@Test
+	void finishedJobsKeepTheirOutcome() throws Exception {
+		RecommendationJobEntity entity = job();
+		entity.markRunning("worker-1", Instant.now().plusSeconds(LEASE_SECONDS));
+		Mockito.when(jobRepository.findById(entity.getId())).thenReturn(Optional.of(entity));
+
+		jobService.complete(entity.getId(), new RecommendationResult("1.0", List.of()));
+		jobService.fail(entity.getId(), "llm_timeout");
+
+		Assertions.assertEquals(RecommendationJobStatus.SUCCEEDED, entity.getStatus());
+		Assertions.assertNull(entity.getErrorCode());
+		Assertions.assertEquals(new RecommendationResult("1.0", List.of()),
+				objectMapper.readValue(entity.getResultPayload(), RecommendationResult.class));
+	}
+
+	@Test
+	void failedJobsRecordTheirReason() throws Exception {
+		RecommendationJobEntity entity = job();
+		entity.markRunning("worker-1", Instant.now().plusSeconds(LEASE_SECONDS));
+		Mockito.when(jobRepository.findById(entity.getId())).thenReturn(Optional.of(entity));
+
+		jobService.fail(entity.getId(), "llm_timeout");
+
+		Assertions.assertEquals(RecommendationJobStatus.FAILED, entity.getStatus());
+		Assertions.assertEquals("llm_timeout", entity.getErrorCode());
+		Assertions.assertNull(entity.getLockedBy());
+	}
+
+	@Test
+	void renewsLeasesOfRunningJobs() {
+		List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+		Mockito.when(jobRepository.extendLeases(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(2);
+
+		Assertions.assertEquals(2, jobService.extendLeases("worker-1", ids));
+		Assertions.assertEquals(0, jobService.extendLeases("worker-1", List.of()));
+
+		ArgumentCaptor<Instant> lockedUntil = ArgumentCaptor.forClass(Instant.class);
+		Mockito.verify(jobRepository).extendLeases(Mockito.eq(ids), Mockito.eq("worker-1"), lockedUntil.capture());
+		assertAboutOneLeaseFromNow(lockedUntil.getValue());
+	}
+
+	private static void assertAboutOneLeaseFromNow(Instant lockedUntil) {
+		Duration remaining = Duration.between(Instant.now(), lockedUntil);
+		Assertions.assertTrue(remaining.toSeconds() > LEASE_SECONDS - 5 && remaining.toSeconds() <= LEASE_SECONDS,
+				remaining.toString());
+	}
+
+	private RecommendationJobEntity job() throws Exception {
+		return new RecommendationJobEntity(UUID.randomUUID(), UUID.randomUUID(),
+				objectMapper.writeValueAsString(request()), Instant.now());
+	}
+
+	private static RecommendationRequest request() {
+		return new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS, List.of("hiking"),
+				Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER);
+	}
+}
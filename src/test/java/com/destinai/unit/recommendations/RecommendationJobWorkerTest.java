@@ -0,0 +1,96 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationCache;
+import com.destinai.api.service.recommendations.RecommendationJobEvents;
+import com.destinai.api.service.recommendations.RecommendationJobProperties;
+import com.destinai.api.service.recommendations.RecommendationJobService;
+import com.destinai.api.service.recommendations.RecommendationJobService.ClaimedJob;
+import com.destinai.api.service.recommendations.RecommendationJobWorker;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.common.errors.LlmValidationException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RecommendationJobWorkerTest {
+	private static final long TIMEOUT_MILLIS = 2000;
+
+	private RecommendationJobService jobService;
+	private RecommendationCache recommendationCache;
+	private RecommendationJobEvents jobEvents;
+	private RecommendationJobWorker worker;
+	private ClaimedJob job;
+
+	@BeforeEach
+	void setUp() {
+		jobService = Mockito.mock(RecommendationJobService.class);
+		recommendationCache = Mockito.mock(RecommendationCache.class);
+		jobEvents = Mockito.mock(RecommendationJobEvents.class);
+		worker = new RecommendationJobWorker(jobService, recommendationCache, jobEvents,
+				new RecommendationJobProperties(true, 2, 1000, 180, 60_000, 3, 300));
+		job = new ClaimedJob(UUID.randomUUID(), new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING,
+				Accommodation.HOSTELS, List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER));
+		Mockito.when(jobService.claim(Mockito.anyString(), Mockito.anyInt())).thenReturn(List.of(job));
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		worker.shutdown();
+	}
+
+	@Test
+	void completesClaimedJobsAndNotifiesSubscribers() {
+		RecommendationResult result = new RecommendationResult("1.0", List.of());
+		Mockito.when(recommendationCache.get(job.request())).thenReturn(result);
+
+		worker.poll();
+
+		Mockito.verify(jobService, Mockito.timeout(TIMEOUT_MILLIS)).complete(job.id(), result);
+		Mockito.verify(jobEvents, Mockito.timeout(TIMEOUT_MILLIS)).publish(job.id(), "succeeded");
+		Mockito.verify(jobService).claim(Mockito.anyString(), Mockito.eq(2));
+	}
+
+	@Test
+	void failsJobsWithTheGenerationReason() {
+		Mockito.when(recommendationCache.get(job.request()))
+				.thenThrow(new LlmValidationException("llm_invalid_response", "invalid"));
+
+		worker.poll();
+
+		Mockito.verify(jobService, Mockito.timeout(TIMEOUT_MILLIS)).fail(job.id(), "llm_invalid_response");
+		Mockito.verify(jobEvents, Mockito.timeout(TIMEOUT_MILLIS)).publish(job.id(), "failed");
+		Mockito.verify(jobService, Mockito.never()).complete(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	void renewsLeasesOfRunningJobs() throws InterruptedException {
+		CountDownLatch generating = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(recommendationCache.get(job.request())).thenAnswer(invocation -> {
+			generating.countDown();
+			release.await();
+			return new RecommendationResult("1.0", List.of());
+		});
+		worker.heartbeat();
+		Mockito.verifyNoInteractions(jobService);
+
+		worker.poll();
+		generating.await();
+		worker.heartbeat();
+		release.countDown();
+
+		Mockito.verify(jobService).extendLeases(Mockito.anyString(), Mockito.eq(List.of(job.id())));
+		Mockito.verify(jobEvents, Mockito.timeout(TIMEOUT_MILLIS)).publish(job.id(), "succeeded");
+	}
+}
@@ -0,0 +1,74 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.RecommendationFingerprint;
+import com.destinai.api.service.recommendations.RecommendationPopularity;
+import com.destinai.api.service.recommendations.RecommendationPrewarmProperties;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationPopularityTest {
+
+	@Test
+	void estimatesNeverUndercount() {
+		RecommendationPopularity popularity = newPopularity(10, 64);
+		for (int i = 0; i < 500; i++) {
+			for (int j = 0; j <= i % 5; j++) {
+				popularity.record(fingerprint("activity " + i));
+			}
+		}
+		for (int i = 0; i < 500; i++) {
+			Assertions.assertTrue(popularity.estimate(fingerprint("activity " + i)) >= i % 5 + 1);
+		}
+	}
+
+	@Test
+	void evictsTheLeastPopularHeavyHitter() {
+		RecommendationPopularity popularity = newPopularity(1, 1024);
+		record(popularity, "hiking", 4);
+		record(popularity, "diving", 2);
+		record(popularity, "surfing", 1);
+		Assertions.assertEquals(List.of(fingerprint("hiking"), fingerprint("diving")), popularity.hottest(2));
+
+		record(popularity, "surfing", 2);
+		Assertions.assertEquals(List.of(fingerprint("hiking"), fingerprint("surfing")), popularity.hottest(2));
+		Assertions.assertEquals(List.of(fingerprint("hiking")), popularity.hottest(1));
+	}
+
+	@Test
+	void agingHalvesCountsAndForgetsOneOffs() {
+		RecommendationPopularity popularity = newPopularity(5, 1024);
+		record(popularity, "hiking", 4);
+		record(popularity, "diving", 1);
+
+		popularity.age();
+
+		Assertions.assertEquals(2, popularity.estimate(fingerprint("hiking")));
+		Assertions.assertEquals(0, popularity.estimate(fingerprint("diving")));
+		Assertions.assertEquals(List.of(fingerprint("hiking")), popularity.hottest(5));
+	}
+
+	@Test
+	void recordsNothingWhenDisabled() {
+		RecommendationPopularity popularity = new RecommendationPopularity(
+				new RecommendationPrewarmProperties(false, null, 5, 1, 1024));
+		record(popularity, "hiking", 3);
+
+		Assertions.assertEquals(0, popularity.estimate(fingerprint("hiking")));
+		Assertions.assertTrue(popularity.hottest(5).isEmpty());
+	}
+
+	private static RecommendationPopularity newPopularity(int topK, int sketchWidth) {
+		return new RecommendationPopularity(new RecommendationPrewarmProperties(true, "0 0 13 * * *", topK, 1, sketchWidth));
+	}
+
+	private static void record(RecommendationPopularity popularity, String activity, int times) {
+		for (int i = 0; i < times; i++) {
+			popularity.record(fingerprint(activity));
+		}
+	}
+
+	private static RecommendationFingerprint fingerprint(String activity) {
+		return new RecommendationFingerprint(null, null, null, List.of(activity), null, null, null);
+	}
+}
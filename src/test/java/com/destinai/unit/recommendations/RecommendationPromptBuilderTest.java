@@ -8,6 +8,7 @@ import com.destinai.api.command.recommendations.Weather;
 import com.destinai.api.command.recommendations.Who;
 import com.destinai.api.service.recommendations.RecommendationPromptBuilder;
 import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.modules.recommendations.integration.LlmMessage;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,54 @@ class RecommendationPromptBuilderTest {
 		builder = new RecommendationPromptBuilder();
 	}
 
+	@Test
+	void splitsStaticSystemPromptFromUserPreferences() {
+		RecommendationRequest first = new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS,
+				List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.WINTER);
+		RecommendationRequest second = new RecommendationRequest(Who.COUPLE, TravelType.STAYING_IN_ONE_PLACE,
+				Accommodation.HOTELS, List.of("museums"), Budget.LUXURIOUS, Weather.COOL, Season.SUMMER);
+
+		List<LlmMessage> firstMessages = builder.buildMessages(first);
+		List<LlmMessage> secondMessages = builder.buildMessages(second);
+
+		Assertions.assertEquals(List.of(LlmMessage.SYSTEM, LlmMessage.USER),
+				firstMessages.stream().map(LlmMessage::role).toList());
+		Assertions.assertEquals(firstMessages.getFirst(), secondMessages.getFirst());
+		Assertions.assertTrue(firstMessages.getFirst().content().contains("Schema:"));
+		Assertions.assertFalse(firstMessages.getFirst().content().contains("hiking"));
+		Assertions.assertTrue(firstMessages.getLast().content().contains("hiking"));
+		Assertions.assertFalse(firstMessages.getLast().content().contains("Schema:"));
+	}
+
+	@Test
+	void leavesSchemaOutForStructuredOutput() {
+		RecommendationRequest request = new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS,
+				List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.WINTER);
+
+		String inline = builder.buildMessages(request, true).getFirst().content();
+		String structured = builder.buildMessages(request, false).getFirst().content();
+
+		Assertions.assertTrue(inline.contains("estimated_daily_budget_eur_range"));
+		Assertions.assertFalse(structured.contains("estimated_daily_budget_eur_range"));
+		Assertions.assertTrue(structured.contains("exactly 5 destinations"));
+		Assertions.assertTrue(inline.startsWith(structured));
+	}
+
+	@Test
+	void buildsShortlistAndDetailPromptsForTwoPhaseGeneration() {
+		RecommendationRequest request = new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS,
+				List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.WINTER);
+
+		List<LlmMessage> shortlist = builder.buildShortlistMessages(request, 7);
+		List<LlmMessage> detail = builder.buildDetailMessages(request, false, "Portugal", "Europe");
+
+		Assertions.assertTrue(shortlist.getFirst().content().contains("with 7 candidate countries"));
+		Assertions.assertFalse(shortlist.getFirst().content().contains("estimated_daily_budget_eur_range"));
+		Assertions.assertTrue(shortlist.getLast().content().contains("hiking"));
+		Assertions.assertTrue(detail.getFirst().content().contains("exactly 1 destination"));
+		Assertions.assertTrue(detail.getLast().content().endsWith("Destination: Portugal (Europe)\n"));
+	}
+
 	@Test
 	void includesSeasonMonthRangeAndConstraintRules() {
 		RecommendationRequest request = new RecommendationRequest(
@@ -33,7 +82,7 @@ class RecommendationPromptBuilderTest {
 				Season.WINTER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("Nov–Feb"));
 		Assertions.assertTrue(prompt.contains("Hard constraints"));
 		Assertions.assertTrue(prompt.contains("Relaxable constraints"));
@@ -52,7 +101,7 @@ class RecommendationPromptBuilderTest {
 				Season.SUMMER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("schema_version"));
 		Assertions.assertTrue(prompt.contains("destinations"));
 		Assertions.assertTrue(prompt.contains("country"));
@@ -81,7 +130,7 @@ class RecommendationPromptBuilderTest {
 				Season.SPRING
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("COUPLE"));
 		Assertions.assertTrue(prompt.contains("STAYING_IN_ONE_PLACE"));
 		Assertions.assertTrue(prompt.contains("HOTELS"));
@@ -104,7 +153,7 @@ class RecommendationPromptBuilderTest {
 				Season.AUTUMN
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("hiking"));
 		Assertions.assertTrue(prompt.contains("surfing"));
 		Assertions.assertTrue(prompt.contains("photography"));
@@ -122,7 +171,7 @@ class RecommendationPromptBuilderTest {
 				Season.WINTER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("STRICT JSON only"));
 		Assertions.assertTrue(prompt.contains("exactly 5 destinations"));
 		Assertions.assertTrue(prompt.contains("Do not include any text outside JSON"));
@@ -140,7 +189,7 @@ class RecommendationPromptBuilderTest {
 				Season.WINTER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("all 5 countries are unique"));
 		Assertions.assertTrue(prompt.contains("no region appears more than 2 times"));
 	}
@@ -157,7 +206,7 @@ class RecommendationPromptBuilderTest {
 				Season.WINTER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("Nov–Feb"));
 	}
 
@@ -173,7 +222,7 @@ class RecommendationPromptBuilderTest {
 				Season.SPRING
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("Mar–May"));
 	}
 
@@ -189,7 +238,7 @@ class RecommendationPromptBuilderTest {
 				Season.SUMMER
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("Jun–Aug"));
 	}
 
@@ -205,7 +254,7 @@ class RecommendationPromptBuilderTest {
 				Season.AUTUMN
 		);
 
-		String prompt = builder.buildPrompt(request);
+		String prompt = prompt(request);
 		Assertions.assertTrue(prompt.contains("Sep–Oct"));
 	}
 
@@ -219,6 +268,14 @@ class RecommendationPromptBuilderTest {
 		Assertions.assertTrue(prompt.contains("exactly 5 destinations"));
 	}
 
+	@Test
+	void buildRepairPromptMatchesThePromptVersion() {
+		Assertions.assertTrue(builder.buildRepairPrompt("region_cap", null, "v1").contains("exactly 5 new destinations."));
+		Assertions.assertTrue(builder.buildRepairPrompt("region_cap", null, "v2").contains("exactly 5 new destinations."));
+		Assertions.assertFalse(builder.buildRepairPrompt("region_cap", null, "v2").contains("candidate"));
+		Assertions.assertTrue(builder.buildRepairPrompt("region_cap", null, "v3").contains("8 new candidate destinations"));
+	}
+
 	@Test
 	void buildRepairPromptIncludesDetailsWhenProvided() {
 		String failureReason = "schema_invalid";
@@ -247,5 +304,10 @@ class RecommendationPromptBuilderTest {
 		Assertions.assertTrue(prompt.contains("North America"));
 		Assertions.assertTrue(prompt.contains("Latin America/Caribbean"));
 	}
-}
 
+	private String prompt(RecommendationRequest request) {
+		StringBuilder prompt = new StringBuilder();
+		builder.buildMessages(request).forEach(message -> prompt.append(message.content()).append('\n'));
+		return prompt.toString();
+	}
+}
@@ -0,0 +1,90 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.dto.recommendations.DestinationDto;
+import com.destinai.api.service.recommendations.RecommendationResponseParser;
+import com.destinai.api.service.recommendations.RecommendationResponseParser.ParsedResponse;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator;
+import com.destinai.api.service.recommendations.SchemaViolation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationResponseParserTest {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final RecommendationResponseParser parser =
+			new RecommendationResponseParser(objectMapper, new RecommendationSchemaValidator(objectMapper));
+
+	@Test
+	void parsesFencedResponseAndNormalizesInline() throws Exception {
+		String response = "Sure! Here you go:\n```json\n{\"schema_version\":\"1.0\",\"destinations\":["
+				+ destination("\"best_months\":\"May\",\"cons\":[],\"relaxed_constraints\":[\"budget\",\" \"]",
+						"x".repeat(200))
+				+ "]}\n```\nEnjoy!";
+
+		ParsedResponse parsed = parser.parse(response);
+
+		Assertions.assertTrue(parsed.isValid());
+		Assertions.assertEquals("1.0", parsed.schemaVersion());
+		DestinationDto destination = parsed.destinations().getFirst();
+		Assertions.assertEquals(List.of("May"), destination.bestMonths());
+		Assertions.assertEquals(List.of("Consider your preferences"), destination.cons());
+		Assertions.assertEquals(120, destination.whyMatch().length());
+		Assertions.assertEquals(List.of(List.of("budget")), parsed.relaxedConstraints());
+	}
+
+	@Test
+	void reportsEveryViolationWithItsPath() throws Exception {
+		ParsedResponse parsed = parser.parse("{\"destinations\":[{\"country\":1}]}");
+
+		List<String> violations = parsed.violations().stream().map(SchemaViolation::toString).toList();
+		Assertions.assertTrue(violations.contains("$.destinations[0].country: expected string but was integer"));
+		Assertions.assertTrue(violations.contains("$.destinations[0].region: is required"));
+		Assertions.assertTrue(violations.contains("$.schema_version: is required"));
+		Assertions.assertTrue(parsed.destinations().isEmpty());
+	}
+
+	@Test
+	void reportsDestinationTypeFailures() throws Exception {
+		String response = "{\"schema_version\":\"1.0\",\"destinations\":["
+				+ destination("\"best_months\":[\"May\"],\"cons\":[\"Busy\"],\"pros\":[1]", "Fits well")
+				+ "]}";
+
+		ParsedResponse parsed = parser.parse(response);
+
+		Assertions.assertEquals(List.of(new SchemaViolation("$.destinations[0].pros[0]", "type", "expected string but was integer")),
+				parsed.violations());
+	}
+
+	@Test
+	void toleratesUnknownFieldsAndDestinationCount() throws Exception {
+		String response = "{\"schema_version\":\"1.0\",\"notes\":\"extra\",\"destinations\":["
+				+ destination("\"best_months\":[\"May\"],\"cons\":[\"Busy\"],\"rating\":5", "Fits well")
+				+ "]}";
+
+		ParsedResponse parsed = parser.parse(response);
+
+		Assertions.assertTrue(parsed.isValid());
+		Assertions.assertEquals(1, parsed.destinations().size());
+	}
+
+	@Test
+	void rejectsNonObjectPayload() throws Exception {
+		Assertions.assertEquals(List.of(new SchemaViolation("$", "type", "expected object but was array")),
+				parser.parse("[1, 2]").violations());
+	}
+
+	@Test
+	void surfacesMalformedJson() {
+		Assertions.assertThrows(JsonProcessingException.class,
+				() -> parser.parse("{\"schema_version\":\"1.0\",\"destinations\":[{\"country\":"));
+	}
+
+	private String destination(String listFields, String whyMatch) {
+		return "{\"country\":\"Portugal\",\"region\":\"Europe\",\"estimated_daily_budget_eur_range\":\"60-120\","
+				+ "\"weather_summary\":\"Sunny\",\"accommodation_fit\":\"Hostels\",\"travel_style_fit\":\"Trains\","
+				+ "\"top_activities\":[\"Surfing\"],\"pros\":[\"Cheap\"]," + listFields + ","
+				+ "\"why_match\":\"" + whyMatch + "\"}";
+	}
+}
@@ -0,0 +1,75 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationResultStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationResultStoreTest {
+	private static final RecommendationResult RESULT = new RecommendationResult("1.0", List.of());
+
+	private final MutableClock clock = new MutableClock();
+	private final RecommendationResultStore store = new RecommendationResultStore(clock);
+	private final UUID userId = UUID.randomUUID();
+
+	@Test
+	void returnsResultsOnlyToTheirOwner() {
+		UUID resultId = store.save(userId, RESULT);
+
+		Assertions.assertEquals(RESULT, store.find(userId, resultId).orElseThrow());
+		Assertions.assertTrue(store.find(UUID.randomUUID(), resultId).isEmpty());
+		Assertions.assertTrue(store.find(userId, UUID.randomUUID()).isEmpty());
+	}
+
+	@Test
+	void expiresResultsAfterFifteenMinutes() {
+		UUID resultId = store.save(userId, RESULT);
+
+		clock.advance(Duration.ofMinutes(15).minusSeconds(1));
+		Assertions.assertTrue(store.find(userId, resultId).isPresent());
+		clock.advance(Duration.ofSeconds(1));
+		Assertions.assertTrue(store.find(userId, resultId).isEmpty());
+	}
+
+	@Test
+	void staysBoundedWhenFull() {
+		List<UUID> resultIds = new ArrayList<>();
+		for (int i = 0; i < 10_100; i++) {
+			resultIds.add(store.save(userId, RESULT));
+		}
+
+		Assertions.assertTrue(resultIds.stream().filter(resultId -> store.find(userId, resultId).isPresent()).count()
+				<= 10_000);
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator.ValidatingParser;
+import com.destinai.api.service.recommendations.SchemaViolation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecommendationSchemaValidatorTest {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final RecommendationSchemaValidator validator = new RecommendationSchemaValidator(objectMapper);
+
+	@Test
+	void reportsItemCountAndUnknownFields() throws IOException {
+		List<SchemaViolation> violations = validate("{\"schema_version\":\"1.0\",\"destinations\":[],\"extra\":true}");
+
+		Assertions.assertEquals(List.of(
+				new SchemaViolation("$.destinations", "minItems", "expected at least 1 items but was 0"),
+				new SchemaViolation("$.extra", "additionalProperties", "is not allowed")
+		), violations);
+	}
+
+	@Test
+	void validatesSkippedContent() throws IOException {
+		try (ValidatingParser parser = validator.validate(objectMapper.getFactory()
+				.createParser("{\"schema_version\":1,\"destinations\":[{\"pros\":[true]}]}"))) {
+			parser.nextToken();
+			parser.skipChildren();
+
+			Assertions.assertTrue(parser.isComplete());
+			Assertions.assertTrue(parser.violations().contains(
+					new SchemaViolation("$.schema_version", "type", "expected string but was integer")));
+			Assertions.assertTrue(parser.violations().contains(
+					new SchemaViolation("$.destinations[0].pros[0]", "type", "expected string but was boolean")));
+		}
+	}
+
+	@Test
+	void acceptsSingleStringForStringArray() throws IOException {
+		try (ValidatingParser parser = validator.validateDestination(objectMapper.getFactory()
+				.createParser("{\"country\":\"Peru\",\"best_months\":\"May\"}"), 3)) {
+			parser.nextToken();
+			parser.skipChildren();
+
+			Assertions.assertTrue(parser.violations().stream().noneMatch(violation -> violation.keyword().equals("type")));
+			Assertions.assertTrue(parser.violations().contains(
+					new SchemaViolation("$.destinations[3].region", "required", "is required")));
+		}
+	}
+
+	private List<SchemaViolation> validate(String json) throws IOException {
+		try (ValidatingParser parser = validator.validate(objectMapper.getFactory().createParser(json))) {
+			while (parser.nextToken() != null) {
+				// Reading the tokens is what drives validation.
+			}
+			return parser.violations();
+		}
+	}
+}
@@ -1,22 +1,52 @@
 package com.destinai.unit.recommendations;
 
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.BackoffLlmRetryPolicy;
+import com.destinai.api.service.recommendations.CountryGazetteer;
+import com.destinai.api.service.recommendations.LlmHedger;
+import com.destinai.api.service.recommendations.LlmHedgingProperties;
+import com.destinai.api.service.recommendations.LlmRetryProperties;
+import com.destinai.api.service.recommendations.RecommendationBatchProperties;
+import com.destinai.api.service.recommendations.RecommendationBatcher;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties;
+import com.destinai.api.service.recommendations.RecommendationExperiments;
+import com.destinai.api.service.recommendations.RecommendationFanOutProperties;
 import com.destinai.api.service.recommendations.RecommendationPromptBuilder;
 import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.api.service.recommendations.RecommendationResponseParser;
+import com.destinai.api.service.recommendations.RecommendationSchemaValidator;
 import com.destinai.api.service.recommendations.RecommendationService;
+import com.destinai.api.service.recommendations.RecommendationTwoPhaseProperties;
 import com.destinai.common.errors.LlmValidationException;
 import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.LlmCompletion;
+import com.destinai.modules.recommendations.integration.LlmMessage;
+import com.destinai.modules.recommendations.integration.LlmOptions;
 import com.destinai.api.command.recommendations.Accommodation;
 import com.destinai.api.command.recommendations.Budget;
 import com.destinai.api.command.recommendations.Season;
 import com.destinai.api.command.recommendations.TravelType;
 import com.destinai.api.command.recommendations.Weather;
 import com.destinai.api.command.recommendations.Who;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
 
 class RecommendationServiceTest {
 	@Test
@@ -24,11 +54,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add("not-json");
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -38,15 +64,50 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(duplicateCountriesResponse());
 		responses.add(duplicateCountriesResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertThrows(LlmValidationException.class, () -> service.generate(sampleRequest()));
 	}
 
+	private RecommendationService newService(LlmClient llmClient) {
+		return newService(llmClient, new SimpleMeterRegistry());
+	}
+
+	private RecommendationService newService(LlmClient llmClient, SimpleMeterRegistry meterRegistry) {
+		return newService(llmClient, meterRegistry, new RecommendationFanOutProperties(false, 0, 0));
+	}
+
+	private RecommendationService newService(LlmClient llmClient, SimpleMeterRegistry meterRegistry,
+			RecommendationFanOutProperties fanOut) {
+		return newService(llmClient, meterRegistry, fanOut, new RecommendationTwoPhaseProperties(false, 7, 300));
+	}
+
+	private RecommendationService newService(LlmClient llmClient, SimpleMeterRegistry meterRegistry,
+			RecommendationFanOutProperties fanOut, RecommendationTwoPhaseProperties twoPhase) {
+		return newService(llmClient, meterRegistry, fanOut, twoPhase, new RecommendationBatchProperties(false, 0, 0));
+	}
+
+	private RecommendationService newService(LlmClient llmClient, SimpleMeterRegistry meterRegistry,
+			RecommendationFanOutProperties fanOut, RecommendationTwoPhaseProperties twoPhase,
+			RecommendationBatchProperties batching) {
+		ObjectMapper objectMapper = new ObjectMapper();
+		return new RecommendationService(
+				llmClient,
+				new RecommendationPromptBuilder(),
+				objectMapper,
+				new RecommendationResponseParser(objectMapper, new RecommendationSchemaValidator(objectMapper)),
+				new CountryGazetteer(),
+				new LlmHedger(new LlmHedgingProperties(false, 0, 0, 0), new SimpleMeterRegistry()),
+				new BackoffLlmRetryPolicy(new LlmRetryProperties(2, 1, 10, 2.0, 0.1, 10), new SimpleMeterRegistry()),
+				new RecommendationExperiments(new RecommendationExperimentProperties(false, null, null),
+						new RecommendationPromptBuilder(), meterRegistry),
+				fanOut,
+				twoPhase,
+				new RecommendationBatcher(batching, meterRegistry),
+				meterRegistry
+		);
+	}
+
 	private RecommendationRequest sampleRequest() {
 		return new RecommendationRequest(
 				Who.SOLO,
@@ -219,11 +280,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseMissingSchemaVersion());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -233,11 +290,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseMissingCountry());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -247,11 +300,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithFourDestinations());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -261,11 +310,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(duplicateCountriesResponse());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -275,11 +320,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithRegionOverCap());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -289,11 +330,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithNonCountry());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -303,11 +340,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithActivityMismatch());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -317,11 +350,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add("not valid json {");
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -330,11 +359,7 @@ class RecommendationServiceTest {
 	void handlesJsonWrappedInMarkdown() {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add("```json\n" + validResponse() + "\n```");
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -344,11 +369,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithLongTextFields());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		// Should succeed after repair
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
@@ -359,11 +380,7 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithEmptyArrays());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
@@ -373,15 +390,357 @@ class RecommendationServiceTest {
 		Queue<String> responses = new ArrayDeque<>();
 		responses.add(responseWithStringInsteadOfArray());
 		responses.add(validResponse());
-		RecommendationService service = new RecommendationService(
-				new QueueLlmClient(responses),
-				new RecommendationPromptBuilder(),
-				new ObjectMapper()
-		);
+		RecommendationService service = newService(new QueueLlmClient(responses));
 
 		Assertions.assertEquals(5, service.generate(sampleRequest()).destinations().size());
 	}
 
+	@Test
+	void repairContinuesTheConversationAndIsTimed() {
+		Queue<String> responses = new ArrayDeque<>();
+		responses.add(responseMissingSchemaVersion());
+		responses.add(validResponse());
+		QueueLlmClient client = new QueueLlmClient(responses);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RecommendationService service = newService(client, meterRegistry);
+
+		service.generate(sampleRequest());
+
+		List<LlmMessage> repair = client.conversations.get(1);
+		Assertions.assertEquals(List.of(LlmMessage.SYSTEM, LlmMessage.USER, LlmMessage.ASSISTANT, LlmMessage.USER),
+				repair.stream().map(LlmMessage::role).toList());
+		Assertions.assertEquals(client.conversations.getFirst(), repair.subList(0, 2));
+		Assertions.assertEquals(responseMissingSchemaVersion(), repair.get(2).content());
+		Assertions.assertFalse(repair.getLast().content().contains("\"destinations\""));
+		Assertions.assertEquals(1, meterRegistry.get("llm.repair.duration")
+				.tags("mode", "full", "outcome", "success").timer().count());
+		Assertions.assertEquals(1, meterRegistry.get("recommendations.experiment.generations")
+				.tags("variant", "control", "outcome", "repaired").counter().count());
+	}
+
+	@Test
+	void tagsStructuredOutputByWhatEachCallUsed() {
+		String fallbackResponse = responseMissingSchemaVersion();
+		Queue<String> responses = new ArrayDeque<>();
+		responses.add(fallbackResponse);
+		responses.add(validResponse());
+		// The endpoint supports structured output, but the first call fell back to the inline schema.
+		QueueLlmClient client = new QueueLlmClient(responses) {
+			@Override
+			public boolean supportsStructuredOutput() {
+				return true;
+			}
+
+			@Override
+			public LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+				String response = complete(messages, options);
+				return new LlmCompletion(response, !response.equals(fallbackResponse), null);
+			}
+		};
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RecommendationService service = newService(client, meterRegistry);
+
+		service.generate(sampleRequest());
+
+		Assertions.assertEquals(1, meterRegistry.get("llm.responses")
+				.tags("structured_output", "false", "valid", "false").counter().count());
+		Assertions.assertEquals(1, meterRegistry.get("llm.repair.duration")
+				.tags("structured_output", "true", "outcome", "success").timer().count());
+	}
+
+	@Test
+	void partialRepairRequestsOnlyMissingDestinations() {
+		Queue<String> responses = new ArrayDeque<>();
+		responses.add(responseWithRegionOverCap());
+		responses.add(singleReplacementResponse());
+		QueueLlmClient client = new QueueLlmClient(responses);
+		RecommendationService service = newService(client);
+
+		RecommendationResult result = service.generate(sampleRequest());
+
+		Assertions.assertEquals(List.of("Portugal", "Spain", "Japan", "Canada", "Chile"),
+				result.destinations().stream().map(destination -> destination.country()).toList());
+		String repairPrompt = client.conversations.get(1).getLast().content();
+		Assertions.assertTrue(repairPrompt.contains("exactly 3 replacement destination(s)"));
+		Assertions.assertTrue(repairPrompt.contains("already recommended): Portugal, Spain, Japan, Canada."));
+		Assertions.assertTrue(repairPrompt.contains("already at the cap): Europe."));
+		Assertions.assertFalse(repairPrompt.contains("Italy"));
+	}
+
+	@Test
+	void selectsFiveFromOverGeneratedCandidatesWithoutRepair() {
+		Queue<String> responses = new ArrayDeque<>();
+		responses.add(overGeneratedResponse());
+		QueueLlmClient client = new QueueLlmClient(responses);
+		RecommendationService service = newService(client);
+
+		RecommendationResult result = service.generate(sampleRequest());
+
+		Assertions.assertEquals(List.of("Portugal", "Spain", "Japan", "Canada", "Chile"),
+				result.destinations().stream().map(destination -> destination.country()).toList());
+		Assertions.assertEquals(1, client.conversations.size());
+	}
+
+	@Test
+	void fanOutSplitsRegionsAcrossConcurrentCalls() {
+		RegionShardLlmClient client = new RegionShardLlmClient(null);
+		RecommendationService service = newService(client, new SimpleMeterRegistry(),
+				new RecommendationFanOutProperties(true, 3, 3));
+
+		RecommendationResult result = service.generate(sampleRequest());
+
+		Assertions.assertEquals(List.of("Portugal", "New Zealand", "Canada", "Japan", "Chile"),
+				result.destinations().stream().map(destination -> destination.country()).toList());
+		Assertions.assertEquals(3, client.prompts.size());
+		Assertions.assertTrue(client.prompts.stream()
+				.anyMatch(prompt -> prompt.contains("exactly 3 candidate destination(s)")
+						&& prompt.contains("only from these regions: Europe, Middle East, Oceania.")));
+	}
+
+	@Test
+	void fanOutSkipsFailedShards() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RegionShardLlmClient client = new RegionShardLlmClient("South Asia, North America");
+		RecommendationService service = newService(client, meterRegistry, new RecommendationFanOutProperties(true, 3, 3));
+
+		RecommendationResult result = service.generate(sampleRequest());
+
+		Assertions.assertTrue(result.destinations().stream().anyMatch(destination -> "Canada".equals(destination.country())));
+		Assertions.assertEquals(1, meterRegistry.counter("recommendations.fan_out.failed_shards").count());
+	}
+
+	@Test
+	void fanOutIsStructuredOnlyWhenEveryShardWas() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RegionShardLlmClient client = new RegionShardLlmClient(null) {
+			@Override
+			public LlmCompletion completion(List<LlmMessage> messages, LlmOptions options) {
+				String response = complete(messages, options);
+				// The shard for Europe fell back to the inline schema.
+				return new LlmCompletion(response, !messages.getLast().content().contains("Europe"), null);
+			}
+		};
+		RecommendationService service = newService(client, meterRegistry, new RecommendationFanOutProperties(true, 3, 3));
+
+		service.generate(sampleRequest());
+
+		Assertions.assertEquals(1, meterRegistry.get("llm.responses")
+				.tags("structured_output", "false", "valid", "true").counter().count());
+	}
+
+	@Test
+	void twoPhaseStreamsShortlistThenDetails() {
+		TwoPhaseLlmClient client = new TwoPhaseLlmClient("""
+				{"destinations": [{"country": "Portugal", "region": "Europe"}, {"country": "Portugal", "region": "Europe"},
+				{"country": "Spain", "region": "Europe"}, {"country": "Japan", "region": "East Asia"},
+				{"country": "Canada", "region": "North America"}, {"country": "Chile", "region": "Latin America/Caribbean"},
+				{"country": "New Zealand", "region": "Oceania"}]}
+				""");
+		RecommendationService service = newService(client, new SimpleMeterRegistry(),
+				new RecommendationFanOutProperties(false, 0, 0), new RecommendationTwoPhaseProperties(true, 7, 300));
+		List<String> shortlist = new ArrayList<>();
+		List<String> detailed = new CopyOnWriteArrayList<>();
+
+		RecommendationResult result = service.generateTwoPhase(sampleRequest(),
+				destinations -> destinations.forEach(destination -> shortlist.add(destination.country())),
+				destination -> detailed.add(destination.country()));
+
+		Assertions.assertEquals(List.of("Portugal", "Spain", "Japan", "Canada", "Chile"), shortlist);
+		Assertions.assertEquals(List.of("Portugal", "Japan", "Canada", "Chile", "New Zealand"),
+				result.destinations().stream().map(destination -> destination.country()).toList());
+		Assertions.assertEquals(5, detailed.size());
+		Assertions.assertEquals(0, client.fullGenerations.get());
+	}
+
+	@Test
+	void twoPhaseFallsBackToOneCallWhenShortlistIsInvalid() {
+		TwoPhaseLlmClient client = new TwoPhaseLlmClient("Portugal, Spain, Japan");
+		RecommendationService service = newService(client, new SimpleMeterRegistry(),
+				new RecommendationFanOutProperties(false, 0, 0), new RecommendationTwoPhaseProperties(true, 7, 300));
+		List<String> shortlist = new ArrayList<>();
+
+		RecommendationResult result = service.generateTwoPhase(sampleRequest(),
+				destinations -> destinations.forEach(destination -> shortlist.add(destination.country())),
+				destination -> {
+				});
+
+		Assertions.assertTrue(shortlist.isEmpty());
+		Assertions.assertEquals(5, result.destinations().size());
+		Assertions.assertEquals(1, client.fullGenerations.get());
+	}
+
+	@Test
+	void batchesConcurrentDistinctRequestsIntoOneCall() throws Exception {
+		List<List<LlmMessage>> conversations = new CopyOnWriteArrayList<>();
+		LlmClient client = new LlmClient() {
+			@Override
+			public String complete(String prompt) {
+				return complete(List.of(LlmMessage.user(prompt)));
+			}
+
+			@Override
+			public String complete(List<LlmMessage> messages) {
+				conversations.add(messages);
+				return "{\"answers\": {\"q1\": " + validResponse() + ", \"q2\": " + validResponse() + "}}";
+			}
+		};
+		RecommendationService service = newService(client, new SimpleMeterRegistry(),
+				new RecommendationFanOutProperties(false, 0, 0), new RecommendationTwoPhaseProperties(false, 7, 300),
+				new RecommendationBatchProperties(true, 10_000, 2));
+		RecommendationRequest other = new RecommendationRequest(Who.COUPLE, TravelType.BACKPACKING,
+				Accommodation.HOSTELS, List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<RecommendationResult> first = executor.submit(() -> service.generate(sampleRequest()));
+			Future<RecommendationResult> second = executor.submit(() -> service.generate(other));
+
+			Assertions.assertEquals(5, first.get().destinations().size());
+			Assertions.assertEquals(5, second.get().destinations().size());
+		}
+		Assertions.assertEquals(1, conversations.size());
+		Assertions.assertTrue(conversations.getFirst().getLast().content().contains("Questionnaire q2:"));
+	}
+
+	@Test
+	void invalidBatchedAnswerFallsBackToASingleCall() throws Exception {
+		List<List<LlmMessage>> conversations = new CopyOnWriteArrayList<>();
+		List<String> invalidResponses = new CopyOnWriteArrayList<>();
+		String batchResponse = "{\"answers\": {\"q1\": " + validResponse() + ", \"q2\": " + duplicateCountriesResponse() + "}}";
+		LlmClient client = new LlmClient() {
+			@Override
+			public String complete(String prompt) {
+				return complete(List.of(LlmMessage.user(prompt)));
+			}
+
+			@Override
+			public String complete(List<LlmMessage> messages) {
+				conversations.add(messages);
+				return conversations.size() == 1 ? batchResponse : validResponse();
+			}
+
+			@Override
+			public void reportInvalidResponse(LlmCompletion completion) {
+				invalidResponses.add(completion.content());
+			}
+		};
+		RecommendationService service = newService(client, new SimpleMeterRegistry(),
+				new RecommendationFanOutProperties(false, 0, 0), new RecommendationTwoPhaseProperties(false, 7, 300),
+				new RecommendationBatchProperties(true, 10_000, 2));
+		RecommendationRequest other = new RecommendationRequest(Who.COUPLE, TravelType.BACKPACKING,
+				Accommodation.HOSTELS, List.of("hiking"), Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<RecommendationResult> first = executor.submit(() -> service.generate(sampleRequest()));
+			Future<RecommendationResult> second = executor.submit(() -> service.generate(other));
+
+			Assertions.assertEquals(5, first.get().destinations().size());
+			Assertions.assertEquals(5, second.get().destinations().size());
+		}
+		Assertions.assertEquals(2, conversations.size());
+		// A plain single call, not a repair turn continuing the batch conversation.
+		Assertions.assertFalse(conversations.getLast().stream().anyMatch(message -> LlmMessage.ASSISTANT.equals(message.role())));
+		Assertions.assertFalse(conversations.getLast().getLast().content().contains("Questionnaire q2:"));
+		Assertions.assertEquals(List.of(batchResponse), invalidResponses);
+	}
+
+	@Test
+	void streamsDestinationsBeforeCompletionFinishes() {
+		List<String> streamedCountries = new ArrayList<>();
+		List<Integer> deltasSeenAtEmit = new ArrayList<>();
+		ChunkedLlmClient client = new ChunkedLlmClient("```json\n" + validResponse() + "\n```", 16);
+		RecommendationService service = newService(client);
+
+		RecommendationResult result = service.generateStreaming(sampleRequest(), destination -> {
+			streamedCountries.add(destination.country());
+			deltasSeenAtEmit.add(client.deltasSent);
+		});
+
+		Assertions.assertEquals(List.of("Portugal", "Japan", "Canada", "Chile", "New Zealand"), streamedCountries);
+		Assertions.assertEquals(5, result.destinations().size());
+		Assertions.assertTrue(deltasSeenAtEmit.getFirst() < client.totalDeltas);
+	}
+
+	@Test
+	void streamingHoldsBackDuplicatesAndRepairs() {
+		List<String> streamedCountries = new ArrayList<>();
+		Queue<String> responses = new ArrayDeque<>();
+		responses.add(duplicateCountriesResponse());
+		responses.add(validResponse());
+		RecommendationService service = newService(new QueueLlmClient(responses));
+
+		RecommendationResult result = service.generateStreaming(sampleRequest(),
+				destination -> streamedCountries.add(destination.country()));
+
+		Assertions.assertEquals(streamedCountries.size(), new HashSet<>(streamedCountries).size());
+		Assertions.assertEquals(5, result.destinations().size());
+	}
+
+	private String overGeneratedResponse() {
+		return """
+				{
+				  "schema_version": "1.0",
+				  "destinations": [
+				%s,
+				%s,
+				%s,
+				%s,
+				%s,
+				%s,
+				%s,
+				%s
+				  ]
+				}
+				""".formatted(
+				candidate("Portugal", "Europe", "hiking"),
+				candidate("Spain", "Europe", "surfing"),
+				candidate("Italy", "Europe", "hiking"),
+				candidate("Spain", "Europe", "hiking"),
+				candidate("Japan", "East Asia", "hiking"),
+				candidate("Morocco", "Africa", "museums"),
+				candidate("Canada", "North America", "hiking"),
+				candidate("Chile", "Latin America/Caribbean", "surfing"));
+	}
+
+	private String candidate(String country, String region, String activity) {
+		return """
+				    {
+				      "country": "%s",
+				      "region": "%s",
+				      "estimated_daily_budget_eur_range": "50-100",
+				      "best_months": ["June"],
+				      "weather_summary": "Sunny.",
+				      "accommodation_fit": "Strong",
+				      "travel_style_fit": "Strong",
+				      "top_activities": ["%s"],
+				      "pros": ["Scenery"],
+				      "cons": ["Busy"],
+				      "why_match": "Outdoors."
+				    }""".formatted(country, region, activity);
+	}
+
+	private String singleReplacementResponse() {
+		return """
+				{
+				  "schema_version": "1.0",
+				  "destinations": [
+				    {
+				      "country": "Chile",
+				      "region": "Latin America/Caribbean",
+				      "estimated_daily_budget_eur_range": "50-100",
+				      "best_months": ["December"],
+				      "weather_summary": "Dry.",
+				      "accommodation_fit": "Strong",
+				      "travel_style_fit": "Strong",
+				      "top_activities": ["trekking"],
+				      "pros": ["Landscapes"],
+				      "cons": ["Long distances"],
+				      "why_match": "Outdoors."
+				    }
+				  ]
+				}
+				""";
+	}
+
 	private String responseMissingSchemaVersion() {
 		return """
 				{
@@ -783,8 +1142,121 @@ class RecommendationServiceTest {
 				""";
 	}
 
+	private static class ChunkedLlmClient implements LlmClient {
+		private final String response;
+		private final int chunkSize;
+		private final int totalDeltas;
+		private int deltasSent;
+
+		private ChunkedLlmClient(String response, int chunkSize) {
+			this.response = response;
+			this.chunkSize = chunkSize;
+			this.totalDeltas = (response.length() + chunkSize - 1) / chunkSize;
+		}
+
+		@Override
+		public String complete(String prompt) {
+			return response;
+		}
+
+		@Override
+		public String stream(String prompt, Consumer<String> onDelta) {
+			for (int start = 0; start < response.length(); start += chunkSize) {
+				deltasSent++;
+				onDelta.accept(response.substring(start, Math.min(response.length(), start + chunkSize)));
+			}
+			return response;
+		}
+	}
+
+	/**
+	 * Answers each call with the destinations of {@link #validResponse()} whose regions its prompt
+	 * names, and fails the calls whose prompt contains {@code failingRegions}.
+	 */
+	private class RegionShardLlmClient implements LlmClient {
+		private final String failingRegions;
+		private final List<String> prompts = new CopyOnWriteArrayList<>();
+
+		private RegionShardLlmClient(String failingRegions) {
+			this.failingRegions = failingRegions;
+		}
+
+		@Override
+		public String complete(String prompt) {
+			return complete(List.of(LlmMessage.user(prompt)));
+		}
+
+		@Override
+		public String complete(List<LlmMessage> messages) {
+			String prompt = messages.getLast().content();
+			prompts.add(prompt);
+			if (failingRegions != null && prompt.contains(failingRegions)) {
+				throw new ResourceAccessException("timeout");
+			}
+			try {
+				ObjectMapper objectMapper = new ObjectMapper();
+				ObjectNode response = (ObjectNode) objectMapper.readTree(validResponse());
+				ArrayNode destinations = response.putArray("destinations");
+				objectMapper.readTree(validResponse()).get("destinations").forEach(destination -> {
+					if (prompt.contains(destination.get("region").asText())) {
+						destinations.add(destination);
+					}
+				});
+				return response.toString();
+			} catch (JsonProcessingException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Answers shortlist calls with {@code shortlist}, detail calls with the destination of
+	 * {@link #validResponse()} for the named country (none for other countries), and full
+	 * generations with {@link #validResponse()}.
+	 */
+	private class TwoPhaseLlmClient implements LlmClient {
+		private final String shortlist;
+		private final AtomicInteger fullGenerations = new AtomicInteger();
+
+		private TwoPhaseLlmClient(String shortlist) {
+			this.shortlist = shortlist;
+		}
+
+		@Override
+		public String complete(String prompt) {
+			return complete(List.of(LlmMessage.user(prompt)));
+		}
+
+		@Override
+		public String complete(List<LlmMessage> messages) {
+			String instructions = messages.getFirst().content();
+			if (instructions.contains("shortlist instructions")) {
+				return shortlist;
+			}
+			if (!instructions.contains("detail instructions")) {
+				fullGenerations.incrementAndGet();
+				return validResponse();
+			}
+			String prompt = messages.getLast().content();
+			try {
+				ObjectMapper objectMapper = new ObjectMapper();
+				ObjectNode response = (ObjectNode) objectMapper.readTree(validResponse());
+				ArrayNode destinations = response.putArray("destinations");
+				objectMapper.readTree(validResponse()).get("destinations").forEach(destination -> {
+					if (prompt.contains("Destination: " + destination.get("country").asText() + " (")) {
+						destinations.add(destination);
+					}
+				});
+				return response.toString();
+			} catch (JsonProcessingException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
 	private static class QueueLlmClient implements LlmClient {
 		private final Queue<String> responses;
+		private final List<List<LlmMessage>> conversations = new ArrayList<>();
 
 		private QueueLlmClient(Queue<String> responses) {
 			this.responses = responses;
@@ -792,6 +1264,12 @@ class RecommendationServiceTest {
 
 		@Override
 		public String complete(String prompt) {
+			return complete(List.of(LlmMessage.user(prompt)));
+		}
+
+		@Override
+		public String complete(List<LlmMessage> messages) {
+			conversations.add(messages);
 			return responses.remove();
 		}
 	}
@@ -0,0 +1,103 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.Destination;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.model.User;
+import com.destinai.api.service.recommendations.InFlightRecommendations;
+import com.destinai.api.service.recommendations.RecommendationCache;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.api.service.recommendations.RecommendationResultStore;
+import com.destinai.api.service.recommendations.RecommendationService;
+import com.destinai.api.service.recommendations.RecommendationStreamer;
+import com.destinai.api.service.recommendations.RecommendationTwoPhaseProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RecommendationStreamerTest {
+	private final RecommendationService recommendationService = Mockito.mock(RecommendationService.class);
+	private final RecommendationCache recommendationCache = Mockito.mock(RecommendationCache.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RecommendationStreamer streamer = new RecommendationStreamer(recommendationService, recommendationCache,
+			new InFlightRecommendations(meterRegistry), new RecommendationResultStore(),
+			new RecommendationTwoPhaseProperties(false, 7, 300));
+
+	@AfterEach
+	void tearDown() {
+		streamer.shutdown();
+	}
+
+	@Test
+	void identicalConcurrentSubmissionsShareOneGeneration() throws Exception {
+		RecommendationResult result = new RecommendationResult("1.0", List.of());
+		CountDownLatch generating = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(recommendationService.generateStreaming(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+			generating.countDown();
+			release.await();
+			return result;
+		});
+		User user = new User(UUID.randomUUID(), "user@example.com");
+		ResultListener leader = new ResultListener();
+		ResultListener follower = new ResultListener();
+
+		streamer.stream(user, request(List.of("Hiking", "surfing")), leader);
+		Assertions.assertTrue(generating.await(2, TimeUnit.SECONDS));
+		streamer.stream(user, request(List.of("surfing", "hiking")), follower);
+		waitForCoalescedGeneration();
+		release.countDown();
+
+		Assertions.assertSame(result, leader.result.get(2, TimeUnit.SECONDS));
+		Assertions.assertSame(result, follower.result.get(2, TimeUnit.SECONDS));
+		Mockito.verify(recommendationService, Mockito.times(1)).generateStreaming(Mockito.any(), Mockito.any());
+		Mockito.verify(recommendationCache, Mockito.times(1)).put(Mockito.any(), Mockito.eq(result));
+	}
+
+	private void waitForCoalescedGeneration() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (meterRegistry.counter("recommendations.singleflight.coalesced").count() < 1) {
+			Assertions.assertTrue(System.nanoTime() < deadline, "second submission never joined the first");
+			Thread.sleep(5);
+		}
+	}
+
+	private static RecommendationRequest request(List<String> activities) {
+		return new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING, Accommodation.HOSTELS, activities,
+				Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER);
+	}
+
+	private static final class ResultListener implements RecommendationStreamer.Listener {
+		private final CompletableFuture<RecommendationResult> result = new CompletableFuture<>();
+
+		@Override
+		public void onShortlist(List<Destination> shortlist) {
+		}
+
+		@Override
+		public void onDestination(Destination destination) {
+		}
+
+		@Override
+		public void onResult(UUID resultId, RecommendationResult result) {
+			this.result.complete(result);
+		}
+
+		@Override
+		public void onError(RuntimeException error) {
+			result.completeExceptionally(error);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.common.errors.LlmServiceException;
+import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.ResilientLlmClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class ResilientLlmClientTest {
+	@Test
+	void openCircuitFailsFastWithoutCallingProvider() {
+		AtomicInteger calls = new AtomicInteger();
+		ResilientLlmClient client = new ResilientLlmClient(prompt -> {
+			calls.incrementAndGet();
+			throw new ResourceAccessException("timeout");
+		}, circuitBreaker(), bulkhead(4, 0));
+
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertThrows(ResourceAccessException.class, () -> client.complete("prompt"));
+		}
+		LlmServiceException ex = Assertions.assertThrows(LlmServiceException.class, () -> client.complete("prompt"));
+
+		Assertions.assertEquals("circuit_open", ex.getReasonCode());
+		Assertions.assertEquals(4, calls.get());
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() {
+		CircuitBreaker circuitBreaker = circuitBreaker();
+		ResilientLlmClient client = new ResilientLlmClient(prompt -> {
+			throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, new byte[0],
+					StandardCharsets.UTF_8);
+		}, circuitBreaker, bulkhead(4, 0));
+
+		for (int i = 0; i < 6; i++) {
+			Assertions.assertThrows(HttpClientErrorException.class, () -> client.complete("prompt"));
+		}
+
+		Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	void fullBulkheadRejectsImmediately() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		LlmClient slow = prompt -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "ok";
+		};
+		ResilientLlmClient client = new ResilientLlmClient(slow, circuitBreaker(), bulkhead(1, 0));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> client.complete("prompt"));
+			Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			LlmServiceException ex = Assertions.assertThrows(LlmServiceException.class, () -> client.complete("prompt"));
+			Assertions.assertEquals("llm_busy", ex.getReasonCode());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private CircuitBreaker circuitBreaker() {
+		return CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+				.slidingWindowSize(4)
+				.minimumNumberOfCalls(4)
+				.failureRateThreshold(50)
+				.waitDurationInOpenState(Duration.ofMinutes(1))
+				.recordException(ResilientLlmClient::isProviderFailure)
+				.ignoreExceptions(BulkheadFullException.class)
+				.build());
+	}
+
+	private Bulkhead bulkhead(int maxConcurrentCalls, long maxWaitMillis) {
+		return Bulkhead.of("test", BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(Duration.ofMillis(maxWaitMillis))
+				.build());
+	}
+}
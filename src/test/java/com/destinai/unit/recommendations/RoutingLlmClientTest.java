@@ -0,0 +1,148 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.common.errors.LlmServiceException;
+import com.destinai.modules.recommendations.integration.LlmClient;
+import com.destinai.modules.recommendations.integration.LlmMessage;
+import com.destinai.modules.recommendations.integration.LlmOptions;
+import com.destinai.modules.recommendations.integration.LlmRoutingProperties;
+import com.destinai.modules.recommendations.integration.ResilientLlmClient;
+import com.destinai.modules.recommendations.integration.RoutingLlmClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class RoutingLlmClientTest {
+	private final LlmRoutingProperties properties = new LlmRoutingProperties(0.5, 0.5, 60, 0);
+
+	@Test
+	void failsOverToNextEndpoint() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		clients.put("down", prompt -> {
+			throw new ResourceAccessException("timeout");
+		});
+		clients.put("up", prompt -> "ok");
+		RoutingLlmClient client = new RoutingLlmClient(clients, properties, meterRegistry);
+
+		Assertions.assertEquals("ok", client.complete("prompt"));
+		Assertions.assertEquals(1.0, meterRegistry.counter("llm.routing.failovers", "endpoint", "down").count());
+	}
+
+	@Test
+	void prefersFasterEndpoint() {
+		AtomicInteger slowCalls = new AtomicInteger();
+		AtomicInteger fastCalls = new AtomicInteger();
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		clients.put("slow", prompt -> {
+			slowCalls.incrementAndGet();
+			sleepQuietly(50);
+			return "slow";
+		});
+		clients.put("fast", prompt -> {
+			fastCalls.incrementAndGet();
+			return "fast";
+		});
+		RoutingLlmClient client = new RoutingLlmClient(clients, properties, new SimpleMeterRegistry());
+
+		for (int i = 0; i < 10; i++) {
+			client.complete("prompt");
+		}
+
+		Assertions.assertEquals(1, slowCalls.get());
+		Assertions.assertEquals(9, fastCalls.get());
+	}
+
+	@Test
+	void unhealthyEndpointIsOnlyUsedAsLastResort() {
+		AtomicInteger flakyCalls = new AtomicInteger();
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		clients.put("flaky", prompt -> {
+			if (flakyCalls.incrementAndGet() == 1) {
+				throw new ResourceAccessException("timeout");
+			}
+			return "flaky";
+		});
+		clients.put("steady", prompt -> "steady");
+		RoutingLlmClient client = new RoutingLlmClient(clients, properties, new SimpleMeterRegistry());
+
+		client.complete("prompt");
+		for (int i = 0; i < 5; i++) {
+			Assertions.assertEquals("steady", client.complete("prompt"));
+		}
+		Assertions.assertEquals(1, flakyCalls.get());
+	}
+
+	@Test
+	void recordsValidationFailuresForOriginEndpoint() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RoutingLlmClient client = new RoutingLlmClient(Map.of("only", prompt -> new String("bad")), properties,
+				meterRegistry);
+
+		client.reportInvalidResponse(client.completion(List.of(LlmMessage.user("prompt")), LlmOptions.DEFAULT));
+
+		Assertions.assertEquals(0.5, meterRegistry.get("llm.routing.validation.failure.rate")
+				.tag("endpoint", "only")
+				.gauge()
+				.value());
+	}
+
+	@Test
+	void bulkheadRejectionLeavesTheEndpointHealthy() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AtomicInteger calls = new AtomicInteger();
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		clients.put("busy", prompt -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new LlmServiceException(ResilientLlmClient.BUSY, "Too many concurrent LLM requests");
+			}
+			return "busy";
+		});
+		clients.put("other", prompt -> "other");
+		RoutingLlmClient client = new RoutingLlmClient(clients, properties, meterRegistry);
+
+		Assertions.assertThrows(LlmServiceException.class, () -> client.complete("prompt"));
+		Assertions.assertEquals(0.0, meterRegistry.counter("llm.routing.failovers", "endpoint", "busy").count());
+		Assertions.assertEquals("busy", client.complete("prompt"));
+	}
+
+	@Test
+	void requestErrorsDoNotFailOver() {
+		AtomicInteger otherCalls = new AtomicInteger();
+		Map<String, LlmClient> clients = new LinkedHashMap<>();
+		clients.put("first", prompt -> {
+			throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+		});
+		clients.put("other", prompt -> {
+			otherCalls.incrementAndGet();
+			return "other";
+		});
+		RoutingLlmClient client = new RoutingLlmClient(clients, properties, new SimpleMeterRegistry());
+
+		Assertions.assertThrows(HttpClientErrorException.class, () -> client.complete("prompt"));
+		Assertions.assertEquals(0, otherCalls.get());
+	}
+
+	@Test
+	void rethrowsWhenAllEndpointsFail() {
+		RoutingLlmClient client = new RoutingLlmClient(Map.of("down", prompt -> {
+			throw new ResourceAccessException("timeout");
+		}), properties, new SimpleMeterRegistry());
+
+		Assertions.assertThrows(ResourceAccessException.class, () -> client.complete("prompt"));
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.destinai.unit.recommendations;
+
+import com.destinai.api.command.recommendations.Accommodation;
+import com.destinai.api.command.recommendations.Budget;
+import com.destinai.api.command.recommendations.Season;
+import com.destinai.api.command.recommendations.TravelType;
+import com.destinai.api.command.recommendations.Weather;
+import com.destinai.api.command.recommendations.Who;
+import com.destinai.api.service.model.RecommendationResult;
+import com.destinai.api.service.recommendations.RecommendationExperimentProperties;
+import com.destinai.api.service.recommendations.RecommendationExperiments;
+import com.destinai.api.service.recommendations.RecommendationFingerprint;
+import com.destinai.api.service.recommendations.RecommendationPromptBuilder;
+import com.destinai.api.service.recommendations.RecommendationRequest;
+import com.destinai.api.service.recommendations.SharedRecommendationResultProperties;
+import com.destinai.api.service.recommendations.SharedRecommendationResults;
+import com.destinai.modules.recommendations.integration.OpenRouterProperties;
+import com.destinai.modules.recommendations.persistence.RecommendationResultKey;
+import com.destinai.modules.recommendations.persistence.RecommendationResultRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+class SharedRecommendationResultsTest {
+	private static final Duration MAX_AGE = Duration.ofMinutes(60);
+
+	private RecommendationResultRepository repository;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		repository = Mockito.mock(RecommendationResultRepository.class);
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		Mockito.when(repository.findFresh(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Optional.empty());
+	}
+
+	@Test
+	void keysResultsByFingerprintPromptVersionAndModel() {
+		SharedRecommendationResults store = newStore(true);
+
+		store.find(fingerprint(List.of("Hiking", "surfing")), MAX_AGE);
+		store.find(fingerprint(List.of("surfing", " hiking")), MAX_AGE);
+
+		ArgumentCaptor<RecommendationResultKey> keys = ArgumentCaptor.forClass(RecommendationResultKey.class);
+		ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+		ArgumentCaptor<Instant> notBefore = ArgumentCaptor.forClass(Instant.class);
+		Mockito.verify(repository, Mockito.times(2)).findFresh(keys.capture(), now.capture(), notBefore.capture());
+		RecommendationResultKey key = keys.getAllValues().getFirst();
+		Assertions.assertEquals(key, keys.getAllValues().getLast());
+		Assertions.assertEquals(64, key.getFingerprint().length());
+		Assertions.assertEquals(RecommendationPromptBuilder.DEFAULT_PROMPT_VERSION, key.getPromptVersion());
+		Assertions.assertEquals("test/model", key.getModel());
+		Assertions.assertEquals(MAX_AGE, Duration.between(notBefore.getValue(), now.getValue()));
+	}
+
+	@Test
+	void storesResultsAndAnnouncesThemToOtherNodes() throws Exception {
+		SharedRecommendationResults store = newStore(true);
+		RecommendationFingerprint fingerprint = fingerprint(List.of("hiking"));
+
+		store.put(fingerprint, new RecommendationResult("1.0", List.of()));
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(repository).upsert(Mockito.anyString(), Mockito.anyString(), Mockito.eq("test/model"),
+				payload.capture(), Mockito.any(), Mockito.any());
+		Assertions.assertEquals(new RecommendationResult("1.0", List.of()),
+				new ObjectMapper().readValue(payload.getValue(), RecommendationResult.class));
+
+		ArgumentCaptor<String> notification = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(jdbcTemplate).query(Mockito.eq("select pg_notify(?, ?)"),
+				Mockito.<ResultSetExtractor<Object>>any(), Mockito.eq("recommendation_results"), notification.capture());
+		Assertions.assertEquals(Optional.of(fingerprint), newStore(true).readInvalidation(notification.getValue()));
+		Assertions.assertEquals(Optional.empty(), store.readInvalidation(notification.getValue()));
+	}
+
+	@Test
+	void missesWhenTheDatabaseIsUnavailable() {
+		Mockito.when(repository.findFresh(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"));
+		Mockito.doThrow(new DataAccessResourceFailureException("connection refused"))
+				.when(repository).upsert(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+		SharedRecommendationResults store = newStore(true);
+
+		Assertions.assertTrue(store.find(fingerprint(List.of("hiking")), MAX_AGE).isEmpty());
+		store.put(fingerprint(List.of("hiking")), new RecommendationResult("1.0", List.of()));
+		Mockito.verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void leavesTheDatabaseAloneWhenDisabled() {
+		SharedRecommendationResults store = newStore(false);
+
+		Assertions.assertTrue(store.find(fingerprint(List.of("hiking")), MAX_AGE).isEmpty());
+		store.put(fingerprint(List.of("hiking")), new RecommendationResult("1.0", List.of()));
+
+		Mockito.verifyNoInteractions(repository, jdbcTemplate);
+	}
+
+	private SharedRecommendationResults newStore(boolean enabled) {
+		return new SharedRecommendationResults(
+				repository,
+				jdbcTemplate,
+				new ObjectMapper(),
+				new RecommendationExperiments(new RecommendationExperimentProperties(false, null, null),
+						new RecommendationPromptBuilder(), new SimpleMeterRegistry()),
+				new OpenRouterProperties("https://openrouter.test", "test/model", "key", 30, false, true, null),
+				new SharedRecommendationResultProperties(enabled, 360, 600_000),
+				new SimpleMeterRegistry()
+		);
+	}
+
+	private RecommendationFingerprint fingerprint(List<String> activities) {
+		return RecommendationFingerprint.of(new RecommendationRequest(Who.SOLO, TravelType.BACKPACKING,
+				Accommodation.HOSTELS, activities, Budget.MEDIUM, Weather.SUNNY_DRY, Season.SUMMER));
+	}
+}